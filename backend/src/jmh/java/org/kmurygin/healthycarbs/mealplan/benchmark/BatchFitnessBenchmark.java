@@ -0,0 +1,73 @@
+package org.kmurygin.healthycarbs.mealplan.benchmark;
+
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.BatchFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroBatch;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionScaledFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Scalar vs Vector API scoring of a whole population through MacroNutrientFitness.evaluate(MacroBatch).
+// Throughput is in populations per millisecond; gathering the totals into the batch is included.
+// With portion scaling on, every genome is also portion-solved, as in the optimizers' search.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BatchFitnessBenchmark {
+
+    @Param({"40", "200", "1000", "10000"})
+    private int populationSize;
+
+    @Param({"scalar", "vector"})
+    private String kernel;
+
+    @Param({"false", "true"})
+    private boolean portionScaling;
+
+    private BatchFitness fitness;
+    private Genome[] population;
+    private MacroBatch batch;
+
+    @Setup
+    public void setUp() {
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        config.setVectorFitness("vector".equals(kernel));
+        DayCandidates candidates = BenchmarkCatalog.candidates(1_000);
+        MacroNutrientFitness macroFitness = BenchmarkCatalog.fitness(config);
+        population = BenchmarkCatalog.population(candidates, macroFitness, populationSize);
+        fitness = portionScaling
+                ? new PortionScaledFitness(macroFitness, new PortionSolver(new PortionScalingProperties()))
+                : macroFitness;
+        batch = new MacroBatch(populationSize);
+    }
+
+    @Benchmark
+    public void evaluatePopulation(Blackhole blackhole) {
+        batch.clear();
+        for (Genome genome : population) {
+            batch.add(genome);
+        }
+        fitness.evaluate(batch);
+        blackhole.consume(batch.score(populationSize - 1));
+    }
+}
@@ -0,0 +1,51 @@
+package org.kmurygin.healthycarbs.mealplan.benchmark;
+
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.optimizer.SyntheticRecipeCatalog;
+
+import java.util.SplittableRandom;
+
+// Fixed-seed fixtures shared by the benchmarks so results are comparable between branches.
+final class BenchmarkCatalog {
+
+    static final long CATALOG_SEED = 7L;
+    static final long POPULATION_SEED = 42L;
+    static final long RUN_SEED = 1234L;
+
+    private BenchmarkCatalog() {
+    }
+
+    static DayCandidates candidates(int catalogSize) {
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        return RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(catalogSize, CATALOG_SEED, dietType))
+                .candidatesFor(dietType);
+    }
+
+    static MacroNutrientFitness fitness(GeneticAlgorithmConfig config) {
+        return new MacroNutrientFitness(DietaryProfile.builder()
+                .calorieTarget(1900.0)
+                .carbsTarget(210.0)
+                .proteinTarget(95.0)
+                .fatTarget(60.0)
+                .build(), config);
+    }
+
+    static Genome[] population(DayCandidates candidates, MacroNutrientFitness fitness, int size) {
+        SplittableRandom random = new SplittableRandom(POPULATION_SEED);
+        Genome[] population = new Genome[size];
+        for (int i = 0; i < size; i++) {
+            Genome genome = new Genome(candidates.slotCount(), candidates.getMacroTable());
+            candidates.randomize(genome, random);
+            genome.setFitness(fitness.evaluate(genome));
+            genome.setEvaluated(true);
+            population[i] = genome;
+        }
+        return population;
+    }
+}
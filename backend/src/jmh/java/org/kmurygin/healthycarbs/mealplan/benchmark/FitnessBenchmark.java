@@ -0,0 +1,53 @@
+package org.kmurygin.healthycarbs.mealplan.benchmark;
+
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FitnessBenchmark {
+
+    private static final int POPULATION_SIZE = 256;
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int catalogSize;
+
+    private MacroNutrientFitness fitness;
+    private Genome[] population;
+
+    @Setup
+    public void setUp() {
+        DayCandidates candidates = BenchmarkCatalog.candidates(catalogSize);
+        fitness = BenchmarkCatalog.fitness(new GeneticAlgorithmConfig());
+        population = BenchmarkCatalog.population(candidates, fitness, POPULATION_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POPULATION_SIZE)
+    public void evaluatePopulation(Blackhole blackhole) {
+        for (Genome genome : population) {
+            blackhole.consume(fitness.evaluate(genome));
+        }
+    }
+}
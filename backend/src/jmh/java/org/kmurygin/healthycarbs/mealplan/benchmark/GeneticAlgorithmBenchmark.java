@@ -0,0 +1,97 @@
+package org.kmurygin.healthycarbs.mealplan.benchmark;
+
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.BestGenomeSelector;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.GenerationProducer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationEvaluator;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationInitializer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithmResult;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.TwoPointCrossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.GuidedRecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.TournamentSelection;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Full GA runs: the primary score is time per run; generations-to-target and final fitness are
+// reported as secondary metrics through the auxiliary counters. Each measurement iteration is one
+// run and JMH sums EVENTS counters across iterations, so divide them by the iteration count.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class GeneticAlgorithmBenchmark {
+
+    private static final Duration RUN_BUDGET = Duration.ofSeconds(30);
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int catalogSize;
+
+    private DayCandidates candidates;
+    private MacroNutrientFitness fitness;
+    private GeneticAlgorithm geneticAlgorithm;
+
+    @Setup
+    public void setUp() {
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        candidates = BenchmarkCatalog.candidates(catalogSize);
+        fitness = BenchmarkCatalog.fitness(config);
+        geneticAlgorithm = new GeneticAlgorithm(
+                new TwoPointCrossover(),
+                new GuidedRecipeMutate(config),
+                new TournamentSelection(config),
+                config,
+                new PopulationInitializer(),
+                new PopulationEvaluator(),
+                new BestGenomeSelector(),
+                new GenerationProducer(),
+                ForkJoinPool.commonPool()
+        );
+    }
+
+    @Benchmark
+    public GeneticAlgorithmResult run(RunMetrics metrics) {
+        GeneticAlgorithmResult result = geneticAlgorithm.run(
+                candidates, fitness, RunBudget.of(RUN_BUDGET, new CancellationToken()), BenchmarkCatalog.RUN_SEED);
+        metrics.generations = result.generations();
+        metrics.evaluations = result.evaluations();
+        metrics.finalFitness = result.bestGenome().getFitness();
+        return result;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RunMetrics {
+        public long generations;
+        public long evaluations;
+        public double finalFitness;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            generations = 0;
+            evaluations = 0;
+            finalFitness = 0.0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.kmurygin.healthycarbs.mealplan.benchmark;
+
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.Crossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.TwoPointCrossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.GuidedRecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.Mutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.RecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// One variation operator application per invocation, against a fixed evaluated population.
+// Selection strategies are measured per generation in SelectionBenchmark.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int catalogSize;
+
+    private DayCandidates candidates;
+    private MacroNutrientFitness fitness;
+    private GeneticAlgorithmConfig config;
+    private Genome[] population;
+    private Genome child;
+    private SplittableRandom random;
+
+    private Crossover twoPointCrossover;
+    private Mutate recipeMutate;
+    private Mutate guidedRecipeMutate;
+
+    @Setup
+    public void setUp() {
+        config = new GeneticAlgorithmConfig();
+        candidates = BenchmarkCatalog.candidates(catalogSize);
+        fitness = BenchmarkCatalog.fitness(config);
+        population = BenchmarkCatalog.population(candidates, fitness, config.getPopulationSize());
+        child = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        random = new SplittableRandom(BenchmarkCatalog.RUN_SEED);
+
+        twoPointCrossover = new TwoPointCrossover();
+        recipeMutate = new RecipeMutate();
+        guidedRecipeMutate = new GuidedRecipeMutate(config);
+    }
+
+    @Benchmark
+    public Genome twoPointCrossover() {
+        twoPointCrossover.crossover(population[0], population[1], child, random);
+        return child;
+    }
+
+    @Benchmark
+    public Genome recipeMutate() {
+        child.copyFrom(population[0]);
+        recipeMutate.mutate(child, candidates, fitness, config.getMutationRate(), random);
+        return child;
+    }
+
+    @Benchmark
+    public Genome guidedRecipeMutate() {
+        child.copyFrom(population[0]);
+        guidedRecipeMutate.mutate(child, candidates, fitness, config.getMutationRate(), random);
+        return child;
+    }
+}
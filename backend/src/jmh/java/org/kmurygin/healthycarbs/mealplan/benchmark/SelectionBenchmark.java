@@ -0,0 +1,109 @@
+package org.kmurygin.healthycarbs.mealplan.benchmark;
+
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.ParentSampler;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.RankSelection;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.Selection;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.StochasticUniversalSampling;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.TournamentSelection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of picking every parent of one generation. shuffleTournament is the copy-and-shuffle tournament
+// the index-sampling strategies replace, kept as the baseline.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+    @Param({"40", "100", "1000"})
+    private int populationSize;
+
+    @Param({"2", "4"})
+    private int tournamentSize;
+
+    private Genome[] population;
+    private int parents;
+    private SplittableRandom random;
+    private Random legacyRandom;
+
+    private Selection tournament;
+    private Selection rank;
+    private Selection sus;
+
+    @Setup
+    public void setUp() {
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        config.setTournamentSize(tournamentSize);
+        DayCandidates candidates = BenchmarkCatalog.candidates(1_000);
+        MacroNutrientFitness fitness = BenchmarkCatalog.fitness(config);
+        population = BenchmarkCatalog.population(candidates, fitness, populationSize);
+        parents = 2 * (populationSize - config.getEliteCount());
+        random = new SplittableRandom(BenchmarkCatalog.RUN_SEED);
+        legacyRandom = new Random(BenchmarkCatalog.RUN_SEED);
+
+        tournament = new TournamentSelection(config);
+        rank = new RankSelection(config);
+        sus = new StochasticUniversalSampling();
+    }
+
+    @Benchmark
+    public void tournament(Blackhole blackhole) {
+        drain(tournament, blackhole);
+    }
+
+    @Benchmark
+    public void rank(Blackhole blackhole) {
+        drain(rank, blackhole);
+    }
+
+    @Benchmark
+    public void stochasticUniversalSampling(Blackhole blackhole) {
+        drain(sus, blackhole);
+    }
+
+    @Benchmark
+    public void shuffleTournament(Blackhole blackhole) {
+        for (int i = 0; i < parents; i++) {
+            List<Genome> shuffled = new ArrayList<>(List.of(population));
+            Collections.shuffle(shuffled, legacyRandom);
+            Genome best = shuffled.getFirst();
+            for (int k = 1; k < tournamentSize; k++) {
+                if (shuffled.get(k).getFitness() > best.getFitness()) {
+                    best = shuffled.get(k);
+                }
+            }
+            blackhole.consume(best);
+        }
+    }
+
+    private void drain(Selection selection, Blackhole blackhole) {
+        ParentSampler sampler = selection.sampler(population, parents, random);
+        for (int i = 0; i < parents; i++) {
+            blackhole.consume(sampler.next());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.kmurygin.healthycarbs.mealplan.benchmark;
+
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.WarmStartProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.BestGenomeSelector;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.GenerationProducer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationEvaluator;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationInitializer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithmResult;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Seeds;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.TwoPointCrossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.GuidedRecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.TournamentSelection;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Generations-to-convergence per initialisation strategy. "history" stands in for a returning user:
+// its seeds are the best days of a few earlier runs on the same profile. Counters are summed over
+// iterations, as in GeneticAlgorithmBenchmark.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class WarmStartBenchmark {
+
+    private static final Duration RUN_BUDGET = Duration.ofSeconds(30);
+    private static final int HISTORY_RUNS = 4;
+
+    @Param({"random", "stratified", "history"})
+    private String initialization;
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private DayCandidates candidates;
+    private MacroNutrientFitness fitness;
+    private GeneticAlgorithm geneticAlgorithm;
+    private WarmStart warmStart;
+    private long run;
+
+    @Setup
+    public void setUp() {
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        candidates = BenchmarkCatalog.candidates(catalogSize);
+        fitness = BenchmarkCatalog.fitness(config);
+        geneticAlgorithm = new GeneticAlgorithm(
+                new TwoPointCrossover(),
+                new GuidedRecipeMutate(config),
+                new TournamentSelection(config),
+                config,
+                new PopulationInitializer(),
+                new PopulationEvaluator(),
+                new BestGenomeSelector(),
+                new GenerationProducer(),
+                ForkJoinPool.commonPool()
+        );
+
+        WarmStartProperties properties = new WarmStartProperties();
+        warmStart = switch (initialization) {
+            case "random" -> WarmStart.none();
+            case "stratified" -> new WarmStart(List.of(), new int[0][], 0.0, 0.0,
+                    properties.getStratifiedFraction(), properties.getCalorieBands());
+            case "history" -> new WarmStart(previousDays(), new int[0][], properties.getHistoryFraction(), 0.0,
+                    properties.getStratifiedFraction(), properties.getCalorieBands());
+            default -> throw new IllegalArgumentException("Unknown initialization: " + initialization);
+        };
+    }
+
+    @Benchmark
+    public GeneticAlgorithmResult run(RunMetrics metrics) {
+        // A fresh seed per run, so history seeds are not simply replaying a previous search.
+        long seed = Seeds.derive(BenchmarkCatalog.RUN_SEED, HISTORY_RUNS + run++);
+        GeneticAlgorithmResult result = geneticAlgorithm.run(
+                candidates, fitness, RunBudget.of(RUN_BUDGET, new CancellationToken()), seed, warmStart);
+        metrics.generations = result.generations();
+        metrics.evaluations = result.evaluations();
+        metrics.finalFitness = result.bestGenome().getFitness();
+        return result;
+    }
+
+    private List<int[]> previousDays() {
+        List<int[]> days = new ArrayList<>(HISTORY_RUNS);
+        for (int i = 0; i < HISTORY_RUNS; i++) {
+            GeneticAlgorithmResult result = geneticAlgorithm.run(
+                    candidates, fitness, RunBudget.unbounded(), Seeds.derive(BenchmarkCatalog.RUN_SEED, i));
+            days.add(result.bestGenome().getGenes().clone());
+        }
+        return days;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RunMetrics {
+        public long generations;
+        public long evaluations;
+        public double finalFitness;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            generations = 0;
+            evaluations = 0;
+            finalFitness = 0.0;
+        }
+    }
+}
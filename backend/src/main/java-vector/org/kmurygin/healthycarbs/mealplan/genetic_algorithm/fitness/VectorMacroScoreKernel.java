@@ -0,0 +1,53 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Lane-wise version of MacroNutrientFitness.evaluate: the same operations in the same order, so
+// scores match the scalar kernel. Compiled on its own with the incubator module and only loaded,
+// reflectively, when MacroScoreKernels finds that module at runtime.
+final class VectorMacroScoreKernel implements MacroScoreKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void score(MacroBatch batch, MacroNutrientFitness fitness) {
+        double[] calories = batch.calories();
+        double[] carbs = batch.carbs();
+        double[] protein = batch.protein();
+        double[] fat = batch.fat();
+        double[] scores = batch.scores();
+        int size = batch.size();
+        int upperBound = SPECIES.loopBound(size);
+
+        int i = 0;
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector totalCalories = DoubleVector.fromArray(SPECIES, calories, i);
+            DoubleVector sum = term(totalCalories, fitness.getCalorieTarget(), fitness.getCalorieWeight())
+                    .add(term(DoubleVector.fromArray(SPECIES, carbs, i),
+                            fitness.getCarbsTarget(), fitness.getCarbsWeight()))
+                    .add(term(DoubleVector.fromArray(SPECIES, protein, i),
+                            fitness.getProteinTarget(), fitness.getProteinWeight()))
+                    .add(term(DoubleVector.fromArray(SPECIES, fat, i),
+                            fitness.getFatTarget(), fitness.getFatWeight()));
+            sum.blend(0.0, totalCalories.compare(VectorOperators.EQ, 0.0)).intoArray(scores, i);
+        }
+        for (; i < size; i++) {
+            scores[i] = fitness.evaluate(calories[i], carbs[i], protein[i], fat[i]);
+        }
+    }
+
+    private static DoubleVector term(DoubleVector actual, double target, double weight) {
+        if (target <= 0) {
+            return DoubleVector.zero(SPECIES).blend(weight, actual.compare(VectorOperators.EQ, 0.0));
+        }
+        DoubleVector remaining = actual.sub(target).abs().div(target).min(1.0).neg().add(1.0);
+        return remaining.mul(remaining).mul(weight);
+    }
+}
@@ -1,11 +1,55 @@
 package org.kmurygin.healthycarbs.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanComputeProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableAsync
 @EnableScheduling
-public class AsyncConfig {
+public class AsyncConfig implements AsyncConfigurer {
+
+    // @Async work (emails, notification listeners) is I/O bound, so it runs on virtual threads
+    // and never competes with the CPU-bound meal plan optimization pool, which GA islands share too.
+    @Override
+    public Executor getAsyncExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("async-io-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor mealPlanComputeExecutor(MealPlanComputeProperties properties, MeterRegistry meterRegistry) {
+        Counter rejections = Counter.builder("mealplan.compute.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        int threads = properties.resolvedThreads();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("mealplan-compute-", 0).daemon(true).factory(),
+                (task, pool) -> {
+                    rejections.increment();
+                    throw new RejectedExecutionException("Meal plan compute queue is full");
+                });
+
+        Gauge.builder("mealplan.compute.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("mealplan.compute.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
 }
@@ -80,7 +80,9 @@ public class SecurityConfig {
                             .requestMatchers(HttpMethod.GET, "/api/v1/users/*/image").permitAll()
                             .requestMatchers(HttpMethod.GET, "/api/v1/files/**").permitAll()
                             .requestMatchers(HttpMethod.GET, "/api/v1/diet-types").permitAll()
-                            .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                            .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                            // Metrics expose per-user generation load and internals, so only admins read them.
+                            .requestMatchers("/actuator/**").hasRole("ADMIN")
                             .anyRequest().authenticated();
                 })
                 .sessionManagement(sessionManagement ->
@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
@@ -111,6 +113,20 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), req, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> serviceBusyException(
+            ServiceBusyException ex, HttpServletRequest req
+    ) {
+        return withRetryAfter(buildErrorResponse(ex.getMessage(), req, ex.getStatus()), ex.getRetryAfter());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> tooManyRequestsException(
+            TooManyRequestsException ex, HttpServletRequest req
+    ) {
+        return withRetryAfter(buildErrorResponse(ex.getMessage(), req, ex.getStatus()), ex.getRetryAfter());
+    }
+
     @ExceptionHandler(StorageException.class)
     public ResponseEntity<ErrorResponse> storageException(
             StorageException ex, HttpServletRequest req
@@ -138,6 +154,16 @@ public class GlobalExceptionHandler {
         return buildErrorResponse("An internal server error occurred.", req, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    private ResponseEntity<ErrorResponse> withRetryAfter(ResponseEntity<ErrorResponse> response, Duration retryAfter) {
+        if (retryAfter == null) {
+            return response;
+        }
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(response.getBody());
+    }
+
     private String generateTraceId() {
         return UUID.randomUUID().toString();
     }
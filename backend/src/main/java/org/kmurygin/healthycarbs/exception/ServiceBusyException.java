@@ -0,0 +1,20 @@
+package org.kmurygin.healthycarbs.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceBusyException extends BaseException {
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message) {
+        this(message, null);
+    }
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,6 @@
+package org.kmurygin.healthycarbs.mealplan;
+
+public record IngredientCatalogChangedEvent(
+        Long ingredientId
+) {
+}
@@ -0,0 +1,12 @@
+package org.kmurygin.healthycarbs.mealplan;
+
+public enum MealPlanJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -12,13 +12,17 @@ public class NutritionCalculator {
         double tdee = calculateTdee(bmr, input.activityLevel);
         double finalCalories = adjustCaloriesForGoal(tdee, input.dietGoal);
 
+        return targetsForCalories(finalCalories);
+    }
+
+    public static DailyTargets targetsForCalories(double calories) {
         MacronutrientRatios ratios = getMacronutrientRatiosForProfile();
 
-        double proteinGrams = (finalCalories * ratios.proteinRatio) / PROTEIN_CALORIES_PER_GRAM;
-        double carbsGrams = (finalCalories * ratios.carbsRatio) / CARBS_CALORIES_PER_GRAM;
-        double fatGrams = (finalCalories * ratios.fatRatio) / FAT_CALORIES_PER_GRAM;
+        double proteinGrams = (calories * ratios.proteinRatio) / PROTEIN_CALORIES_PER_GRAM;
+        double carbsGrams = (calories * ratios.carbsRatio) / CARBS_CALORIES_PER_GRAM;
+        double fatGrams = (calories * ratios.fatRatio) / FAT_CALORIES_PER_GRAM;
 
-        return new DailyTargets(finalCalories, proteinGrams, carbsGrams, fatGrams);
+        return new DailyTargets(calories, proteinGrams, carbsGrams, fatGrams);
     }
 
     private static double calculateBmr(double weight, double height, int age, Gender gender) {
@@ -0,0 +1,8 @@
+package org.kmurygin.healthycarbs.mealplan;
+
+public enum OptimizerType {
+    GENETIC,
+    EXACT,
+    SIMULATED_ANNEALING,
+    TABU_SEARCH
+}
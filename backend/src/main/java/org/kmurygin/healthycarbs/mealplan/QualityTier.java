@@ -0,0 +1,7 @@
+package org.kmurygin.healthycarbs.mealplan;
+
+public enum QualityTier {
+    FAST,
+    BALANCED,
+    THOROUGH
+}
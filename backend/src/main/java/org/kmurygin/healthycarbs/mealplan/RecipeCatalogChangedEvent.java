@@ -0,0 +1,7 @@
+package org.kmurygin.healthycarbs.mealplan;
+
+public record RecipeCatalogChangedEvent(
+        Long recipeId,
+        boolean deleted
+) {
+}
@@ -0,0 +1,130 @@
+package org.kmurygin.healthycarbs.mealplan.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanCacheProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class DayPlanCache {
+
+    private final DayPlanCacheProperties properties;
+    private final Map<DayPlanCacheKey, List<CachedDay>> entries;
+
+    public DayPlanCache(DayPlanCacheProperties properties) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DayPlanCacheKey, List<CachedDay>> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public DayPlanCacheKey keyFor(DietaryProfile profile, DietType dietType, long poolVersion) {
+        return new DayPlanCacheKey(
+                bucket(profile.getCalorieTarget(), properties.getCalorieStep()),
+                bucket(profile.getCarbsTarget(), properties.getMacroStep()),
+                bucket(profile.getProteinTarget(), properties.getMacroStep()),
+                bucket(profile.getFatTarget(), properties.getMacroStep()),
+                dietType != null ? dietType.getId() : null,
+                poolVersion
+        );
+    }
+
+    public List<Genome> lookup(DayPlanCacheKey key, DayCandidates candidates, Fitness fitness) {
+        List<CachedDay> cached;
+        synchronized (entries) {
+            List<CachedDay> days = entries.get(key);
+            if (days == null) {
+                return List.of();
+            }
+            cached = new ArrayList<>(days);
+        }
+
+        // Entries are shared by everyone in the bucket, so re-score them against this profile's exact targets.
+        List<Genome> servable = new ArrayList<>(cached.size());
+        for (CachedDay day : cached) {
+            // Days found for other profiles in the bucket may use recipes this profile excludes.
+            if (!candidates.containsAll(day.genes())) {
+                continue;
+            }
+            Genome genome = new Genome(day.genes().length, candidates.getMacroTable());
+            System.arraycopy(day.genes(), 0, genome.getGenes(), 0, day.genes().length);
+            genome.recomputeTotals();
+            fitness.evaluate(genome);
+            genome.setEvaluated(true);
+            if (genome.getFitness() >= properties.getMinServeFitness()) {
+                servable.add(genome);
+            }
+        }
+        return servable;
+    }
+
+    public void offer(DayPlanCacheKey key, Genome genome) {
+        synchronized (entries) {
+            List<CachedDay> days = entries.computeIfAbsent(key, k -> new ArrayList<>(properties.getTopK()));
+            for (CachedDay day : days) {
+                if (Arrays.equals(day.genes(), genome.getGenes())) {
+                    return;
+                }
+            }
+            if (days.size() < properties.getTopK()) {
+                days.add(new CachedDay(genome.getGenes().clone(), genome.getFitness()));
+                return;
+            }
+            int worst = 0;
+            for (int i = 1; i < days.size(); i++) {
+                if (days.get(i).fitness() < days.get(worst).fitness()) {
+                    worst = i;
+                }
+            }
+            if (genome.getFitness() > days.get(worst).fitness()) {
+                days.set(worst, new CachedDay(genome.getGenes().clone(), genome.getFitness()));
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        int evicted;
+        synchronized (entries) {
+            evicted = entries.size();
+            entries.clear();
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} cached day plan buckets after recipe {} changed", evicted, event.recipeId());
+        }
+    }
+
+    private static long bucket(Double value, double step) {
+        return value == null ? -1L : Math.round(value / step);
+    }
+
+    private record CachedDay(int[] genes, double fitness) {
+    }
+}
@@ -0,0 +1,11 @@
+package org.kmurygin.healthycarbs.mealplan.cache;
+
+public record DayPlanCacheKey(
+        long calorieBucket,
+        long carbsBucket,
+        long proteinBucket,
+        long fatBucket,
+        Long dietTypeId,
+        long poolVersion
+) {
+}
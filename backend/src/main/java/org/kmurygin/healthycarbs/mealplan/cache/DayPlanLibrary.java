@@ -0,0 +1,165 @@
+package org.kmurygin.healthycarbs.mealplan.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.IngredientCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanLibraryProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Pre-computed day plans per DietType on a grid of calorie targets. Cells store recipe ids rather
+// than snapshot indices so they survive catalog patches; only cells touching a changed recipe are
+// rebuilt.
+@Slf4j
+@Component
+public class DayPlanLibrary {
+
+    private final DayPlanLibraryProperties properties;
+    private final RecipeCandidatePool recipeCandidatePool;
+    private final Map<Long, AtomicReferenceArray<long[][]>> shelves = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyRecipeIds = ConcurrentHashMap.newKeySet();
+
+    public DayPlanLibrary(DayPlanLibraryProperties properties, RecipeCandidatePool recipeCandidatePool) {
+        this.properties = properties;
+        this.recipeCandidatePool = recipeCandidatePool;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int cellCount() {
+        double span = properties.getMaxCalories() - properties.getMinCalories();
+        return Math.max(1, (int) Math.floor(span / properties.getCalorieStep()) + 1);
+    }
+
+    public double cellCalories(int cell) {
+        return properties.getMinCalories() + cell * properties.getCalorieStep();
+    }
+
+    public int nearestCell(double calories) {
+        long cell = Math.round((calories - properties.getMinCalories()) / properties.getCalorieStep());
+        return (int) Math.clamp(cell, 0, cellCount() - 1);
+    }
+
+    public List<Genome> lookup(
+            Long dietTypeId, double calories, RecipeCandidateSnapshot snapshot, DayCandidates candidates,
+            Fitness fitness, double minFitness) {
+        AtomicReferenceArray<long[][]> shelf = dietTypeId == null ? null : shelves.get(dietTypeId);
+        if (shelf == null) {
+            return List.of();
+        }
+        long[][] variants = shelf.get(nearestCell(calories));
+        if (variants == null) {
+            return List.of();
+        }
+
+        List<Genome> servable = new ArrayList<>(variants.length);
+        for (long[] recipeIds : variants) {
+            Genome genome = toGenome(recipeIds, snapshot, candidates);
+            if (genome == null || !candidates.containsAll(genome.getGenes())) {
+                continue;
+            }
+            fitness.evaluate(genome);
+            genome.setEvaluated(true);
+            if (genome.getFitness() >= minFitness) {
+                servable.add(genome);
+            }
+        }
+        return servable;
+    }
+
+    public void store(Long dietTypeId, int cell, List<Genome> genomes, RecipeCandidateSnapshot snapshot) {
+        List<long[]> variants = new ArrayList<>(genomes.size());
+        for (Genome genome : genomes) {
+            long[] recipeIds = new long[genome.size()];
+            for (int slot = 0; slot < genome.size(); slot++) {
+                recipeIds[slot] = snapshot.getMacroTable().recipe(genome.getGenes()[slot]).getId();
+            }
+            if (variants.stream().noneMatch(existing -> Arrays.equals(existing, recipeIds))) {
+                variants.add(recipeIds);
+            }
+        }
+        shelves.computeIfAbsent(dietTypeId, id -> new AtomicReferenceArray<>(cellCount()))
+                .set(cell, variants.toArray(long[][]::new));
+    }
+
+    public boolean needsBuild(Long dietTypeId, int cell, Set<Long> changedRecipeIds) {
+        AtomicReferenceArray<long[][]> shelf = shelves.get(dietTypeId);
+        long[][] variants = shelf == null ? null : shelf.get(cell);
+        if (variants == null || variants.length == 0) {
+            return true;
+        }
+        for (long[] recipeIds : variants) {
+            for (long recipeId : recipeIds) {
+                if (changedRecipeIds.contains(recipeId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public Set<Long> dirtyRecipeIds() {
+        return Set.copyOf(dirtyRecipeIds);
+    }
+
+    public void markClean(Set<Long> recipeIds) {
+        dirtyRecipeIds.removeAll(recipeIds);
+    }
+
+    public int size() {
+        int stored = 0;
+        for (AtomicReferenceArray<long[][]> shelf : shelves.values()) {
+            for (int cell = 0; cell < shelf.length(); cell++) {
+                if (shelf.get(cell) != null) {
+                    stored++;
+                }
+            }
+        }
+        return stored;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        dirtyRecipeIds.add(event.recipeId());
+    }
+
+    // Ingredient edits change the macros of every recipe using the ingredient, so those cells are rebuilt too.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIngredientCatalogChanged(IngredientCatalogChangedEvent event) {
+        dirtyRecipeIds.addAll(
+                recipeCandidatePool.current().getExclusionIndex().recipeIdsUsingIngredient(event.ingredientId()));
+    }
+
+    private Genome toGenome(long[] recipeIds, RecipeCandidateSnapshot snapshot, DayCandidates candidates) {
+        Genome genome = new Genome(recipeIds.length, candidates.getMacroTable());
+        for (int slot = 0; slot < recipeIds.length; slot++) {
+            // Variants touching a recipe that changed since the last build are withheld until rebuilt.
+            if (dirtyRecipeIds.contains(recipeIds[slot])) {
+                return null;
+            }
+            int index = snapshot.indexOf(recipeIds[slot]);
+            if (index < 0) {
+                return null;
+            }
+            genome.getGenes()[slot] = index;
+        }
+        genome.recomputeTotals();
+        return genome;
+    }
+}
@@ -0,0 +1,168 @@
+package org.kmurygin.healthycarbs.mealplan.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.NutritionCalculator;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanLibraryProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Seeds;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.FitnessFactory;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStartFactory;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizer;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizers;
+import org.kmurygin.healthycarbs.mealplan.repository.DietTypeRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class DayPlanLibraryBuilder {
+
+    private final DayPlanLibrary dayPlanLibrary;
+    private final DayPlanLibraryProperties properties;
+    private final DietTypeRepository dietTypeRepository;
+    private final RecipeCandidatePool recipeCandidatePool;
+    private final FitnessFactory fitnessFactory;
+    private final MealPlanOptimizers mealPlanOptimizers;
+    private final WarmStartFactory warmStartFactory;
+    private final Executor computeExecutor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public DayPlanLibraryBuilder(
+            DayPlanLibrary dayPlanLibrary,
+            DayPlanLibraryProperties properties,
+            DietTypeRepository dietTypeRepository,
+            RecipeCandidatePool recipeCandidatePool,
+            FitnessFactory fitnessFactory,
+            MealPlanOptimizers mealPlanOptimizers,
+            WarmStartFactory warmStartFactory,
+            @Qualifier("mealPlanComputeExecutor") Executor computeExecutor
+    ) {
+        this.dayPlanLibrary = dayPlanLibrary;
+        this.properties = properties;
+        this.dietTypeRepository = dietTypeRepository;
+        this.recipeCandidatePool = recipeCandidatePool;
+        this.fitnessFactory = fitnessFactory;
+        this.mealPlanOptimizers = mealPlanOptimizers;
+        this.warmStartFactory = warmStartFactory;
+        this.computeExecutor = computeExecutor;
+    }
+
+    @Scheduled(
+            initialDelayString = "${meal-plan.library.initial-delay:PT1M}",
+            fixedDelayString = "${meal-plan.library.rebuild-interval:PT5M}"
+    )
+    public void refresh() {
+        if (!dayPlanLibrary.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuild();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Cells are optimized one at a time on the bounded compute pool, so a rebuild holds at most one
+    // slot there, queues behind user requests and stops as soon as the pool is saturated. Whatever is
+    // left over, past the per-run cap or after a rejection, is picked up by the next scheduled run.
+    int rebuild() {
+        long start = System.nanoTime();
+        Set<Long> changedRecipeIds = dayPlanLibrary.dirtyRecipeIds();
+        RecipeCandidateSnapshot snapshot = recipeCandidatePool.current();
+        MealPlanOptimizer optimizer = mealPlanOptimizers.get(properties.getOptimizer());
+
+        List<PendingCell> pending = pendingCells(snapshot, changedRecipeIds);
+        int limit = properties.getMaxCellsPerRun() > 0
+                ? Math.min(properties.getMaxCellsPerRun(), pending.size())
+                : pending.size();
+
+        int built = 0;
+        for (PendingCell cell : pending.subList(0, limit)) {
+            List<Genome> variants;
+            try {
+                variants = CompletableFuture
+                        .supplyAsync(() -> optimizeCell(cell, optimizer), computeExecutor)
+                        .join();
+            } catch (RejectedExecutionException e) {
+                log.debug("Meal plan compute pool saturated, deferring {} day plan library cells",
+                        pending.size() - built);
+                break;
+            }
+            dayPlanLibrary.store(cell.dietType().getId(), cell.cell(), variants, snapshot);
+            built++;
+        }
+        if (built == pending.size()) {
+            dayPlanLibrary.markClean(changedRecipeIds);
+        }
+
+        if (built > 0) {
+            log.info("Rebuilt {} of {} day plan library cells in {} ms (changed recipes: {})",
+                    built, pending.size(), (System.nanoTime() - start) / 1_000_000, changedRecipeIds.size());
+        }
+        return built;
+    }
+
+    private List<PendingCell> pendingCells(RecipeCandidateSnapshot snapshot, Set<Long> changedRecipeIds) {
+        List<PendingCell> pending = new ArrayList<>();
+        for (DietType dietType : dietTypeRepository.findAll()) {
+            DayCandidates candidates = null;
+            for (int cell = 0; cell < dayPlanLibrary.cellCount(); cell++) {
+                if (!dayPlanLibrary.needsBuild(dietType.getId(), cell, changedRecipeIds)) {
+                    continue;
+                }
+                if (candidates == null) {
+                    try {
+                        candidates = snapshot.candidatesFor(dietType);
+                    } catch (ResourceNotFoundException e) {
+                        log.debug("Skipping day plan library for diet type {}: {}", dietType.getName(), e.getMessage());
+                        break;
+                    }
+                }
+                pending.add(new PendingCell(dietType, cell, candidates));
+            }
+        }
+        return pending;
+    }
+
+    private List<Genome> optimizeCell(PendingCell cell, MealPlanOptimizer optimizer) {
+        DietType dietType = cell.dietType();
+        Fitness fitness = fitnessFactory.createCalorieFitness(profileFor(dietType, dayPlanLibrary.cellCalories(cell.cell())));
+        WarmStart warmStart = warmStartFactory.heuristic();
+        List<Genome> variants = new ArrayList<>(properties.getVariantsPerCell());
+        long cellSeed = Seeds.derive(dietType.getId(), cell.cell());
+        for (int variant = 0; variant < properties.getVariantsPerCell(); variant++) {
+            RunBudget budget = RunBudget.of(properties.getCellBudget(), new CancellationToken());
+            long seed = Seeds.derive(cellSeed, variant);
+            variants.add(optimizer.optimize(cell.candidates(), fitness, budget, seed, warmStart).bestGenome());
+        }
+        return variants;
+    }
+
+    private DietaryProfile profileFor(DietType dietType, double calories) {
+        DietaryProfile profile = DietaryProfile.builder().dietType(dietType).build();
+        profile.applyTargets(NutritionCalculator.targetsForCalories(calories));
+        return profile;
+    }
+
+    private record PendingCell(DietType dietType, int cell, DayCandidates candidates) {
+    }
+}
@@ -0,0 +1,65 @@
+package org.kmurygin.healthycarbs.mealplan.compute;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kmurygin.healthycarbs.exception.TooManyRequestsException;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanComputeProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class OptimizationAdmissionControl {
+
+    private final MealPlanComputeProperties properties;
+    private final Map<Long, AtomicInteger> inFlightByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter userLimitRejections;
+
+    public OptimizationAdmissionControl(MealPlanComputeProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.userLimitRejections = Counter.builder("mealplan.compute.rejected")
+                .tag("reason", "user_limit")
+                .register(meterRegistry);
+        Gauge.builder("mealplan.compute.in_flight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public Permit admit(Long userId) {
+        int[] admitted = new int[1];
+        inFlightByUser.compute(userId, (id, existing) -> {
+            AtomicInteger counter = existing != null ? existing : new AtomicInteger();
+            admitted[0] = counter.incrementAndGet();
+            return counter;
+        });
+        if (admitted[0] > properties.getMaxConcurrentPerUser()) {
+            release(userId);
+            userLimitRejections.increment();
+            throw new TooManyRequestsException(
+                    "A meal plan is already being generated for this account", properties.getRetryAfter());
+        }
+        inFlight.incrementAndGet();
+        return () -> {
+            inFlight.decrementAndGet();
+            release(userId);
+        };
+    }
+
+    public int inFlight(Long userId) {
+        AtomicInteger count = inFlightByUser.get(userId);
+        return count == null ? 0 : count.get();
+    }
+
+    private void release(Long userId) {
+        inFlightByUser.computeIfPresent(userId, (id, counter) -> counter.decrementAndGet() <= 0 ? null : counter);
+    }
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,18 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.day-cache")
+public class DayPlanCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 2_000;
+    private int topK = 8;
+    private double calorieStep = 50.0;
+    private double macroStep = 5.0;
+    private double minServeFitness = 0.95;
+    private int minVariants = 7;
+}
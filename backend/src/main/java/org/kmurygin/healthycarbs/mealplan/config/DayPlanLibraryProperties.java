@@ -0,0 +1,25 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.library")
+public class DayPlanLibraryProperties {
+    private boolean enabled = true;
+    private double minCalories = 1_200.0;
+    private double maxCalories = 4_000.0;
+    private double calorieStep = 100.0;
+    private int variantsPerCell = 8;
+    private Duration cellBudget = Duration.ofMillis(100);
+    private OptimizerType optimizer = OptimizerType.GENETIC;
+    private double minServeFitness = 0.95;
+    private int minVariants = 7;
+    // Cells optimized per scheduled run; 0 rebuilds every pending cell.
+    private int maxCellsPerRun = 32;
+}
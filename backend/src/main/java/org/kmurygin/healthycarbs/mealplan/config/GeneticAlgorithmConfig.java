@@ -1,9 +1,15 @@
 package org.kmurygin.healthycarbs.mealplan.config;
 
 import lombok.Data;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.QualityTier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "genetic-algorithm")
@@ -14,8 +20,44 @@ public class GeneticAlgorithmConfig {
     private double targetFitness = 0.999;
     private int eliteCount = 5;
 
+    private int islandCount = 1;
+    private int migrationInterval = 25;
+    private int migrationSize = 2;
+
+    private int stagnationGenerations = 100;
+    private double stagnationEpsilon = 1e-4;
+    private int memoCapacity = 2_048;
+    private int traceInterval = 50;
+    private boolean vectorFitness = true;
+    private boolean adaptiveMutation = true;
+    private int adaptationWindow = 10;
+    private double minMutationRate = 0.05;
+    private double maxMutationRate = 0.8;
+    private double mutationRateIncrease = 1.5;
+    private double mutationRateDecrease = 0.9;
+    private String mutation = "guided";
+    private double guidedMutationProbability = 0.5;
+    private String selection = "tournament";
+    private int tournamentSize = 2;
+    private double rankSelectionPressure = 1.7;
+
+    private QualityTier defaultQualityTier = QualityTier.BALANCED;
+    private Map<QualityTier, Duration> timeBudgets = new EnumMap<>(Map.of(
+            QualityTier.FAST, Duration.ofMillis(150),
+            QualityTier.BALANCED, Duration.ofMillis(300),
+            QualityTier.THOROUGH, Duration.ofMillis(1_500)
+    ));
+
+    private OptimizerType defaultOptimizer = OptimizerType.GENETIC;
+    private int exactMaxInnerTableSize = 250_000;
+
     private double caloriesWeight = 0.1;
     private double carbsWeight = 0.3;
     private double proteinWeight = 0.3;
     private double fatWeight = 0.3;
+
+    public Duration timeBudgetFor(QualityTier qualityTier) {
+        QualityTier tier = qualityTier != null ? qualityTier : defaultQualityTier;
+        return timeBudgets.get(tier);
+    }
 }
@@ -0,0 +1,31 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.tuning")
+public class GeneticAlgorithmTuningProperties {
+    // Tuned per-diet-type profiles loaded at startup; blank keeps genetic-algorithm.* for every diet type.
+    private String profilesFile = "";
+
+    // Runs the tuner against the live catalog instead of serving requests, writes outputFile and exits.
+    private boolean run = false;
+    private String outputFile = "ga-profiles.json";
+    private int profilesPerDietType = 8;
+
+    // Successive halving: configurations sampled at the first rung, the best 1/reductionFactor
+    // advance with reductionFactor times the budget.
+    private int configurations = 27;
+    private int rungs = 3;
+    private int reductionFactor = 3;
+    private Duration initialBudget = Duration.ofMillis(20);
+    // Configurations whose mean fitness falls below this rank behind every one that reaches it,
+    // so fitness per millisecond cannot be won by stopping early on poor plans.
+    private double minFitness = 0.9;
+    private long seed = 42L;
+}
@@ -0,0 +1,24 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.local-search")
+public class LocalSearchProperties {
+    private long maxEvaluations = 50_000;
+    // Evaluations without a better best genome before the search gives up.
+    private long stagnationEvaluations = 5_000;
+    // Share of moves that jump to the candidate nearest the remaining macro gap instead of a random one.
+    private double guidedMoveProbability = 0.3;
+
+    // Fitness lives in [0, 1], so temperatures are fractions of a fitness point.
+    private double initialTemperature = 0.05;
+    private double minTemperature = 1e-4;
+    private double coolingRate = 0.999;
+
+    private int tabuTenure = 7;
+    private int tabuNeighbourhoodSize = 24;
+}
@@ -0,0 +1,22 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.compute")
+public class MealPlanComputeProperties {
+    // 0 means one thread per available processor.
+    private int threads = 0;
+    private int queueCapacity = 56;
+    private int maxConcurrentPerUser = 1;
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    public int resolvedThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
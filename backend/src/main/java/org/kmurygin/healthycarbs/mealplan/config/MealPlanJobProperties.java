@@ -0,0 +1,18 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.jobs")
+public class MealPlanJobProperties {
+    private int workers = 2;
+    private int queueCapacity = 100;
+    private Duration sseTimeout = Duration.ofMinutes(2);
+    private boolean recoverOnStartup = true;
+    private Duration leaseTimeout = Duration.ofMinutes(10);
+}
@@ -0,0 +1,16 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.portion")
+public class PortionScalingProperties {
+    private boolean enabled = true;
+    private double minMultiplier = 0.75;
+    private double maxMultiplier = 1.5;
+    private int maxSweeps = 64;
+    private double tolerance = 1e-6;
+}
@@ -0,0 +1,17 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.warm-start")
+public class WarmStartProperties {
+    private boolean enabled = true;
+    private int historyPlans = 4;
+    private double historyFraction = 0.2;
+    private double favouritesFraction = 0.1;
+    private double stratifiedFraction = 0.3;
+    private int calorieBands = 5;
+}
@@ -0,0 +1,17 @@
+package org.kmurygin.healthycarbs.mealplan.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "meal-plan.week")
+public class WeekPlanProperties {
+    private boolean enabled = true;
+    private int islandCount = 4;
+    // Share of the score taken by the weekly macro budget; the rest is average per-day adherence.
+    private double weeklyBudgetWeight = 0.6;
+    private int maxRecipeOccurrences = 1;
+    private double varietyPenalty = 0.05;
+}
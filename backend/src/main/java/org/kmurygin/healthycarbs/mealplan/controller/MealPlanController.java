@@ -3,7 +3,10 @@ package org.kmurygin.healthycarbs.mealplan.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.kmurygin.healthycarbs.mealplan.dto.CreateMealPlanRequest;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanGenerationOptions;
 import org.kmurygin.healthycarbs.mealplan.dto.MealPlanDTO;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanJobDTO;
+import org.kmurygin.healthycarbs.mealplan.job.MealPlanJobService;
 import org.kmurygin.healthycarbs.mealplan.mapper.MealPlanMapper;
 import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
 import org.kmurygin.healthycarbs.mealplan.service.MealPlanPdfService;
@@ -16,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -26,14 +30,31 @@ public class MealPlanController {
     private final MealPlanService mealPlanService;
     private final MealPlanMapper mealPlanMapper;
     private final MealPlanPdfService mealPlanPdfService;
+    private final MealPlanJobService mealPlanJobService;
 
     @PostMapping("")
-    public ResponseEntity<ApiResponse<MealPlanDTO>> generateMealPlan() {
-        MealPlan mealPlan = mealPlanService.generateMealPlan();
+    public ResponseEntity<ApiResponse<MealPlanDTO>> generateMealPlan(MealPlanGenerationOptions options) {
+        MealPlan mealPlan = mealPlanService.generateMealPlan(options);
         MealPlanDTO dto = mealPlanMapper.toDTO(mealPlan);
         return ApiResponses.success(HttpStatus.CREATED, dto, "Meal plan generated successfully");
     }
 
+    @PostMapping("/jobs")
+    public ResponseEntity<ApiResponse<MealPlanJobDTO>> submitMealPlanJob(MealPlanGenerationOptions options) {
+        MealPlanJobDTO job = mealPlanJobService.submit(options);
+        return ApiResponses.success(HttpStatus.ACCEPTED, job, "Meal plan generation queued");
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<MealPlanJobDTO>> getMealPlanJob(@PathVariable Long jobId) {
+        return ApiResponses.success(mealPlanJobService.getJob(jobId));
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToMealPlanJob(@PathVariable Long jobId) {
+        return mealPlanJobService.subscribe(jobId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<MealPlanDTO>> findById(@PathVariable Long id) {
         MealPlan mealPlan = mealPlanService.findById(id);
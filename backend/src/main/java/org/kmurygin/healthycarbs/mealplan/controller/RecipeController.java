@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.kmurygin.healthycarbs.mealplan.MealType;
 import org.kmurygin.healthycarbs.mealplan.dto.RecipeDTO;
 import org.kmurygin.healthycarbs.mealplan.dto.RecipeIngredientDTO;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeExclusion;
 import org.kmurygin.healthycarbs.mealplan.mapper.RecipeMapper;
 import org.kmurygin.healthycarbs.mealplan.model.Recipe;
 import org.kmurygin.healthycarbs.mealplan.service.RecipeService;
@@ -39,6 +40,8 @@ public class RecipeController {
             @RequestParam(required = false) String diet,
             @RequestParam(required = false) MealType meal,
             @RequestParam(required = false) Boolean onlyFavourites,
+            @RequestParam(required = false) Set<Long> excludeAllergens,
+            @RequestParam(required = false) Set<Long> excludeIngredients,
             Pageable pageable,
             @AuthenticationPrincipal User currentUser
     ) {
@@ -48,7 +51,8 @@ public class RecipeController {
             userId = currentUser.getId();
         }
 
-        Page<Recipe> page = recipeService.findAll(name, ingredient, diet, meal, userId, pageable);
+        Page<Recipe> page = recipeService.findAll(name, ingredient, diet, meal, userId,
+                new RecipeExclusion(excludeAllergens, excludeIngredients), pageable);
         Page<RecipeDTO> recipeDtoPage = page.map(recipe -> recipeMapper.toDTO(recipe, favouriteIds));
 
         PaginatedResponse<RecipeDTO> paginatedResponse = PaginatedResponse.from(recipeDtoPage);
@@ -9,6 +9,8 @@ import org.kmurygin.healthycarbs.mealplan.DietGoal;
 import org.kmurygin.healthycarbs.mealplan.Gender;
 import org.kmurygin.healthycarbs.user.dto.UserDTO;
 
+import java.util.List;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -27,4 +29,6 @@ public class DietaryProfileDTO {
     private Double carbsTarget;
     private Double proteinTarget;
     private Double fatTarget;
+    private List<String> allergies;
+    private List<Long> excludedIngredientIds;
 }
@@ -23,4 +23,5 @@ public class DietaryProfilePayload {
     private String dietType;
     private ActivityLevel activityLevel;
     private List<String> allergies;
+    private List<Long> excludedIngredientIds;
 }
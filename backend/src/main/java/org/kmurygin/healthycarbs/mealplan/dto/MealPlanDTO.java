@@ -25,4 +25,5 @@ public class MealPlanDTO {
     private double totalFat;
     private Instant createdAt;
     private MealPlanSource source;
+    private Long seed;
 }
@@ -0,0 +1,14 @@
+package org.kmurygin.healthycarbs.mealplan.dto;
+
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.QualityTier;
+
+public record MealPlanGenerationOptions(
+        QualityTier quality,
+        OptimizerType optimizer,
+        Long seed
+) {
+    public static MealPlanGenerationOptions defaults() {
+        return new MealPlanGenerationOptions(null, null, null);
+    }
+}
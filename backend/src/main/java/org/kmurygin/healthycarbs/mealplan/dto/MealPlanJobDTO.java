@@ -0,0 +1,27 @@
+package org.kmurygin.healthycarbs.mealplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.MealPlanJobStatus;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.QualityTier;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class MealPlanJobDTO {
+    private Long id;
+    private MealPlanJobStatus status;
+    private QualityTier quality;
+    private OptimizerType optimizer;
+    private Long mealPlanId;
+    private String errorMessage;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -14,4 +14,5 @@ public class MealPlanRecipeDTO {
     private Long id;
     private RecipeDTO recipe;
     private MealType mealType;
+    private Double portion;
 }
@@ -3,17 +3,25 @@ package org.kmurygin.healthycarbs.mealplan.genetic_algorithm;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 public class BestGenomeSelector {
-    public Genome findBestGenome(List<Genome> population, Genome currentBest) {
-        Genome bestGenome = currentBest;
+    public Genome findBestGenome(Genome[] population, Genome currentBest) {
+        Genome bestGenome = null;
+        double bestFitness = currentBest != null ? currentBest.getFitness() : Double.NEGATIVE_INFINITY;
         for (Genome genome : population) {
-            if (bestGenome == null || genome.getFitness() > bestGenome.getFitness()) {
-                bestGenome = new Genome(genome);
+            if (genome.getFitness() > bestFitness) {
+                bestGenome = genome;
+                bestFitness = genome.getFitness();
             }
         }
-        return bestGenome;
+
+        if (bestGenome == null) {
+            return currentBest;
+        }
+        if (currentBest == null) {
+            return new Genome(bestGenome);
+        }
+        currentBest.copyFrom(bestGenome);
+        return currentBest;
     }
 }
@@ -1,72 +1,85 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm;
 
-import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Population;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.Crossover;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.Mutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.ParentSampler;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.Selection;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 @Component
 public class GenerationProducer {
 
-    public List<Genome> createNextGeneration(
-            List<Genome> currentPopulation,
+    public void createNextGeneration(
+            Population population,
+            DayCandidates candidates,
             Fitness fitness,
-            DietType dietType,
             GeneticAlgorithmConfig config,
+            double mutationRate,
             Crossover crossover,
             Mutate mutate,
-            Selection selection) {
+            Selection selection,
+            RandomGenerator random) {
+
+        Genome[] current = population.current();
+        Genome[] next = population.next();
 
-        List<Genome> nextGen = selectElite(currentPopulation, config.getEliteCount(), config.getPopulationSize());
+        int eliteCount = selectElite(current, next, population.ranking(), config.getEliteCount());
+        ParentSampler parents = selection.sampler(population, 2 * (next.length - eliteCount), random);
 
-        while (nextGen.size() < config.getPopulationSize()) {
-            Genome child = createOffspring(currentPopulation, crossover, mutate, selection, dietType, fitness);
-            nextGen.add(child);
+        for (int i = eliteCount; i < next.length; i++) {
+            createOffspring(next[i], crossover, mutate, parents, candidates, fitness, mutationRate, random);
         }
 
-        return nextGen;
+        population.swap();
     }
 
-    private List<Genome> selectElite(List<Genome> population, int eliteCount, int populationSize) {
-        return population.stream()
-                .sorted(Comparator.comparingDouble(Genome::getFitness).reversed())
-                .limit(Math.min(eliteCount, population.size()))
-                .map(Genome::new)
-                .collect(Collectors.toCollection(() -> new ArrayList<>(populationSize)));
+    private int selectElite(Genome[] current, Genome[] next, int[] ranking, int eliteCount) {
+        int count = Math.min(eliteCount, current.length);
+        for (int i = 0; i < ranking.length; i++) {
+            ranking[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            int best = i;
+            for (int j = i + 1; j < ranking.length; j++) {
+                if (current[ranking[j]].getFitness() > current[ranking[best]].getFitness()) {
+                    best = j;
+                }
+            }
+            int tmp = ranking[i];
+            ranking[i] = ranking[best];
+            ranking[best] = tmp;
+            next[i].copyFrom(current[ranking[i]]);
+        }
+        return count;
     }
 
-    private Genome createOffspring(
-            List<Genome> population,
+    private void createOffspring(
+            Genome child,
             Crossover crossover,
             Mutate mutate,
-            Selection selection,
-            DietType dietType,
-            Fitness fitness) {
-
-        Genome parent1 = selection.select(population);
-        Genome parent2 = selection.select(population);
-        Genome child = crossover.crossover(parent1, parent2);
-
-        log.debug("Created child from parents with fitness: {} and {}", parent1.getFitness(), parent2.getFitness());
+            ParentSampler parents,
+            DayCandidates candidates,
+            Fitness fitness,
+            double mutationRate,
+            RandomGenerator random) {
 
-        mutate.mutate(child, dietType);
+        Genome parent1 = parents.next();
+        Genome parent2 = parents.next();
+        crossover.crossover(parent1, parent2, child, random);
 
-        return evaluateChild(child, fitness);
-    }
+        if (log.isDebugEnabled()) {
+            log.debug("Created child from parents with fitness: {} and {}", parent1.getFitness(), parent2.getFitness());
+        }
 
-    private Genome evaluateChild(Genome child, Fitness fitness) {
-        child.setFitness(fitness.evaluate(child));
-        return child;
+        mutate.mutate(child, candidates, fitness, mutationRate, random);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,63 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm;
 
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.FitnessMemo;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunStatistics;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.BatchFitness;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroBatch;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 public class PopulationEvaluator {
-    public void evaluate(List<Genome> population, Fitness fitness) {
-        population
-                .forEach(genome -> genome.setFitness(fitness.evaluate(genome)));
+    public void evaluate(Genome[] population, Fitness fitness, RunStatistics statistics) {
+        evaluate(population, fitness, statistics, null);
+    }
+
+    public void evaluate(Genome[] population, Fitness fitness, RunStatistics statistics, FitnessMemo memo) {
+        evaluate(population, fitness, statistics, memo, new MacroBatch(population.length));
+    }
+
+    // Unchanged genomes (elites, untouched copies) are skipped; repeated gene tuples are served from the memo.
+    // The rest are scored in one call when the fitness supports batches, otherwise one by one.
+    public void evaluate(
+            Genome[] population, Fitness fitness, RunStatistics statistics, FitnessMemo memo, MacroBatch batch) {
+        BatchFitness batchFitness = fitness instanceof BatchFitness batchable ? batchable : null;
+        batch.clear();
+        for (Genome genome : population) {
+            if (genome.isEvaluated()) {
+                statistics.recordSkippedEvaluation();
+                continue;
+            }
+            if (memo != null && memo.lookup(genome)) {
+                genome.setEvaluated(true);
+                statistics.recordMemoHit();
+                continue;
+            }
+            if (batchFitness != null) {
+                batch.add(genome);
+                continue;
+            }
+            genome.setFitness(fitness.evaluate(genome));
+            markEvaluated(genome, statistics, memo);
+        }
+
+        if (batch.size() == 0) {
+            return;
+        }
+        batchFitness.evaluate(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            Genome genome = batch.genome(i);
+            genome.setFitness(batch.score(i));
+            markEvaluated(genome, statistics, memo);
+        }
+    }
+
+    private static void markEvaluated(Genome genome, RunStatistics statistics, FitnessMemo memo) {
+        genome.setEvaluated(true);
+        statistics.recordEvaluation();
+        if (memo != null) {
+            memo.store(genome);
+        }
     }
 }
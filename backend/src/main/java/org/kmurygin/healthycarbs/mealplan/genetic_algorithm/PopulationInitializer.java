@@ -1,17 +1,109 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm;
 
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Population;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.random.RandomGenerator;
 
 @Component
 public class PopulationInitializer {
-    public List<Genome> generateInitialPopulation(Supplier<Genome> supplier, int populationSize) {
-        return Stream.generate(supplier)
-                .limit(populationSize)
-                .toList();
+
+    // Chance that a slot with favourites takes one, so favourite-seeded genomes still differ.
+    private static final double FAVOURITE_PROBABILITY = 0.5;
+
+    public Population generateInitialPopulation(DayCandidates candidates, int populationSize, RandomGenerator random) {
+        return generateInitialPopulation(candidates, populationSize, random, WarmStart.none());
+    }
+
+    // Genomes are seeded in order: previous days, favourites, calorie-stratified, then uniformly random.
+    // Week genomes are seeded day by day from the same day-level seeds.
+    public Population generateInitialPopulation(
+            DayCandidates candidates, int populationSize, RandomGenerator random, WarmStart warmStart) {
+        Population population = new Population(populationSize, candidates.slotCount(), candidates.getMacroTable());
+        Genome[] genomes = population.current();
+
+        int remaining = populationSize;
+        int history = warmStart.dayGenomes().isEmpty() || !fitsDays(candidates, warmStart.dayGenomes().getFirst().length)
+                ? 0 : share(populationSize, warmStart.historyFraction(), remaining);
+        remaining -= history;
+        int favourites = !warmStart.hasFavourites() || !fitsDays(candidates, warmStart.favouritesBySlot().length)
+                ? 0 : share(populationSize, warmStart.favouritesFraction(), remaining);
+        remaining -= favourites;
+        int stratified = share(populationSize, warmStart.stratifiedFraction(), remaining);
+
+        int next = 0;
+        for (int i = 0; i < history; i++) {
+            seedFromHistory(genomes[next++], warmStart.dayGenomes(), random);
+        }
+        for (int i = 0; i < favourites; i++) {
+            seedFromFavourites(genomes[next++], candidates, warmStart.favouritesBySlot(), random);
+        }
+        seedStratified(genomes, next, stratified, candidates, Math.max(1, warmStart.calorieBands()), random);
+        next += stratified;
+        for (; next < genomes.length; next++) {
+            candidates.randomize(genomes[next], random);
+        }
+        return population;
+    }
+
+    private static void seedFromHistory(Genome genome, List<int[]> dayGenomes, RandomGenerator random) {
+        int[] genes = genome.getGenes();
+        int daySlots = dayGenomes.getFirst().length;
+        for (int offset = 0; offset < genes.length; offset += daySlots) {
+            int[] day = dayGenomes.get(random.nextInt(dayGenomes.size()));
+            System.arraycopy(day, 0, genes, offset, daySlots);
+        }
+        genome.recomputeTotals();
+    }
+
+    private static void seedFromFavourites(
+            Genome genome, DayCandidates candidates, int[][] favouritesBySlot, RandomGenerator random) {
+        int[] genes = genome.getGenes();
+        for (int slot = 0; slot < genes.length; slot++) {
+            int[] favourites = favouritesBySlot[slot % favouritesBySlot.length];
+            genes[slot] = favourites.length > 0 && random.nextDouble() < FAVOURITE_PROBABILITY
+                    ? favourites[random.nextInt(favourites.length)]
+                    : candidates.randomCandidate(slot, random);
+        }
+        genome.recomputeTotals();
+    }
+
+    // Latin-hypercube style: in every slot the seeded genomes cycle through all calorie bands in a
+    // shuffled order, so the seeded day totals cover the range from light to heavy days.
+    private static void seedStratified(
+            Genome[] genomes, int from, int count, DayCandidates candidates, int bands, RandomGenerator random) {
+        if (count == 0) {
+            return;
+        }
+        int[] bandOf = new int[count];
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            for (int i = 0; i < count; i++) {
+                bandOf[i] = i % bands;
+            }
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = bandOf[i];
+                bandOf[i] = bandOf[j];
+                bandOf[j] = tmp;
+            }
+            for (int i = 0; i < count; i++) {
+                genomes[from + i].getGenes()[slot] = candidates.calorieBandCandidate(slot, bandOf[i], bands, random);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            genomes[from + i].recomputeTotals();
+        }
+    }
+
+    private static boolean fitsDays(DayCandidates candidates, int daySlots) {
+        return daySlots > 0 && candidates.slotCount() % daySlots == 0;
+    }
+
+    private static int share(int populationSize, double fraction, int remaining) {
+        return Math.clamp(Math.round(populationSize * fraction), 0, remaining);
     }
 }
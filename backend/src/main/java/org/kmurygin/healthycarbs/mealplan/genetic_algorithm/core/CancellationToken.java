@@ -0,0 +1,13 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+public final class CancellationToken {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
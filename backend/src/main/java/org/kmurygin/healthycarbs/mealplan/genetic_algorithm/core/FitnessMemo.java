@@ -0,0 +1,108 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import lombok.Getter;
+
+// Per-island table from gene tuple to fitness and totals, consulted before Fitness.evaluate. Open
+// addressing over flat primitive arrays sized once per run, so lookups and inserts never allocate.
+// Lossy like a transposition table: a full probe window overwrites its home slot instead of growing.
+public final class FitnessMemo {
+
+    private static final int MAX_PROBES = 8;
+    private static final long EMPTY = 0L;
+
+    private final int mask;
+    private final int genomeSize;
+    private final long[] hashes;
+    private final int[] genes;
+    private final double[] fitness;
+    private final double[] calories;
+    private final double[] carbs;
+    private final double[] protein;
+    private final double[] fat;
+    @Getter
+    private long hits;
+    @Getter
+    private long misses;
+
+    public FitnessMemo(int capacity, int genomeSize) {
+        int size = Integer.highestOneBit(Math.max(MAX_PROBES, capacity - 1) << 1);
+        this.mask = size - 1;
+        this.genomeSize = genomeSize;
+        this.hashes = new long[size];
+        this.genes = new int[size * genomeSize];
+        this.fitness = new double[size];
+        this.calories = new double[size];
+        this.carbs = new double[size];
+        this.protein = new double[size];
+        this.fat = new double[size];
+    }
+
+    // Copies the stored fitness and totals into the genome and returns true when its tuple is known.
+    public boolean lookup(Genome genome) {
+        int[] tuple = genome.getGenes();
+        long hash = hash(tuple);
+        int slot = (int) hash & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++, slot = (slot + 1) & mask) {
+            long stored = hashes[slot];
+            if (stored == EMPTY) {
+                break;
+            }
+            if (stored == hash && sameTuple(slot, tuple)) {
+                genome.setFitness(fitness[slot]);
+                genome.setTotalCalories(calories[slot]);
+                genome.setTotalCarbs(carbs[slot]);
+                genome.setTotalProtein(protein[slot]);
+                genome.setTotalFat(fat[slot]);
+                hits++;
+                return true;
+            }
+        }
+        misses++;
+        return false;
+    }
+
+    public void store(Genome genome) {
+        int[] tuple = genome.getGenes();
+        long hash = hash(tuple);
+        int home = (int) hash & mask;
+        int target = home;
+        for (int probe = 0, slot = home; probe < MAX_PROBES; probe++, slot = (slot + 1) & mask) {
+            long stored = hashes[slot];
+            if (stored == EMPTY || (stored == hash && sameTuple(slot, tuple))) {
+                target = slot;
+                break;
+            }
+        }
+        hashes[target] = hash;
+        System.arraycopy(tuple, 0, genes, target * genomeSize, genomeSize);
+        fitness[target] = genome.getFitness();
+        calories[target] = genome.getTotalCalories();
+        carbs[target] = genome.getTotalCarbs();
+        protein[target] = genome.getTotalProtein();
+        fat[target] = genome.getTotalFat();
+    }
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    private boolean sameTuple(int slot, int[] tuple) {
+        int offset = slot * genomeSize;
+        for (int i = 0; i < genomeSize; i++) {
+            if (genes[offset + i] != tuple[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(int[] tuple) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (int gene : tuple) {
+            hash = (hash ^ gene) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+        return hash == EMPTY ? 1L : hash;
+    }
+}
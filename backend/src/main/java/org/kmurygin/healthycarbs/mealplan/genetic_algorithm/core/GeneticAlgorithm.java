@@ -1,7 +1,6 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
 
 import lombok.RequiredArgsConstructor;
-import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.BestGenomeSelector;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.GenerationProducer;
@@ -10,12 +9,20 @@ import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationInitialize
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.Crossover;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.Mutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.Selection;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Supplier;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @Component
@@ -29,39 +36,240 @@ public class GeneticAlgorithm {
     private final PopulationEvaluator evaluator;
     private final BestGenomeSelector bestGenomeSelector;
     private final GenerationProducer generationProducer;
+    private final ExecutorService mealPlanComputeExecutor;
 
-    public Genome run(Supplier<Genome> genomeSupplier, Fitness fitness, DietType dietType) {
-        List<Genome> population = initializer.generateInitialPopulation(genomeSupplier, config.getPopulationSize());
-        Genome bestGenome = null;
+    // Same operators and pool with different run parameters, e.g. a tuned per-diet-type profile.
+    // Operators that read their own settings (selection, mutation) keep the shared configuration.
+    public GeneticAlgorithm withConfig(GeneticAlgorithmConfig runConfig) {
+        if (runConfig == config) {
+            return this;
+        }
+        return new GeneticAlgorithm(crossover, mutate, selection, runConfig, initializer, evaluator,
+                bestGenomeSelector, generationProducer, mealPlanComputeExecutor);
+    }
+
+    public GeneticAlgorithmResult run(DayCandidates candidates, Fitness fitness) {
+        return run(candidates, fitness, RunBudget.unbounded(), Seeds.newSeed());
+    }
+
+    public GeneticAlgorithmResult run(DayCandidates candidates, Fitness fitness, RunBudget budget, long seed) {
+        return run(candidates, fitness, budget, seed, config.getIslandCount(), WarmStart.none());
+    }
+
+    public GeneticAlgorithmResult run(
+            DayCandidates candidates, Fitness fitness, RunBudget budget, long seed, WarmStart warmStart) {
+        return run(candidates, fitness, budget, seed, config.getIslandCount(), warmStart);
+    }
 
-        log.info("[GA-START] populationSize={}, maxGenerations={}, mutationRate={}, targetFitness={}, eliteCount={}",
+    public GeneticAlgorithmResult run(
+            DayCandidates candidates, Fitness fitness, RunBudget budget, long seed, int requestedIslands,
+            WarmStart warmStart) {
+        int islandCount = Math.max(1, requestedIslands);
+
+        log.debug("[GA-START] populationSize={}, maxGenerations={}, mutationRate={}, targetFitness={}, eliteCount={}, islands={}, stagnationGenerations={}, seed={}",
                 config.getPopulationSize(), config.getMaxGenerations(), config.getMutationRate(),
-                config.getTargetFitness(), config.getEliteCount());
-
-        for (int generation = 0; generation < config.getMaxGenerations(); generation++) {
-            evaluator.evaluate(population, fitness);
-            bestGenome = bestGenomeSelector.findBestGenome(population, bestGenome);
-
-            if (log.isInfoEnabled()) {
-                double avgFitness = population.stream().mapToDouble(Genome::getFitness).average().orElse(0);
-                log.info("[GA-GEN] gen={} | bestFitness={} | avgFitness={} | cal={} carb={} prot={} fat={}",
-                        generation, String.format("%.4f", bestGenome.getFitness()),
-                        String.format("%.4f", avgFitness),
-                        String.format("%.0f", bestGenome.getTotalCalories()),
-                        String.format("%.0f", bestGenome.getTotalCarbs()),
-                        String.format("%.0f", bestGenome.getTotalProtein()),
-                        String.format("%.0f", bestGenome.getTotalFat()));
+                config.getTargetFitness(), config.getEliteCount(), islandCount, config.getStagnationGenerations(), seed);
+
+        Island[] islands = new Island[islandCount];
+        for (int i = 0; i < islandCount; i++) {
+            // Each island owns its generator, so parallel epochs stay reproducible for a given seed.
+            SplittableRandom random = new SplittableRandom(Seeds.derive(seed, i));
+            Population population = initializer.generateInitialPopulation(
+                    candidates, config.getPopulationSize(), random, warmStart);
+            FitnessMemo memo = config.getMemoCapacity() > 0
+                    ? new FitnessMemo(config.getMemoCapacity(), candidates.slotCount())
+                    : null;
+            islands[i] = new Island(i, population, config.getMigrationSize(), config.getMutationRate(), random, memo);
+        }
+
+        TerminationReason reason = islandCount == 1
+                ? evolve(islands[0], config.getMaxGenerations(), candidates, fitness, budget)
+                : runIslands(islands, candidates, fitness, budget);
+
+        return collectResult(islands, reason == null ? TerminationReason.MAX_GENERATIONS : reason);
+    }
+
+    private TerminationReason runIslands(Island[] islands, DayCandidates candidates, Fitness fitness, RunBudget budget) {
+        int interval = Math.max(1, config.getMigrationInterval());
+        int completed = 0;
+
+        while (completed < config.getMaxGenerations()) {
+            int epochGenerations = Math.min(interval, config.getMaxGenerations() - completed);
+            evolveInParallel(islands, epochGenerations, candidates, fitness, budget);
+            completed += epochGenerations;
+
+            TerminationReason reason = combinedReason(islands);
+            if (reason != null) {
+                log.debug("[GA-STOP] reason={} after {} generations", reason, completed);
+                return reason;
+            }
+            migrate(islands);
+        }
+        return TerminationReason.MAX_GENERATIONS;
+    }
+
+    private TerminationReason combinedReason(Island[] islands) {
+        boolean allStagnant = true;
+        TerminationReason budgetReason = null;
+        for (Island island : islands) {
+            TerminationReason reason = island.getTerminationReason();
+            if (reason == TerminationReason.TARGET_REACHED) {
+                return TerminationReason.TARGET_REACHED;
+            }
+            if (reason == TerminationReason.CANCELLED || reason == TerminationReason.DEADLINE) {
+                budgetReason = reason;
+            }
+            allStagnant &= reason == TerminationReason.STAGNATION;
+        }
+        if (budgetReason != null) {
+            return budgetReason;
+        }
+        return allStagnant ? TerminationReason.STAGNATION : null;
+    }
+
+    // Islands share the bounded compute executor with every other optimization job. The first island runs
+    // on the calling thread, the rest are forked only while the queue has room, and any the pool has not
+    // started yet are pulled back and run here, so a busy pool degrades to sequential islands instead of
+    // queueing behind other jobs or waiting on itself.
+    private void evolveInParallel(
+            Island[] islands, int generations, DayCandidates candidates, Fitness fitness, RunBudget budget) {
+        List<FutureTask<TerminationReason>> tasks = new ArrayList<>(islands.length - 1);
+        for (int i = 1; i < islands.length; i++) {
+            Island island = islands[i];
+            FutureTask<TerminationReason> task =
+                    new FutureTask<>(() -> evolve(island, generations, candidates, fitness, budget));
+            fork(task);
+            tasks.add(task);
+        }
+
+        evolve(islands[0], generations, candidates, fitness, budget);
+
+        for (FutureTask<TerminationReason> task : tasks) {
+            if (mealPlanComputeExecutor instanceof ThreadPoolExecutor pool) {
+                pool.remove(task);
+            }
+            // No-op when a worker already picked the task up.
+            task.run();
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Genetic algorithm interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Genetic algorithm island failed", e.getCause());
+            }
+        }
+    }
+
+    private void fork(FutureTask<TerminationReason> task) {
+        if (mealPlanComputeExecutor instanceof ThreadPoolExecutor pool && pool.getQueue().remainingCapacity() == 0) {
+            return;
+        }
+        try {
+            mealPlanComputeExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Runs on the calling thread with the other unstarted islands.
+        }
+    }
+
+    private void migrate(Island[] islands) {
+        for (Island island : islands) {
+            island.collectMigrants();
+        }
+        for (int i = 0; i < islands.length; i++) {
+            islands[(i + 1) % islands.length].acceptMigrants(islands[i].getMigrants());
+        }
+    }
+
+    private TerminationReason evolve(
+            Island island, int generations, DayCandidates candidates, Fitness fitness, RunBudget budget) {
+        Population population = island.getPopulation();
+        RunStatistics statistics = island.getStatistics();
+        StagnationTracker stagnationTracker = island.getStagnationTracker();
+        island.setTerminationReason(null);
+
+        for (int i = 0; i < generations; i++) {
+            if (island.isStarted()) {
+                generationProducer.createNextGeneration(population, candidates, fitness, config,
+                        stagnationTracker.getMutationRate(), crossover, mutate, selection, island.getRandom());
+            } else {
+                island.setStarted(true);
+            }
+
+            int generation = statistics.getGenerations();
+            statistics.recordGeneration();
+            evaluator.evaluate(population.current(), fitness, statistics, island.getMemo(), island.getBatch());
+            Genome bestGenome = bestGenomeSelector.findBestGenome(population.current(), island.getBestGenome());
+            island.setBestGenome(bestGenome);
+            stagnationTracker.update(bestGenome.getFitness(), config);
+
+            // Aggregates go to OptimizerMetrics; per-generation detail is only a sampled debug trace.
+            if (config.getTraceInterval() > 0 && generation % config.getTraceInterval() == 0 && log.isDebugEnabled()) {
+                log.debug("[GA-GEN] island={} gen={} | bestFitness={} | avgFitness={} | mutationRate={} | cal={} carb={} prot={} fat={}",
+                        island.getId(), generation, bestGenome.getFitness(), averageFitness(population.current()),
+                        stagnationTracker.getMutationRate(), bestGenome.getTotalCalories(), bestGenome.getTotalCarbs(),
+                        bestGenome.getTotalProtein(), bestGenome.getTotalFat());
             }
 
             if (bestGenome.getFitness() >= config.getTargetFitness()) {
-                log.info("[GA-CONVERGED] Reached target fitness at generation {}", generation);
-                break;
+                log.debug("[GA-CONVERGED] Island {} reached target fitness at generation {}", island.getId(), generation);
+                island.setTerminationReason(TerminationReason.TARGET_REACHED);
+                return TerminationReason.TARGET_REACHED;
+            }
+            if (stagnationTracker.isStagnant(config)) {
+                log.debug("[GA-STAGNATED] Island {} made no progress for {} generations at generation {}",
+                        island.getId(), stagnationTracker.getStagnantGenerations(), generation);
+                island.setTerminationReason(TerminationReason.STAGNATION);
+                return TerminationReason.STAGNATION;
+            }
+            if (budget.isCancelled()) {
+                island.setTerminationReason(TerminationReason.CANCELLED);
+                return TerminationReason.CANCELLED;
+            }
+            if (budget.isExpired()) {
+                island.setTerminationReason(TerminationReason.DEADLINE);
+                return TerminationReason.DEADLINE;
             }
+        }
+        return null;
+    }
 
-            population = generationProducer.createNextGeneration(
-                    population, fitness, dietType, config, crossover, mutate, selection);
+    private GeneticAlgorithmResult collectResult(Island[] islands, TerminationReason reason) {
+        Island best = islands[0];
+        int generations = 0;
+        long evaluations = 0;
+        long skippedEvaluations = 0;
+        long memoHits = 0;
+        long memoLookups = 0;
+
+        for (Island island : islands) {
+            if (island.getBestFitness() > best.getBestFitness()) {
+                best = island;
+            }
+            generations = Math.max(generations, island.getStatistics().getGenerations());
+            evaluations += island.getStatistics().getEvaluations();
+            skippedEvaluations += island.getStatistics().getSkippedEvaluations();
+            memoHits += island.getStatistics().getMemoHits();
+            if (island.getMemo() != null) {
+                memoLookups += island.getMemo().getHits() + island.getMemo().getMisses();
+            }
         }
-        return bestGenome;
+
+        log.debug("[GA-END] reason={}, generations={}, evaluations={}, skippedEvaluations={}, memoHits={}, memoLookups={}",
+                reason, generations, evaluations, skippedEvaluations, memoHits, memoLookups);
+
+        return new GeneticAlgorithmResult(
+                best.getBestGenome(), generations, evaluations, skippedEvaluations, memoHits, reason);
     }
-}
 
+    private double averageFitness(Genome[] population) {
+        double sum = 0.0;
+        for (Genome genome : population) {
+            sum += genome.getFitness();
+        }
+        return population.length == 0 ? 0.0 : sum / population.length;
+    }
+}
@@ -0,0 +1,11 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+public record GeneticAlgorithmResult(
+        Genome bestGenome,
+        int generations,
+        long evaluations,
+        long skippedEvaluations,
+        long memoHits,
+        TerminationReason terminationReason
+) {
+}
@@ -1,32 +1,83 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.kmurygin.healthycarbs.mealplan.model.Recipe;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
 
 @Getter
 @Setter
-@AllArgsConstructor
-@NoArgsConstructor
 public class Genome {
-    private List<Recipe> genes = new ArrayList<>(4);
+    private final int[] genes;
+    private final RecipeMacroTable macroTable;
     private double fitness;
     private double totalCalories;
     private double totalCarbs;
     private double totalProtein;
     private double totalFat;
+    private boolean evaluated;
+
+    public Genome(int size, RecipeMacroTable macroTable) {
+        this.genes = new int[size];
+        this.macroTable = macroTable;
+    }
+
+    public Genome(int[] genes) {
+        this.genes = genes;
+        this.macroTable = null;
+    }
 
     public Genome(Genome other) {
-        this.genes.addAll(other.genes);
+        this.genes = other.genes.clone();
+        this.macroTable = other.macroTable;
+        copyStateFrom(other);
+    }
+
+    public void copyFrom(Genome other) {
+        System.arraycopy(other.genes, 0, this.genes, 0, this.genes.length);
+        copyStateFrom(other);
+    }
+
+    public int size() {
+        return genes.length;
+    }
+
+    public void setGene(int slot, int recipeIndex) {
+        int previous = genes[slot];
+        if (previous == recipeIndex) {
+            return;
+        }
+        totalCalories += macroTable.calories(recipeIndex) - macroTable.calories(previous);
+        totalCarbs += macroTable.carbs(recipeIndex) - macroTable.carbs(previous);
+        totalProtein += macroTable.protein(recipeIndex) - macroTable.protein(previous);
+        totalFat += macroTable.fat(recipeIndex) - macroTable.fat(previous);
+        genes[slot] = recipeIndex;
+        evaluated = false;
+    }
+
+    public void recomputeTotals() {
+        double calories = 0.0;
+        double carbs = 0.0;
+        double protein = 0.0;
+        double fat = 0.0;
+        for (int gene : genes) {
+            calories += macroTable.calories(gene);
+            carbs += macroTable.carbs(gene);
+            protein += macroTable.protein(gene);
+            fat += macroTable.fat(gene);
+        }
+        this.totalCalories = calories;
+        this.totalCarbs = carbs;
+        this.totalProtein = protein;
+        this.totalFat = fat;
+        this.evaluated = false;
+    }
+
+    private void copyStateFrom(Genome other) {
         this.fitness = other.fitness;
         this.totalCalories = other.totalCalories;
         this.totalCarbs = other.totalCarbs;
         this.totalProtein = other.totalProtein;
         this.totalFat = other.totalFat;
+        this.evaluated = other.evaluated;
     }
 }
@@ -0,0 +1,83 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroBatch;
+
+import java.util.SplittableRandom;
+
+@Getter
+public final class Island {
+    private final int id;
+    private final Population population;
+    private final RunStatistics statistics = new RunStatistics();
+    private final Genome[] migrants;
+    private final StagnationTracker stagnationTracker;
+    private final SplittableRandom random;
+    private final FitnessMemo memo;
+    private final MacroBatch batch;
+    @Setter
+    private Genome bestGenome;
+    @Setter
+    private boolean started;
+    @Setter
+    private TerminationReason terminationReason;
+
+    public Island(int id, Population population, int migrationSize, double mutationRate, SplittableRandom random) {
+        this(id, population, migrationSize, mutationRate, random, null);
+    }
+
+    public Island(
+            int id, Population population, int migrationSize, double mutationRate, SplittableRandom random,
+            FitnessMemo memo) {
+        this.id = id;
+        this.population = population;
+        this.random = random;
+        this.memo = memo;
+        this.batch = new MacroBatch(population.size());
+        this.stagnationTracker = new StagnationTracker(mutationRate);
+        this.migrants = new Genome[Math.min(migrationSize, population.size())];
+        Genome[] current = population.current();
+        for (int i = 0; i < migrants.length; i++) {
+            migrants[i] = new Genome(current[i]);
+        }
+    }
+
+    public double getBestFitness() {
+        return bestGenome == null ? Double.NEGATIVE_INFINITY : bestGenome.getFitness();
+    }
+
+    public void collectMigrants() {
+        Genome[] current = population.current();
+        int[] ranking = rank(current);
+        for (int i = 0; i < migrants.length; i++) {
+            migrants[i].copyFrom(current[ranking[i]]);
+        }
+    }
+
+    public void acceptMigrants(Genome[] incoming) {
+        Genome[] current = population.current();
+        int[] ranking = rank(current);
+        for (int i = 0; i < incoming.length; i++) {
+            current[ranking[current.length - 1 - i]].copyFrom(incoming[i]);
+        }
+    }
+
+    private int[] rank(Genome[] current) {
+        int[] ranking = population.ranking();
+        for (int i = 0; i < ranking.length; i++) {
+            ranking[i] = i;
+        }
+        for (int i = 1; i < ranking.length; i++) {
+            int index = ranking[i];
+            double fitness = current[index].getFitness();
+            int j = i - 1;
+            while (j >= 0 && current[ranking[j]].getFitness() < fitness) {
+                ranking[j + 1] = ranking[j];
+                j--;
+            }
+            ranking[j + 1] = index;
+        }
+        return ranking;
+    }
+}
@@ -0,0 +1,86 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+
+public final class Population {
+
+    private Genome[] current;
+    private Genome[] next;
+    private final int[] ranking;
+
+    public Population(int size, int genomeSize, RecipeMacroTable macroTable) {
+        this.current = new Genome[size];
+        this.next = new Genome[size];
+        this.ranking = new int[size];
+        for (int i = 0; i < size; i++) {
+            current[i] = new Genome(genomeSize, macroTable);
+            next[i] = new Genome(genomeSize, macroTable);
+        }
+    }
+
+    public Genome[] current() {
+        return current;
+    }
+
+    public Genome[] next() {
+        return next;
+    }
+
+    public int[] ranking() {
+        return ranking;
+    }
+
+    // Fills ranking() with indices into current(), best fitness first.
+    public int[] rankByFitness() {
+        rank(current, ranking);
+        return ranking;
+    }
+
+    // Heapsort over a min-heap on fitness, so it needs no boxing, comparator or scratch space.
+    public static void rank(Genome[] genomes, int[] ranking) {
+        int n = genomes.length;
+        for (int i = 0; i < n; i++) {
+            ranking[i] = i;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(genomes, ranking, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int worst = ranking[0];
+            ranking[0] = ranking[end];
+            ranking[end] = worst;
+            siftDown(genomes, ranking, 0, end);
+        }
+    }
+
+    private static void siftDown(Genome[] genomes, int[] ranking, int root, int size) {
+        int index = ranking[root];
+        double fitness = genomes[index].getFitness();
+        int position = root;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && genomes[ranking[child + 1]].getFitness() < genomes[ranking[child]].getFitness()) {
+                child++;
+            }
+            if (genomes[ranking[child]].getFitness() >= fitness) {
+                break;
+            }
+            ranking[position] = ranking[child];
+            position = child;
+        }
+        ranking[position] = index;
+    }
+
+    public int size() {
+        return current.length;
+    }
+
+    public void swap() {
+        Genome[] tmp = current;
+        current = next;
+        next = tmp;
+    }
+}
@@ -0,0 +1,37 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+public final class RunBudget {
+    private final boolean bounded;
+    private final long deadlineNanos;
+    @Getter
+    private final CancellationToken cancellationToken;
+
+    private RunBudget(boolean bounded, long deadlineNanos, CancellationToken cancellationToken) {
+        this.bounded = bounded;
+        this.deadlineNanos = deadlineNanos;
+        this.cancellationToken = cancellationToken;
+    }
+
+    public static RunBudget unbounded() {
+        return new RunBudget(false, 0L, new CancellationToken());
+    }
+
+    public static RunBudget of(Duration timeBudget, CancellationToken cancellationToken) {
+        if (timeBudget == null || timeBudget.isZero() || timeBudget.isNegative()) {
+            return new RunBudget(false, 0L, cancellationToken);
+        }
+        return new RunBudget(true, System.nanoTime() + timeBudget.toNanos(), cancellationToken);
+    }
+
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    public boolean isCancelled() {
+        return cancellationToken.isCancelled();
+    }
+}
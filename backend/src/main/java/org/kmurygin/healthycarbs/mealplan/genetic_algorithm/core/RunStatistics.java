@@ -0,0 +1,27 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import lombok.Getter;
+
+@Getter
+public class RunStatistics {
+    private int generations;
+    private long evaluations;
+    private long skippedEvaluations;
+    private long memoHits;
+
+    public void recordGeneration() {
+        generations++;
+    }
+
+    public void recordEvaluation() {
+        evaluations++;
+    }
+
+    public void recordSkippedEvaluation() {
+        skippedEvaluations++;
+    }
+
+    public void recordMemoHit() {
+        memoHits++;
+    }
+}
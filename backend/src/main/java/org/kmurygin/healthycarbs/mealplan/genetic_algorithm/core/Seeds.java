@@ -0,0 +1,27 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Derives independent child seeds (per day, per island) from a run seed with the SplitMix64 finaliser,
+// so a recorded run seed reproduces every stream regardless of thread scheduling.
+public final class Seeds {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private Seeds() {
+    }
+
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    public static long derive(long seed, int stream) {
+        return mix64(seed + (stream + 1L) * GOLDEN_GAMMA);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
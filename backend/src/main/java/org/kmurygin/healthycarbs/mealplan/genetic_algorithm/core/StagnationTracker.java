@@ -0,0 +1,42 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import lombok.Getter;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+
+@Getter
+public final class StagnationTracker {
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+    private int stagnantGenerations;
+    private double mutationRate;
+
+    public StagnationTracker(double initialMutationRate) {
+        this.mutationRate = initialMutationRate;
+    }
+
+    public void update(double currentBestFitness, GeneticAlgorithmConfig config) {
+        if (bestFitness == Double.NEGATIVE_INFINITY) {
+            bestFitness = currentBestFitness;
+            return;
+        }
+
+        if (currentBestFitness > bestFitness + config.getStagnationEpsilon()) {
+            bestFitness = currentBestFitness;
+            stagnantGenerations = 0;
+            if (config.isAdaptiveMutation()) {
+                mutationRate = Math.max(config.getMinMutationRate(), mutationRate * config.getMutationRateDecrease());
+            }
+            return;
+        }
+
+        stagnantGenerations++;
+        if (config.isAdaptiveMutation()
+                && config.getAdaptationWindow() > 0
+                && stagnantGenerations % config.getAdaptationWindow() == 0) {
+            mutationRate = Math.min(config.getMaxMutationRate(), mutationRate * config.getMutationRateIncrease());
+        }
+    }
+
+    public boolean isStagnant(GeneticAlgorithmConfig config) {
+        return config.getStagnationGenerations() > 0 && stagnantGenerations >= config.getStagnationGenerations();
+    }
+}
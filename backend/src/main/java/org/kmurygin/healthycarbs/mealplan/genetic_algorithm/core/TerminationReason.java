@@ -0,0 +1,10 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+public enum TerminationReason {
+    TARGET_REACHED,
+    OPTIMAL,
+    STAGNATION,
+    MAX_GENERATIONS,
+    DEADLINE,
+    CANCELLED
+}
@@ -2,9 +2,13 @@ package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover;
 
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
 
+import java.util.random.RandomGenerator;
+
 public interface Crossover {
-    Genome crossover(
+    void crossover(
             Genome a,
-            Genome b
+            Genome b,
+            Genome child,
+            RandomGenerator random
     );
 }
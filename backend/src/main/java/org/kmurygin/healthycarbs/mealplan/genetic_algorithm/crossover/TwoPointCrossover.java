@@ -3,23 +3,23 @@ package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Component
 public class TwoPointCrossover implements Crossover {
 
     @Override
-    public Genome crossover(Genome firstGenome, Genome secondGenome) {
-        if (firstGenome.getGenes().size() != secondGenome.getGenes().size()) {
+    public void crossover(Genome firstGenome, Genome secondGenome, Genome child, RandomGenerator random) {
+        if (firstGenome.size() != secondGenome.size() || child.size() != firstGenome.size()) {
             throw new IllegalArgumentException("Genomes must have the same number of genes");
         }
 
-        int size = firstGenome.getGenes().size();
+        int size = firstGenome.size();
         int firstPoint, secondPoint;
 
         do {
-            firstPoint = ThreadLocalRandom.current().nextInt(size);
-            secondPoint = ThreadLocalRandom.current().nextInt(size);
+            firstPoint = random.nextInt(size);
+            secondPoint = random.nextInt(size);
         }
         while (firstPoint == secondPoint);
 
@@ -29,15 +29,10 @@ public class TwoPointCrossover implements Crossover {
             secondPoint = tmp;
         }
 
-        Genome child = new Genome();
-        for (int i = 0; i < size; i++) {
-            if (i < firstPoint || i >= secondPoint) {
-                child.getGenes().add(firstGenome.getGenes().get(i));
-            } else {
-                child.getGenes().add(secondGenome.getGenes().get(i));
-            }
+        child.copyFrom(firstGenome);
+        int[] second = secondGenome.getGenes();
+        for (int i = firstPoint; i < secondPoint; i++) {
+            child.setGene(i, second[i]);
         }
-
-        return child;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+// Fitness that scores a whole batch of genomes in one call from their macro totals.
+public interface BatchFitness extends Fitness {
+    void evaluate(MacroBatch batch);
+}
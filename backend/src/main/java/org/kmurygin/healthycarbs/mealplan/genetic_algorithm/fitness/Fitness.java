@@ -5,4 +5,4 @@ import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
 
 public interface Fitness {
     double evaluate(Genome plan);
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// Macro totals of the genomes awaiting evaluation, laid out as parallel primitive arrays so a
+// BatchFitness can score them in one pass. Reused across generations; it only grows.
+public final class MacroBatch {
+
+    private Genome[] genomes;
+    private double[] calories;
+    private double[] carbs;
+    private double[] protein;
+    private double[] fat;
+    private double[] scores;
+    private int size;
+    private Object scratch;
+
+    public MacroBatch(int capacity) {
+        int initial = Math.max(1, capacity);
+        this.genomes = new Genome[initial];
+        this.calories = new double[initial];
+        this.carbs = new double[initial];
+        this.protein = new double[initial];
+        this.fat = new double[initial];
+        this.scores = new double[initial];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(Genome genome) {
+        add(genome, genome.getTotalCalories(), genome.getTotalCarbs(), genome.getTotalProtein(), genome.getTotalFat());
+    }
+
+    // Totals other than the genome's own, e.g. after portion scaling.
+    public void add(Genome genome, double totalCalories, double totalCarbs, double totalProtein, double totalFat) {
+        if (size == genomes.length) {
+            grow();
+        }
+        genomes[size] = genome;
+        calories[size] = totalCalories;
+        carbs[size] = totalCarbs;
+        protein[size] = totalProtein;
+        fat[size] = totalFat;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Genome genome(int index) {
+        return genomes[index];
+    }
+
+    public double score(int index) {
+        return scores[index];
+    }
+
+    public void setScore(int index, double score) {
+        scores[index] = score;
+    }
+
+    // Working state a fitness keeps next to the batch, so it lives as long as the island that owns it.
+    public <T> T scratch(Class<T> type, Supplier<T> factory) {
+        if (!type.isInstance(scratch)) {
+            scratch = factory.get();
+        }
+        return type.cast(scratch);
+    }
+
+    double[] calories() {
+        return calories;
+    }
+
+    double[] carbs() {
+        return carbs;
+    }
+
+    double[] protein() {
+        return protein;
+    }
+
+    double[] fat() {
+        return fat;
+    }
+
+    double[] scores() {
+        return scores;
+    }
+
+    private void grow() {
+        int capacity = genomes.length * 2;
+        genomes = Arrays.copyOf(genomes, capacity);
+        calories = Arrays.copyOf(calories, capacity);
+        carbs = Arrays.copyOf(carbs, capacity);
+        protein = Arrays.copyOf(protein, capacity);
+        fat = Arrays.copyOf(fat, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+    }
+}
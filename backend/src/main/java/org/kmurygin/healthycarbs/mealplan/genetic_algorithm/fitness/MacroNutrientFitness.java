@@ -1,11 +1,13 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
-import org.kmurygin.healthycarbs.mealplan.model.Recipe;
 
-public class MacroNutrientFitness implements Fitness {
+@Getter
+public class MacroNutrientFitness implements BatchFitness, MacroTargets {
 
     private final double calorieTarget;
     private final double carbsTarget;
@@ -17,6 +19,9 @@ public class MacroNutrientFitness implements Fitness {
     private final double proteinWeight;
     private final double fatWeight;
 
+    @Getter(AccessLevel.NONE)
+    private final MacroScoreKernel kernel;
+
     public MacroNutrientFitness(DietaryProfile profile, GeneticAlgorithmConfig config) {
         this.calorieTarget = profile.getCalorieTarget();
         this.carbsTarget = profile.getCarbsTarget();
@@ -27,40 +32,72 @@ public class MacroNutrientFitness implements Fitness {
         this.carbsWeight = config.getCarbsWeight();
         this.proteinWeight = config.getProteinWeight();
         this.fatWeight = config.getFatWeight();
+
+        this.kernel = config.isVectorFitness() ? MacroScoreKernels.preferred() : MacroScoreKernels.scalar();
+    }
+
+    private MacroNutrientFitness(MacroNutrientFitness source, double factor) {
+        this.calorieTarget = source.calorieTarget * factor;
+        this.carbsTarget = source.carbsTarget * factor;
+        this.proteinTarget = source.proteinTarget * factor;
+        this.fatTarget = source.fatTarget * factor;
+
+        this.calorieWeight = source.calorieWeight;
+        this.carbsWeight = source.carbsWeight;
+        this.proteinWeight = source.proteinWeight;
+        this.fatWeight = source.fatWeight;
+
+        this.kernel = source.kernel;
+    }
+
+    // Same weights with every target multiplied, e.g. a day's targets scaled to a weekly budget.
+    public MacroNutrientFitness scaled(double factor) {
+        return new MacroNutrientFitness(this, factor);
     }
 
     @Override
     public double evaluate(final Genome plan) {
-        double totalCalories = 0.0;
-        double totalCarbs = 0.0;
-        double totalProtein = 0.0;
-        double totalFat = 0.0;
-
-        for (Recipe recipe : plan.getGenes()) {
-            if (recipe == null) continue;
-
-            totalCalories += recipe.getCalories();
-            totalCarbs += recipe.getCarbs();
-            totalProtein += recipe.getProtein();
-            totalFat += recipe.getFat();
-        }
+        double fitness = evaluate(
+                plan.getTotalCalories(), plan.getTotalCarbs(), plan.getTotalProtein(), plan.getTotalFat());
+        plan.setFitness(fitness);
+        return fitness;
+    }
 
-        plan.setTotalCalories(totalCalories);
-        plan.setTotalCarbs(totalCarbs);
-        plan.setTotalProtein(totalProtein);
-        plan.setTotalFat(totalFat);
+    @Override
+    public void evaluate(MacroBatch batch) {
+        kernel.score(batch, this);
+    }
 
+    public double evaluate(double totalCalories, double totalCarbs, double totalProtein, double totalFat) {
         if (totalCalories == 0) return 0.0;
 
-        double fitness = (
-                calorieWeight * score(totalCalories, calorieTarget) +
-                        carbsWeight * score(totalCarbs, carbsTarget) +
-                        proteinWeight * score(totalProtein, proteinTarget) +
-                        fatWeight * score(totalFat, fatTarget)
-        );
+        return calorieWeight * score(totalCalories, calorieTarget) +
+                carbsWeight * score(totalCarbs, carbsTarget) +
+                proteinWeight * score(totalProtein, proteinTarget) +
+                fatWeight * score(totalFat, fatTarget);
+    }
 
-        plan.setFitness(fitness);
-        return fitness;
+    // Each term only depends on its own macro total and peaks at the target, so the best
+    // score over a range of totals is reached at the target or at the nearest range end.
+    public double upperBound(
+            double minCalories, double maxCalories,
+            double minCarbs, double maxCarbs,
+            double minProtein, double maxProtein,
+            double minFat, double maxFat) {
+        return calorieWeight * scoreUpperBound(minCalories, maxCalories, calorieTarget) +
+                carbsWeight * scoreUpperBound(minCarbs, maxCarbs, carbsTarget) +
+                proteinWeight * scoreUpperBound(minProtein, maxProtein, proteinTarget) +
+                fatWeight * scoreUpperBound(minFat, maxFat, fatTarget);
+    }
+
+    private double scoreUpperBound(double min, double max, double target) {
+        if (target < min) {
+            return score(min, target);
+        }
+        if (target > max) {
+            return score(max, target);
+        }
+        return 1.0;
     }
 
     private double score(double actual, double target) {
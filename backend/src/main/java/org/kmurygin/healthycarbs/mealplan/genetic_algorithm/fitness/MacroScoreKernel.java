@@ -0,0 +1,10 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+// Writes the MacroNutrientFitness score of every batch entry into the batch's score array.
+interface MacroScoreKernel {
+    void score(MacroBatch batch, MacroNutrientFitness fitness);
+
+    default int lanes() {
+        return 1;
+    }
+}
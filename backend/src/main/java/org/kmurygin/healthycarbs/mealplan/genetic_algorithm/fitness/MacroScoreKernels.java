@@ -0,0 +1,52 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+import lombok.extern.slf4j.Slf4j;
+
+// The Vector API is still an incubator module, so the vector kernel is only used when the JVM was
+// started with --add-modules jdk.incubator.vector and offers more than one double lane. It lives in
+// src/main/java-vector and is looked up by name, keeping the rest of the build off the incubator module.
+@Slf4j
+final class MacroScoreKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = MacroScoreKernels.class.getPackageName() + ".VectorMacroScoreKernel";
+
+    private MacroScoreKernels() {
+    }
+
+    static MacroScoreKernel scalar() {
+        return ScalarMacroScoreKernel.INSTANCE;
+    }
+
+    static MacroScoreKernel preferred() {
+        return Preferred.KERNEL;
+    }
+
+    static boolean vectorSupported() {
+        return preferred() != scalar();
+    }
+
+    private static MacroScoreKernel detect() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            log.info("Macro fitness uses the scalar kernel ({} not available)", VECTOR_MODULE);
+            return scalar();
+        }
+        try {
+            MacroScoreKernel kernel = (MacroScoreKernel) Class.forName(VECTOR_KERNEL)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            int lanes = kernel.lanes();
+            if (lanes > 1) {
+                log.info("Macro fitness uses the vector kernel with {} double lanes", lanes);
+                return kernel;
+            }
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Vector fitness kernel unavailable, falling back to scalar: {}", e.toString());
+        }
+        return scalar();
+    }
+
+    private static final class Preferred {
+        private static final MacroScoreKernel KERNEL = detect();
+    }
+}
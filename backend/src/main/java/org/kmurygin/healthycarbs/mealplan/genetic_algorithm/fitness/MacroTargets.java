@@ -0,0 +1,12 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+// Macro totals a genome is steered towards; lets guided operators work for day and week genomes alike.
+public interface MacroTargets {
+    double getCalorieTarget();
+
+    double getCarbsTarget();
+
+    double getProteinTarget();
+
+    double getFatTarget();
+}
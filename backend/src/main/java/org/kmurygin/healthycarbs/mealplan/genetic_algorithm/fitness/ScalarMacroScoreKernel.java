@@ -0,0 +1,21 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+final class ScalarMacroScoreKernel implements MacroScoreKernel {
+
+    static final ScalarMacroScoreKernel INSTANCE = new ScalarMacroScoreKernel();
+
+    private ScalarMacroScoreKernel() {
+    }
+
+    @Override
+    public void score(MacroBatch batch, MacroNutrientFitness fitness) {
+        double[] calories = batch.calories();
+        double[] carbs = batch.carbs();
+        double[] protein = batch.protein();
+        double[] fat = batch.fat();
+        double[] scores = batch.scores();
+        for (int i = 0; i < batch.size(); i++) {
+            scores[i] = fitness.evaluate(calories[i], carbs[i], protein[i], fat[i]);
+        }
+    }
+}
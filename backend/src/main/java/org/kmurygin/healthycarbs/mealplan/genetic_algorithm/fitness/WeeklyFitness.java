@@ -0,0 +1,106 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+import lombok.Getter;
+import org.kmurygin.healthycarbs.mealplan.config.WeekPlanProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+
+// Scores a week genome (days laid out back to back). Weekly totals are scored against the day targets
+// times the number of days, so one day can compensate for another; per-day adherence keeps individual
+// days sensible, and each recipe occurrence beyond the allowed count costs a multiplicative penalty.
+public class WeeklyFitness implements Fitness, MacroTargets {
+
+    @Getter
+    private final MacroNutrientFitness daily;
+    @Getter
+    private final MacroNutrientFitness weekly;
+    @Getter
+    private final int days;
+    @Getter
+    private final int slotsPerDay;
+    private final double weeklyBudgetWeight;
+    private final int maxRecipeOccurrences;
+    private final double varietyPenalty;
+
+    public WeeklyFitness(MacroNutrientFitness daily, int days, int slotsPerDay, WeekPlanProperties properties) {
+        this.daily = daily;
+        this.weekly = daily.scaled(days);
+        this.days = days;
+        this.slotsPerDay = slotsPerDay;
+        this.weeklyBudgetWeight = Math.clamp(properties.getWeeklyBudgetWeight(), 0.0, 1.0);
+        this.maxRecipeOccurrences = Math.max(1, properties.getMaxRecipeOccurrences());
+        this.varietyPenalty = Math.max(0.0, properties.getVarietyPenalty());
+    }
+
+    @Override
+    public double evaluate(Genome plan) {
+        double weeklyScore = weekly.evaluate(
+                plan.getTotalCalories(), plan.getTotalCarbs(), plan.getTotalProtein(), plan.getTotalFat());
+        double fitness = combine(weeklyScore, averageDailyScore(plan), plan.getGenes());
+        plan.setFitness(fitness);
+        return fitness;
+    }
+
+    // Blends the weekly budget score with the average day score, then applies the variety penalty.
+    public double combine(double weeklyScore, double averageDailyScore, int[] genes) {
+        double score = weeklyBudgetWeight * weeklyScore + (1.0 - weeklyBudgetWeight) * averageDailyScore;
+        return score * Math.max(0.0, 1.0 - varietyPenalty * excessOccurrences(genes));
+    }
+
+    public int excessOccurrences(int[] genes) {
+        int excess = 0;
+        // A recipe only ever fills one meal type, so repeats can only sit in the same slot of another day.
+        for (int i = slotsPerDay; i < genes.length; i++) {
+            int seen = 0;
+            for (int j = i % slotsPerDay; j < i; j += slotsPerDay) {
+                if (genes[j] == genes[i]) {
+                    seen++;
+                }
+            }
+            if (seen >= maxRecipeOccurrences) {
+                excess++;
+            }
+        }
+        return excess;
+    }
+
+    private double averageDailyScore(Genome plan) {
+        RecipeMacroTable table = plan.getMacroTable();
+        int[] genes = plan.getGenes();
+        double sum = 0.0;
+        for (int day = 0; day < days; day++) {
+            double calories = 0.0;
+            double carbs = 0.0;
+            double protein = 0.0;
+            double fat = 0.0;
+            for (int slot = day * slotsPerDay; slot < (day + 1) * slotsPerDay; slot++) {
+                calories += table.calories(genes[slot]);
+                carbs += table.carbs(genes[slot]);
+                protein += table.protein(genes[slot]);
+                fat += table.fat(genes[slot]);
+            }
+            sum += daily.evaluate(calories, carbs, protein, fat);
+        }
+        return sum / days;
+    }
+
+    @Override
+    public double getCalorieTarget() {
+        return weekly.getCalorieTarget();
+    }
+
+    @Override
+    public double getCarbsTarget() {
+        return weekly.getCarbsTarget();
+    }
+
+    @Override
+    public double getProteinTarget() {
+        return weekly.getProteinTarget();
+    }
+
+    @Override
+    public double getFatTarget() {
+        return weekly.getFatTarget();
+    }
+}
@@ -0,0 +1,49 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation;
+
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroTargets;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+@Component
+@ConditionalOnProperty(prefix = "genetic-algorithm", name = "mutation", havingValue = "guided", matchIfMissing = true)
+@RequiredArgsConstructor
+public class GuidedRecipeMutate implements Mutate {
+
+    private final GeneticAlgorithmConfig config;
+
+    @Override
+    public void mutate(
+            Genome plan, DayCandidates candidates, Fitness fitness, double mutationRate, RandomGenerator random) {
+        MacroTargets targets = fitness instanceof MacroTargets macro ? macro : null;
+        RecipeMacroTable table = candidates.getMacroTable();
+        int[] genes = plan.getGenes();
+
+        for (int slot = 0; slot < genes.length; slot++) {
+            if (random.nextDouble() >= mutationRate) {
+                continue;
+            }
+            if (targets == null || random.nextDouble() >= config.getGuidedMutationProbability()) {
+                plan.setGene(slot, candidates.randomCandidate(slot, random));
+                continue;
+            }
+
+            // Residual target: what this slot would have to contribute for the plan to hit the targets.
+            int current = genes[slot];
+            int nearest = candidates.nearestCandidate(slot,
+                    targets.getCalorieTarget() - plan.getTotalCalories() + table.calories(current),
+                    targets.getCarbsTarget() - plan.getTotalCarbs() + table.carbs(current),
+                    targets.getProteinTarget() - plan.getTotalProtein() + table.protein(current),
+                    targets.getFatTarget() - plan.getTotalFat() + table.fat(current),
+                    current);
+            plan.setGene(slot, nearest >= 0 ? nearest : candidates.randomCandidate(slot, random));
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation;
 
-import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+
+import java.util.random.RandomGenerator;
 
 public interface Mutate {
-    void mutate(Genome plan, DietType dietType);
+    void mutate(Genome plan, DayCandidates candidates, Fitness fitness, double mutationRate, RandomGenerator random);
 }
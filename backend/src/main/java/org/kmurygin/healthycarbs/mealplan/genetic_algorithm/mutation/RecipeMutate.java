@@ -1,31 +1,24 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation;
 
-import lombok.RequiredArgsConstructor;
-import org.kmurygin.healthycarbs.mealplan.DietType;
-import org.kmurygin.healthycarbs.mealplan.MealType;
-import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
-import org.kmurygin.healthycarbs.mealplan.service.RecipeService;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Component
-@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "genetic-algorithm", name = "mutation", havingValue = "random")
 public class RecipeMutate implements Mutate {
 
-    private final GeneticAlgorithmConfig config;
-    private final RecipeService recipeService;
-
-
     @Override
-    public void mutate(Genome plan, DietType dietType) {
-        if (plan.getGenes().isEmpty()) return;
-
-        for (int i = 0; i < plan.getGenes().size(); i++) {
-            if (ThreadLocalRandom.current().nextDouble() < config.getMutationRate()) {
-                MealType mealType = plan.getGenes().get(i).getMealType();
-                plan.getGenes().set(i, recipeService.findRandomForMealPlan(mealType, dietType));
+    public void mutate(
+            Genome plan, DayCandidates candidates, Fitness fitness, double mutationRate, RandomGenerator random) {
+        int[] genes = plan.getGenes();
+        for (int i = 0; i < genes.length; i++) {
+            if (random.nextDouble() < mutationRate) {
+                plan.setGene(i, candidates.randomCandidate(i, random));
             }
         }
     }
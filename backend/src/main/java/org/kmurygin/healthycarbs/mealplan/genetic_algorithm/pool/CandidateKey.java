@@ -0,0 +1,11 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import org.kmurygin.healthycarbs.mealplan.MealType;
+
+// The compatible DietType set is fully determined by the requested compatibility level
+// (see DietTypeUtil), so the level identifies the set.
+public record CandidateKey(
+        MealType mealType,
+        int compatibilityLevel
+) {
+}
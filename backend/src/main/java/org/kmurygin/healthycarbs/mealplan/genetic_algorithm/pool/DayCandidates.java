@@ -0,0 +1,119 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import lombok.Getter;
+import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public final class DayCandidates {
+
+    private static final MealType[] SLOTS = MealType.values();
+
+    @Getter
+    private final RecipeMacroTable macroTable;
+    @Getter
+    private final DietType dietType;
+    private final int[][] candidatesBySlot;
+    private final int[][] calorieOrderBySlot;
+    private final MacroKdTree[] indexesBySlot;
+
+    DayCandidates(
+            RecipeMacroTable macroTable, DietType dietType, int[][] candidatesBySlot, int[][] calorieOrderBySlot,
+            MacroKdTree[] indexesBySlot) {
+        this.macroTable = macroTable;
+        this.dietType = dietType;
+        this.candidatesBySlot = candidatesBySlot;
+        this.calorieOrderBySlot = calorieOrderBySlot;
+        this.indexesBySlot = indexesBySlot;
+    }
+
+    public int slotCount() {
+        return candidatesBySlot.length;
+    }
+
+    public MealType mealType(int slot) {
+        return SLOTS[slot % SLOTS.length];
+    }
+
+    public int candidateCount(int slot) {
+        return candidatesBySlot[slot].length;
+    }
+
+    public int candidate(int slot, int position) {
+        return candidatesBySlot[slot][position];
+    }
+
+    // Candidate arrays are collected in ascending index order.
+    public boolean contains(int slot, int recipeIndex) {
+        return Arrays.binarySearch(candidatesBySlot[slot], recipeIndex) >= 0;
+    }
+
+    public boolean containsAll(int[] genes) {
+        for (int slot = 0; slot < genes.length; slot++) {
+            if (!contains(slot % candidatesBySlot.length, genes[slot])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Random candidate from the band-th of `bands` equally sized calorie quantiles of the slot.
+    public int calorieBandCandidate(int slot, int band, int bands, RandomGenerator random) {
+        requireCandidates(slot);
+        int[] ordered = calorieOrderBySlot[slot];
+        int from = (int) ((long) band * ordered.length / bands);
+        int to = Math.max(from + 1, (int) ((long) (band + 1) * ordered.length / bands));
+        return ordered[from + random.nextInt(to - from)];
+    }
+
+    public int randomCandidate(int slot, RandomGenerator random) {
+        int[] candidates = requireCandidates(slot);
+        return candidates[random.nextInt(candidates.length)];
+    }
+
+    public int[] requireCandidates(int slot) {
+        int[] candidates = candidatesBySlot[slot];
+        if (candidates.length == 0) {
+            throw new ResourceNotFoundException(
+                    "Recipe not found for mealType: " + mealType(slot) + " and dietType: " + dietType
+            );
+        }
+        return candidates;
+    }
+
+    public int nearestCandidate(int slot, double calories, double carbs, double protein, double fat, int excludedRecipe) {
+        return indexesBySlot[slot].nearest(calories, carbs, protein, fat, excludedRecipe);
+    }
+
+    public void randomize(Genome genome, RandomGenerator random) {
+        int[] genes = genome.getGenes();
+        for (int slot = 0; slot < genes.length; slot++) {
+            genes[slot] = randomCandidate(slot, random);
+        }
+        genome.recomputeTotals();
+    }
+
+    // Candidates for consecutive days laid out back to back (day d owns slots [d * slotCount, (d + 1) * slotCount)).
+    // Slot arrays and k-d trees are shared with this instance, so a week view costs no extra index building.
+    public DayCandidates spanning(int days) {
+        int daySlots = candidatesBySlot.length;
+        int[][] slots = new int[daySlots * days][];
+        int[][] calorieOrders = new int[daySlots * days][];
+        MacroKdTree[] indexes = new MacroKdTree[daySlots * days];
+        for (int slot = 0; slot < slots.length; slot++) {
+            slots[slot] = candidatesBySlot[slot % daySlots];
+            calorieOrders[slot] = calorieOrderBySlot[slot % daySlots];
+            indexes[slot] = indexesBySlot[slot % daySlots];
+        }
+        return new DayCandidates(macroTable, dietType, slots, calorieOrders, indexes);
+    }
+
+    public Recipe recipe(int index) {
+        return macroTable.recipe(index);
+    }
+}
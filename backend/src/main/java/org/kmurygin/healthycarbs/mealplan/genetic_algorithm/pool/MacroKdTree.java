@@ -0,0 +1,142 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+public final class MacroKdTree {
+
+    private static final int DIMENSIONS = 4;
+
+    private final int[] recipes;
+    private final double[] points;
+    private final double[] scales;
+
+    public MacroKdTree(RecipeMacroTable table, int[] candidates, double[] scales) {
+        this.recipes = candidates.clone();
+        this.points = new double[recipes.length * DIMENSIONS];
+        this.scales = scales;
+
+        for (int i = 0; i < recipes.length; i++) {
+            int recipe = recipes[i];
+            points[i * DIMENSIONS] = table.calories(recipe) / scales[0];
+            points[i * DIMENSIONS + 1] = table.carbs(recipe) / scales[1];
+            points[i * DIMENSIONS + 2] = table.protein(recipe) / scales[2];
+            points[i * DIMENSIONS + 3] = table.fat(recipe) / scales[3];
+        }
+        build(0, recipes.length, 0);
+    }
+
+    public int size() {
+        return recipes.length;
+    }
+
+    public int nearest(double calories, double carbs, double protein, double fat, int excludedRecipe) {
+        Query query = new Query(
+                calories / scales[0], carbs / scales[1], protein / scales[2], fat / scales[3], excludedRecipe);
+        search(0, recipes.length, 0, query);
+        return query.bestRecipe;
+    }
+
+    private void build(int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        int axis = depth % DIMENSIONS;
+        int median = (from + to) >>> 1;
+        select(from, to - 1, median, axis);
+        build(from, median, depth + 1);
+        build(median + 1, to, depth + 1);
+    }
+
+    private void select(int low, int high, int k, int axis) {
+        while (low < high) {
+            double pivot = coordinate(k, axis);
+            int i = low;
+            int j = high;
+            do {
+                while (coordinate(i, axis) < pivot) {
+                    i++;
+                }
+                while (pivot < coordinate(j, axis)) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            } while (i <= j);
+            if (j < k) {
+                low = i;
+            }
+            if (k < i) {
+                high = j;
+            }
+        }
+    }
+
+    private void search(int from, int to, int depth, Query query) {
+        if (from >= to) {
+            return;
+        }
+        int axis = depth % DIMENSIONS;
+        int median = (from + to) >>> 1;
+
+        if (recipes[median] != query.excludedRecipe) {
+            double distance = distance(median, query.point);
+            if (distance < query.bestDistance) {
+                query.bestDistance = distance;
+                query.bestRecipe = recipes[median];
+            }
+        }
+
+        double diff = query.point[axis] - coordinate(median, axis);
+        if (diff < 0) {
+            search(from, median, depth + 1, query);
+            if (diff * diff < query.bestDistance) {
+                search(median + 1, to, depth + 1, query);
+            }
+        } else {
+            search(median + 1, to, depth + 1, query);
+            if (diff * diff < query.bestDistance) {
+                search(from, median, depth + 1, query);
+            }
+        }
+    }
+
+    private double coordinate(int position, int axis) {
+        return points[position * DIMENSIONS + axis];
+    }
+
+    private double distance(int position, double[] point) {
+        double sum = 0.0;
+        int offset = position * DIMENSIONS;
+        for (int axis = 0; axis < DIMENSIONS; axis++) {
+            double diff = points[offset + axis] - point[axis];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private void swap(int a, int b) {
+        int recipe = recipes[a];
+        recipes[a] = recipes[b];
+        recipes[b] = recipe;
+        int offsetA = a * DIMENSIONS;
+        int offsetB = b * DIMENSIONS;
+        for (int axis = 0; axis < DIMENSIONS; axis++) {
+            double value = points[offsetA + axis];
+            points[offsetA + axis] = points[offsetB + axis];
+            points[offsetB + axis] = value;
+        }
+    }
+
+    private static final class Query {
+        private final double[] point;
+        private final int excludedRecipe;
+        private double bestDistance = Double.POSITIVE_INFINITY;
+        private int bestRecipe = -1;
+
+        private Query(double calories, double carbs, double protein, double fat, int excludedRecipe) {
+            this.point = new double[]{calories, carbs, protein, fat};
+            this.excludedRecipe = excludedRecipe;
+        }
+    }
+}
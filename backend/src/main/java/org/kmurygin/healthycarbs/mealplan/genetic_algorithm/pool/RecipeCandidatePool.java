@@ -0,0 +1,124 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.IngredientCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.repository.RecipeRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeCandidatePool {
+
+    private final RecipeRepository recipeRepository;
+    private final AtomicReference<RecipeCandidateSnapshot> snapshot = new AtomicReference<>();
+    private volatile CatalogFingerprint loadedFingerprint;
+
+    // Loads, reloads and patches all run under the pool's lock, so a commit landing during a load is
+    // applied on top of it instead of being dropped or overwritten. Readers only touch the reference.
+    public RecipeCandidateSnapshot current() {
+        RecipeCandidateSnapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            if (current == null) {
+                current = load(1L);
+                snapshot.set(current);
+            }
+            return current;
+        }
+    }
+
+    public synchronized RecipeCandidateSnapshot reload() {
+        RecipeCandidateSnapshot previous = snapshot.get();
+        RecipeCandidateSnapshot reloaded = load(previous == null ? 1L : previous.getVersion() + 1);
+        snapshot.set(reloaded);
+        return reloaded;
+    }
+
+    // Change events only reach the instance that made the change, so edits made through another
+    // instance are picked up by comparing the catalog's row count and latest update times.
+    @Scheduled(
+            initialDelayString = "${meal-plan.candidate-pool.refresh-interval:PT5M}",
+            fixedDelayString = "${meal-plan.candidate-pool.refresh-interval:PT5M}"
+    )
+    public void refresh() {
+        if (snapshot.get() == null) {
+            return;
+        }
+        if (!fingerprint().equals(loadedFingerprint)) {
+            reload();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onRecipeCatalogChanged(RecipeCatalogChangedEvent event) {
+        RecipeCandidateSnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        RecipeCandidateSnapshot patched;
+        if (event.deleted()) {
+            patched = current.withoutRecipe(event.recipeId());
+        } else {
+            patched = recipeRepository.findWithDetailsById(event.recipeId())
+                    .map(current::withRecipe)
+                    .orElseGet(() -> current.withoutRecipe(event.recipeId()));
+        }
+        snapshot.set(patched);
+        log.debug("Recipe candidate pool patched for recipe {}, version {}",
+                event.recipeId(), patched.getVersion());
+    }
+
+    // An ingredient edit can change the macros and allergens of every recipe using it; the snapshot
+    // already knows which ones, so only those are re-read and patched in one step.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onIngredientCatalogChanged(IngredientCatalogChangedEvent event) {
+        RecipeCandidateSnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        List<Long> recipeIds = current.getExclusionIndex().recipeIdsUsingIngredient(event.ingredientId());
+        if (recipeIds.isEmpty()) {
+            return;
+        }
+        List<Recipe> recipes = recipeRepository.findAllWithDetailsByIdIn(recipeIds);
+        RecipeCandidateSnapshot patched = current.withRecipes(recipes);
+        snapshot.set(patched);
+        log.debug("Recipe candidate pool patched {} recipes for ingredient {}, version {}",
+                recipes.size(), event.ingredientId(), patched.getVersion());
+    }
+
+    // Taken before the read, so a change committed while loading still shows up on the next refresh.
+    private RecipeCandidateSnapshot load(long version) {
+        long start = System.nanoTime();
+        loadedFingerprint = fingerprint();
+        List<Recipe> recipes = recipeRepository.findAllWithDetails();
+        RecipeCandidateSnapshot loaded = RecipeCandidateSnapshot.of(version, recipes);
+        log.info("Recipe candidate pool loaded: recipes={}, version={}, took={}ms",
+                loaded.size(), version, (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private CatalogFingerprint fingerprint() {
+        return new CatalogFingerprint(
+                recipeRepository.count(),
+                recipeRepository.findLatestRecipeUpdate(),
+                recipeRepository.findLatestIngredientUpdate());
+    }
+
+    private record CatalogFingerprint(long recipes, Instant recipesUpdatedAt, Instant ingredientsUpdatedAt) {
+    }
+}
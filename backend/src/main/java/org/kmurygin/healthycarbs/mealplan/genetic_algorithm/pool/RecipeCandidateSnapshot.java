@@ -0,0 +1,164 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import lombok.Getter;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class RecipeCandidateSnapshot {
+
+    @Getter
+    private final long version;
+    @Getter
+    private final RecipeMacroTable macroTable;
+    @Getter
+    private final RecipeExclusionIndex exclusionIndex;
+    private final Map<Long, Recipe> recipesById;
+    private final Map<Long, Integer> indexById;
+    private final Map<CandidateKey, int[]> candidatesByKey = new ConcurrentHashMap<>();
+    private final Map<CandidateKey, MacroKdTree> indexesByKey = new ConcurrentHashMap<>();
+    private final Map<CandidateKey, int[]> calorieOrderByKey = new ConcurrentHashMap<>();
+    private final double[] macroScales;
+
+    private RecipeCandidateSnapshot(long version, Map<Long, Recipe> recipesById) {
+        this.version = version;
+        this.recipesById = recipesById;
+        this.macroTable = new RecipeMacroTable(new ArrayList<>(recipesById.values()));
+        this.macroScales = macroTable.meanMacros();
+        this.exclusionIndex = new RecipeExclusionIndex(macroTable);
+        this.indexById = new HashMap<>(recipesById.size() * 2);
+        for (int i = 0; i < macroTable.size(); i++) {
+            indexById.put(macroTable.recipe(i).getId(), i);
+        }
+    }
+
+    public static RecipeCandidateSnapshot of(long version, Collection<Recipe> recipes) {
+        Map<Long, Recipe> recipesById = new LinkedHashMap<>();
+        recipes.forEach(recipe -> recipesById.put(recipe.getId(), recipe));
+        return new RecipeCandidateSnapshot(version, recipesById);
+    }
+
+    public RecipeCandidateSnapshot withRecipe(Recipe recipe) {
+        Map<Long, Recipe> patched = new LinkedHashMap<>(recipesById);
+        patched.put(recipe.getId(), recipe);
+        return new RecipeCandidateSnapshot(version + 1, patched);
+    }
+
+    public RecipeCandidateSnapshot withRecipes(Collection<Recipe> recipes) {
+        if (recipes.isEmpty()) {
+            return this;
+        }
+        Map<Long, Recipe> patched = new LinkedHashMap<>(recipesById);
+        recipes.forEach(recipe -> patched.put(recipe.getId(), recipe));
+        return new RecipeCandidateSnapshot(version + 1, patched);
+    }
+
+    public RecipeCandidateSnapshot withoutRecipe(Long recipeId) {
+        if (!recipesById.containsKey(recipeId)) {
+            return this;
+        }
+        Map<Long, Recipe> patched = new LinkedHashMap<>(recipesById);
+        patched.remove(recipeId);
+        return new RecipeCandidateSnapshot(version + 1, patched);
+    }
+
+    public int size() {
+        return macroTable.size();
+    }
+
+    public int indexOf(Long recipeId) {
+        Integer index = indexById.get(recipeId);
+        return index == null ? -1 : index;
+    }
+
+    public List<Recipe> getCandidates(MealType mealType, DietType dietType) {
+        int[] indices = getCandidateIndices(mealType, dietType);
+        List<Recipe> candidates = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            candidates.add(macroTable.recipe(index));
+        }
+        return candidates;
+    }
+
+    public int[] getCandidateIndices(MealType mealType, DietType dietType) {
+        Objects.requireNonNull(dietType, "DietType cannot be null");
+        CandidateKey key = new CandidateKey(mealType, dietType.getCompatibilityLevel());
+        return candidatesByKey.computeIfAbsent(key, this::collectCandidates);
+    }
+
+    public MacroKdTree getMacroIndex(MealType mealType, DietType dietType) {
+        Objects.requireNonNull(dietType, "DietType cannot be null");
+        CandidateKey key = new CandidateKey(mealType, dietType.getCompatibilityLevel());
+        return indexesByKey.computeIfAbsent(key,
+                k -> new MacroKdTree(macroTable, getCandidateIndices(mealType, dietType), macroScales));
+    }
+
+    // Candidate indices ordered by calories, so stratified sampling can draw from calorie bands.
+    public int[] getCalorieOrder(MealType mealType, DietType dietType) {
+        Objects.requireNonNull(dietType, "DietType cannot be null");
+        CandidateKey key = new CandidateKey(mealType, dietType.getCompatibilityLevel());
+        return calorieOrderByKey.computeIfAbsent(key, k -> Arrays.stream(getCandidateIndices(mealType, dietType))
+                .boxed()
+                .sorted(Comparator.comparingDouble(macroTable::calories))
+                .mapToInt(Integer::intValue)
+                .toArray());
+    }
+
+    public DayCandidates candidatesFor(DietType dietType) {
+        MealType[] mealTypes = MealType.values();
+        int[][] candidatesBySlot = new int[mealTypes.length][];
+        int[][] calorieOrderBySlot = new int[mealTypes.length][];
+        MacroKdTree[] indexesBySlot = new MacroKdTree[mealTypes.length];
+        for (MealType mealType : mealTypes) {
+            candidatesBySlot[mealType.ordinal()] = getCandidateIndices(mealType, dietType);
+            calorieOrderBySlot[mealType.ordinal()] = getCalorieOrder(mealType, dietType);
+            indexesBySlot[mealType.ordinal()] = getMacroIndex(mealType, dietType);
+        }
+        return new DayCandidates(macroTable, dietType, candidatesBySlot, calorieOrderBySlot, indexesBySlot);
+    }
+
+    // Candidates without the excluded allergens and ingredients. Filtering reuses the cached per-diet
+    // arrays; only the nearest-macro indexes are rebuilt over what is left.
+    public DayCandidates candidatesFor(DietType dietType, RecipeExclusion exclusion) {
+        RecipeExclusionIndex.Mask mask = exclusionIndex.compile(exclusion);
+        if (mask.isEmpty()) {
+            return candidatesFor(dietType);
+        }
+        MealType[] mealTypes = MealType.values();
+        int[][] candidatesBySlot = new int[mealTypes.length][];
+        int[][] calorieOrderBySlot = new int[mealTypes.length][];
+        MacroKdTree[] indexesBySlot = new MacroKdTree[mealTypes.length];
+        for (MealType mealType : mealTypes) {
+            int slot = mealType.ordinal();
+            candidatesBySlot[slot] = exclusionIndex.filter(getCandidateIndices(mealType, dietType), mask);
+            calorieOrderBySlot[slot] = exclusionIndex.filter(getCalorieOrder(mealType, dietType), mask);
+            indexesBySlot[slot] = new MacroKdTree(macroTable, candidatesBySlot[slot], macroScales);
+        }
+        return new DayCandidates(macroTable, dietType, candidatesBySlot, calorieOrderBySlot, indexesBySlot);
+    }
+
+    private int[] collectCandidates(CandidateKey key) {
+        int[] buffer = new int[macroTable.size()];
+        int count = 0;
+        for (int i = 0; i < macroTable.size(); i++) {
+            Recipe recipe = macroTable.recipe(i);
+            if (recipe.getMealType() == key.mealType()
+                    && recipe.getDietType() != null
+                    && recipe.getDietType().getCompatibilityLevel() <= key.compatibilityLevel()) {
+                buffer[count++] = i;
+            }
+        }
+        return Arrays.copyOf(buffer, count);
+    }
+}
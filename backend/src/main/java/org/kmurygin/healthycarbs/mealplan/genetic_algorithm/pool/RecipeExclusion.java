@@ -0,0 +1,39 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import org.kmurygin.healthycarbs.mealplan.model.Allergen;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Allergens and ingredients a caller wants kept out of candidate pools and recipe search results.
+public record RecipeExclusion(Set<Long> allergenIds, Set<Long> ingredientIds) {
+
+    private static final RecipeExclusion NONE = new RecipeExclusion(Set.of(), Set.of());
+
+    public RecipeExclusion {
+        allergenIds = allergenIds == null ? Set.of() : Set.copyOf(allergenIds);
+        ingredientIds = ingredientIds == null ? Set.of() : Set.copyOf(ingredientIds);
+    }
+
+    public static RecipeExclusion none() {
+        return NONE;
+    }
+
+    // Reads the profile's lazy exclusion sets, so it has to run inside the transaction that loaded it.
+    public static RecipeExclusion of(DietaryProfile profile) {
+        if (profile == null) {
+            return NONE;
+        }
+        Set<Long> allergenIds = profile.getExcludedAllergens() == null ? Set.of() : profile.getExcludedAllergens()
+                .stream().map(Allergen::getId).collect(Collectors.toSet());
+        Set<Long> ingredientIds = profile.getExcludedIngredients() == null ? Set.of() : profile.getExcludedIngredients()
+                .stream().map(Ingredient::getId).collect(Collectors.toSet());
+        return allergenIds.isEmpty() && ingredientIds.isEmpty() ? NONE : new RecipeExclusion(allergenIds, ingredientIds);
+    }
+
+    public boolean isEmpty() {
+        return allergenIds.isEmpty() && ingredientIds.isEmpty();
+    }
+}
@@ -0,0 +1,192 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import org.kmurygin.healthycarbs.mealplan.model.Allergen;
+import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.model.RecipeIngredient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Per-recipe allergen and ingredient bitmaps, row-aligned with the macro table and built in memory
+// with the snapshot. An exclusion compiles once into the words it touches, so filtering a recipe is
+// a bitwise AND per touched word (a single one for up to 64 allergens) instead of a join per request.
+public final class RecipeExclusionIndex {
+
+    private final RecipeMacroTable table;
+    private final BitRows allergens;
+    private final BitRows ingredients;
+
+    RecipeExclusionIndex(RecipeMacroTable table) {
+        this.table = table;
+        Map<Long, Integer> allergenBits = new HashMap<>();
+        Map<Long, Integer> ingredientBits = new HashMap<>();
+        for (int i = 0; i < table.size(); i++) {
+            for (Ingredient ingredient : ingredientsOf(table.recipe(i))) {
+                ingredientBits.putIfAbsent(ingredient.getId(), ingredientBits.size());
+                if (ingredient.getAllergens() != null) {
+                    for (Allergen allergen : ingredient.getAllergens()) {
+                        allergenBits.putIfAbsent(allergen.getId(), allergenBits.size());
+                    }
+                }
+            }
+        }
+
+        this.allergens = new BitRows(allergenBits, table.size());
+        this.ingredients = new BitRows(ingredientBits, table.size());
+        for (int i = 0; i < table.size(); i++) {
+            for (Ingredient ingredient : ingredientsOf(table.recipe(i))) {
+                ingredients.set(i, ingredient.getId());
+                if (ingredient.getAllergens() != null) {
+                    for (Allergen allergen : ingredient.getAllergens()) {
+                        allergens.set(i, allergen.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    public Mask compile(RecipeExclusion exclusion) {
+        if (exclusion == null || exclusion.isEmpty()) {
+            return Mask.NONE;
+        }
+        return new Mask(allergens.mask(exclusion.allergenIds()), ingredients.mask(exclusion.ingredientIds()));
+    }
+
+    public boolean excludes(int recipe, Mask mask) {
+        return allergens.intersects(recipe, mask.allergens) || ingredients.intersects(recipe, mask.ingredients);
+    }
+
+    public int[] filter(int[] recipes, Mask mask) {
+        if (mask.isEmpty()) {
+            return recipes;
+        }
+        int[] kept = new int[recipes.length];
+        int count = 0;
+        for (int recipe : recipes) {
+            if (!excludes(recipe, mask)) {
+                kept[count++] = recipe;
+            }
+        }
+        return count == recipes.length ? recipes : Arrays.copyOf(kept, count);
+    }
+
+    public List<Long> excludedRecipeIds(RecipeExclusion exclusion) {
+        Mask mask = compile(exclusion);
+        List<Long> excluded = new ArrayList<>();
+        if (mask.isEmpty()) {
+            return excluded;
+        }
+        for (int i = 0; i < table.size(); i++) {
+            if (excludes(i, mask)) {
+                excluded.add(table.recipe(i).getId());
+            }
+        }
+        return excluded;
+    }
+
+    public List<Long> recipeIdsUsingIngredient(Long ingredientId) {
+        if (ingredientId == null) {
+            return List.of();
+        }
+        return excludedRecipeIds(new RecipeExclusion(Set.of(), Set.of(ingredientId)));
+    }
+
+    private static List<Ingredient> ingredientsOf(Recipe recipe) {
+        List<RecipeIngredient> recipeIngredients = recipe.getIngredients();
+        if (recipeIngredients == null || recipeIngredients.isEmpty()) {
+            return List.of();
+        }
+        List<Ingredient> result = new ArrayList<>(recipeIngredients.size());
+        for (RecipeIngredient recipeIngredient : recipeIngredients) {
+            Ingredient ingredient = recipeIngredient.getIngredient();
+            if (ingredient != null && ingredient.getId() != null) {
+                result.add(ingredient);
+            }
+        }
+        return result;
+    }
+
+    // Words of an exclusion that have at least one bit set, with their positions in a row.
+    public static final class Mask {
+        static final Mask NONE = new Mask(SparseWords.EMPTY, SparseWords.EMPTY);
+
+        private final SparseWords allergens;
+        private final SparseWords ingredients;
+
+        private Mask(SparseWords allergens, SparseWords ingredients) {
+            this.allergens = allergens;
+            this.ingredients = ingredients;
+        }
+
+        public boolean isEmpty() {
+            return allergens.positions.length == 0 && ingredients.positions.length == 0;
+        }
+    }
+
+    private record SparseWords(int[] positions, long[] words) {
+        static final SparseWords EMPTY = new SparseWords(new int[0], new long[0]);
+    }
+
+    // One row of 64-bit words per recipe; columns are assigned to ids in first-seen order.
+    private static final class BitRows {
+        private final Map<Long, Integer> columns;
+        private final int width;
+        private final long[] bits;
+
+        private BitRows(Map<Long, Integer> columns, int rows) {
+            this.columns = columns;
+            this.width = (columns.size() + 63) >>> 6;
+            this.bits = new long[rows * width];
+        }
+
+        private void set(int row, Long id) {
+            int column = columns.get(id);
+            bits[row * width + (column >>> 6)] |= 1L << column;
+        }
+
+        private SparseWords mask(Collection<Long> ids) {
+            long[] dense = new long[width];
+            for (Long id : ids) {
+                // Ids no recipe uses cannot exclude anything.
+                Integer column = columns.get(id);
+                if (column != null) {
+                    dense[column >>> 6] |= 1L << column;
+                }
+            }
+            int nonZero = 0;
+            for (long word : dense) {
+                if (word != 0L) {
+                    nonZero++;
+                }
+            }
+            if (nonZero == 0) {
+                return SparseWords.EMPTY;
+            }
+            int[] positions = new int[nonZero];
+            long[] words = new long[nonZero];
+            for (int w = 0, k = 0; w < width; w++) {
+                if (dense[w] != 0L) {
+                    positions[k] = w;
+                    words[k++] = dense[w];
+                }
+            }
+            return new SparseWords(positions, words);
+        }
+
+        private boolean intersects(int row, SparseWords mask) {
+            int offset = row * width;
+            for (int k = 0; k < mask.positions.length; k++) {
+                if ((bits[offset + mask.positions[k]] & mask.words[k]) != 0L) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
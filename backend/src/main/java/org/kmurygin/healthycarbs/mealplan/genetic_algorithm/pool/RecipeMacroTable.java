@@ -0,0 +1,73 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+
+import java.util.List;
+
+public final class RecipeMacroTable {
+
+    private final Recipe[] recipes;
+    private final double[] calories;
+    private final double[] carbs;
+    private final double[] protein;
+    private final double[] fat;
+
+    public RecipeMacroTable(List<Recipe> recipes) {
+        int size = recipes.size();
+        this.recipes = recipes.toArray(new Recipe[0]);
+        this.calories = new double[size];
+        this.carbs = new double[size];
+        this.protein = new double[size];
+        this.fat = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            Recipe recipe = this.recipes[i];
+            calories[i] = valueOrZero(recipe.getCalories());
+            carbs[i] = valueOrZero(recipe.getCarbs());
+            protein[i] = valueOrZero(recipe.getProtein());
+            fat[i] = valueOrZero(recipe.getFat());
+        }
+    }
+
+    public int size() {
+        return recipes.length;
+    }
+
+    public Recipe recipe(int index) {
+        return recipes[index];
+    }
+
+    public double calories(int index) {
+        return calories[index];
+    }
+
+    public double carbs(int index) {
+        return carbs[index];
+    }
+
+    public double protein(int index) {
+        return protein[index];
+    }
+
+    public double fat(int index) {
+        return fat[index];
+    }
+
+    public double[] meanMacros() {
+        double[] means = new double[4];
+        for (int i = 0; i < recipes.length; i++) {
+            means[0] += calories[i];
+            means[1] += carbs[i];
+            means[2] += protein[i];
+            means[3] += fat[i];
+        }
+        for (int macro = 0; macro < means.length; macro++) {
+            means[macro] = means[macro] > 0 ? means[macro] / recipes.length : 1.0;
+        }
+        return means;
+    }
+
+    private static double valueOrZero(Double value) {
+        return value == null ? 0.0 : value;
+    }
+}
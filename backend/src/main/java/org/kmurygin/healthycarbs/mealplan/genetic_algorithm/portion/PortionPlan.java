@@ -0,0 +1,11 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion;
+
+public record PortionPlan(
+        double[] portions,
+        double totalCalories,
+        double totalCarbs,
+        double totalProtein,
+        double totalFat,
+        double fitness
+) {
+}
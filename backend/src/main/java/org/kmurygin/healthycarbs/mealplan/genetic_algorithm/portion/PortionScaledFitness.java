@@ -0,0 +1,82 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.BatchFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroBatch;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroTargets;
+
+// Scores a combination by the best fit its portions can reach, so the search only has to find a
+// combination that can be scaled onto the targets. Genome totals stay unscaled for guided mutation.
+// Single evaluations reuse one workspace, so an instance scores one genome at a time; islands go
+// through the batch path, whose workspace lives in the island's own MacroBatch.
+public class PortionScaledFitness implements BatchFitness, MacroTargets {
+
+    private final MacroNutrientFitness fitness;
+    private final PortionSolver solver;
+    private final PortionSolver.Objective objective;
+    private final PortionSolver.Workspace workspace = new PortionSolver.Workspace();
+
+    public PortionScaledFitness(MacroNutrientFitness fitness, PortionSolver solver) {
+        this.fitness = fitness;
+        this.solver = solver;
+        this.objective = PortionSolver.Objective.of(fitness);
+    }
+
+    // Any search engine should score what will actually be served, so macro fitnesses get scaled portions.
+    public static Fitness wrap(Fitness fitness, PortionSolver solver) {
+        return solver.isEnabled() && fitness instanceof MacroNutrientFitness macroFitness
+                ? new PortionScaledFitness(macroFitness, solver)
+                : fitness;
+    }
+
+    @Override
+    public double evaluate(Genome plan) {
+        double[] totals = solver.fit(plan, objective, workspace);
+        double scaled = fitness.evaluate(totals[0], totals[1], totals[2], totals[3]);
+        double baseline = fitness.evaluate(
+                plan.getTotalCalories(), plan.getTotalCarbs(), plan.getTotalProtein(), plan.getTotalFat());
+        double score = Math.max(scaled, baseline);
+        plan.setFitness(score);
+        return score;
+    }
+
+    // Unscaled and scaled totals both go through the fitness kernel; each genome keeps the better score.
+    @Override
+    public void evaluate(MacroBatch batch) {
+        fitness.evaluate(batch);
+        PortionSolver.Workspace batchWorkspace = batch.scratch(PortionSolver.Workspace.class, PortionSolver.Workspace::new);
+        MacroBatch scaled = batchWorkspace.scaledBatch(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            double[] totals = solver.fit(batch.genome(i), objective, batchWorkspace);
+            scaled.add(batch.genome(i), totals[0], totals[1], totals[2], totals[3]);
+        }
+        fitness.evaluate(scaled);
+        for (int i = 0; i < batch.size(); i++) {
+            if (scaled.score(i) > batch.score(i)) {
+                batch.setScore(i, scaled.score(i));
+            }
+        }
+    }
+
+    @Override
+    public double getCalorieTarget() {
+        return fitness.getCalorieTarget();
+    }
+
+    @Override
+    public double getCarbsTarget() {
+        return fitness.getCarbsTarget();
+    }
+
+    @Override
+    public double getProteinTarget() {
+        return fitness.getProteinTarget();
+    }
+
+    @Override
+    public double getFatTarget() {
+        return fitness.getFatTarget();
+    }
+}
@@ -0,0 +1,96 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.BatchFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroBatch;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroTargets;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.WeeklyFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+
+// Week counterpart of PortionScaledFitness: every day is scored with the portions it will be served
+// with, and the weekly budget is scored on the sum of those served days. Workspaces follow the same
+// rules, one per island through the batch path and one per instance for single evaluations.
+public class PortionScaledWeeklyFitness implements BatchFitness, MacroTargets {
+
+    private final WeeklyFitness fitness;
+    private final PortionSolver solver;
+    private final PortionSolver.Objective objective;
+    private final PortionSolver.Workspace workspace = new PortionSolver.Workspace();
+
+    public PortionScaledWeeklyFitness(WeeklyFitness fitness, PortionSolver solver) {
+        this.fitness = fitness;
+        this.solver = solver;
+        this.objective = PortionSolver.Objective.of(fitness.getDaily());
+    }
+
+    public static Fitness wrap(WeeklyFitness fitness, PortionSolver solver) {
+        return solver.isEnabled() ? new PortionScaledWeeklyFitness(fitness, solver) : fitness;
+    }
+
+    @Override
+    public double evaluate(Genome plan) {
+        double score = score(plan, workspace);
+        plan.setFitness(score);
+        return score;
+    }
+
+    @Override
+    public void evaluate(MacroBatch batch) {
+        PortionSolver.Workspace batchWorkspace = batch.scratch(PortionSolver.Workspace.class, PortionSolver.Workspace::new);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.setScore(i, score(batch.genome(i), batchWorkspace));
+        }
+    }
+
+    private double score(Genome week, PortionSolver.Workspace scratch) {
+        MacroNutrientFitness daily = fitness.getDaily();
+        RecipeMacroTable table = week.getMacroTable();
+        int[] genes = week.getGenes();
+        int slotsPerDay = fitness.getSlotsPerDay();
+        double calories = 0.0;
+        double carbs = 0.0;
+        double protein = 0.0;
+        double fat = 0.0;
+        double dailySum = 0.0;
+
+        for (int day = 0; day < fitness.getDays(); day++) {
+            int from = day * slotsPerDay;
+            double[] scaled = solver.fit(genes, from, from + slotsPerDay, table, objective, scratch);
+            double[] unscaled = scratch.unscaledTotals();
+            double scaledScore = daily.evaluate(scaled[0], scaled[1], scaled[2], scaled[3]);
+            double unscaledScore = daily.evaluate(unscaled[0], unscaled[1], unscaled[2], unscaled[3]);
+            // A day is served unscaled when scaling does not help it, see PortionSolver.solve.
+            double[] served = scaledScore >= unscaledScore ? scaled : unscaled;
+            dailySum += Math.max(scaledScore, unscaledScore);
+            calories += served[0];
+            carbs += served[1];
+            protein += served[2];
+            fat += served[3];
+        }
+
+        double weeklyScore = fitness.getWeekly().evaluate(calories, carbs, protein, fat);
+        return fitness.combine(weeklyScore, dailySum / fitness.getDays(), genes);
+    }
+
+    @Override
+    public double getCalorieTarget() {
+        return fitness.getCalorieTarget();
+    }
+
+    @Override
+    public double getCarbsTarget() {
+        return fitness.getCarbsTarget();
+    }
+
+    @Override
+    public double getProteinTarget() {
+        return fitness.getProteinTarget();
+    }
+
+    @Override
+    public double getFatTarget() {
+        return fitness.getFatTarget();
+    }
+}
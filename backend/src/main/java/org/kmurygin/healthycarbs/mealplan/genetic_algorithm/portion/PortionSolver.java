@@ -0,0 +1,159 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion;
+
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroBatch;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+// Fits one portion multiplier per recipe so the day's totals land on the macro targets. Minimises the
+// weighted squared relative deviation per macro within [min, max] multipliers by projected coordinate
+// descent, which converges quickly for a handful of recipes and four macros.
+@Component
+@RequiredArgsConstructor
+public class PortionSolver {
+
+    private static final int MACROS = 4;
+
+    private final PortionScalingProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public PortionPlan solve(Genome genome, MacroNutrientFitness fitness) {
+        Workspace workspace = new Workspace();
+        double[] totals = fit(genome, Objective.of(fitness), workspace);
+        double scaled = fitness.evaluate(totals[0], totals[1], totals[2], totals[3]);
+        double baseline = fitness.evaluate(
+                genome.getTotalCalories(), genome.getTotalCarbs(), genome.getTotalProtein(), genome.getTotalFat());
+        if (scaled >= baseline) {
+            return new PortionPlan(Arrays.copyOf(workspace.portions, genome.size()),
+                    totals[0], totals[1], totals[2], totals[3], scaled);
+        }
+        // The least-squares proxy can disagree with the fitness shape; never serve a worse day than unscaled.
+        double[] unscaled = new double[genome.size()];
+        Arrays.fill(unscaled, 1.0);
+        return new PortionPlan(unscaled, genome.getTotalCalories(), genome.getTotalCarbs(),
+                genome.getTotalProtein(), genome.getTotalFat(), baseline);
+    }
+
+    // Fits the portions into the workspace and returns its scaled totals (calories, carbs, protein, fat).
+    // Scoring is left to the caller so a whole batch of scaled totals can go through the fitness kernel.
+    double[] fit(Genome genome, Objective objective, Workspace workspace) {
+        return fit(genome.getGenes(), 0, genome.size(), genome.getMacroTable(), objective, workspace);
+    }
+
+    // Same for the recipes in genes[from, to), e.g. one day of a week genome. The unscaled totals of the
+    // range are kept in the workspace as well.
+    double[] fit(int[] genes, int from, int to, RecipeMacroTable table, Objective objective, Workspace workspace) {
+        int n = to - from;
+        workspace.ensureCapacity(n);
+        double[] macros = workspace.macros;
+        double[] portions = workspace.portions;
+        double[] totals = workspace.totals;
+        double[] targets = objective.targets;
+        double[] weights = objective.weights;
+
+        Arrays.fill(totals, 0.0);
+        for (int i = 0; i < n; i++) {
+            int recipe = genes[from + i];
+            macros[i * MACROS] = table.calories(recipe);
+            macros[i * MACROS + 1] = table.carbs(recipe);
+            macros[i * MACROS + 2] = table.protein(recipe);
+            macros[i * MACROS + 3] = table.fat(recipe);
+            portions[i] = 1.0;
+            for (int k = 0; k < MACROS; k++) {
+                totals[k] += macros[i * MACROS + k];
+            }
+        }
+        System.arraycopy(totals, 0, workspace.unscaledTotals, 0, MACROS);
+
+        double min = properties.getMinMultiplier();
+        double max = properties.getMaxMultiplier();
+        for (int sweep = 0; sweep < properties.getMaxSweeps(); sweep++) {
+            double largestStep = 0.0;
+            for (int i = 0; i < n; i++) {
+                double numerator = 0.0;
+                double denominator = 0.0;
+                for (int k = 0; k < MACROS; k++) {
+                    double others = totals[k] - portions[i] * macros[i * MACROS + k];
+                    numerator += weights[k] * macros[i * MACROS + k] * (targets[k] - others);
+                    denominator += weights[k] * macros[i * MACROS + k] * macros[i * MACROS + k];
+                }
+                if (denominator <= 0.0) {
+                    continue;
+                }
+                double next = Math.clamp(numerator / denominator, min, max);
+                double step = next - portions[i];
+                if (step != 0.0) {
+                    for (int k = 0; k < MACROS; k++) {
+                        totals[k] += step * macros[i * MACROS + k];
+                    }
+                    portions[i] = next;
+                    largestStep = Math.max(largestStep, Math.abs(step));
+                }
+            }
+            if (largestStep < properties.getTolerance()) {
+                break;
+            }
+        }
+        return totals;
+    }
+
+    // Targets and per-macro weights of the least-squares proxy, derived once per fitness.
+    static final class Objective {
+        private final double[] targets;
+        private final double[] weights;
+
+        private Objective(double[] targets, double[] weights) {
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        static Objective of(MacroNutrientFitness fitness) {
+            double[] targets = {
+                    fitness.getCalorieTarget(), fitness.getCarbsTarget(), fitness.getProteinTarget(), fitness.getFatTarget()};
+            double[] weights = {
+                    fitness.getCalorieWeight(), fitness.getCarbsWeight(), fitness.getProteinWeight(), fitness.getFatWeight()};
+            // Relative deviations: weight each squared residual by 1 / target^2, skipping macros without a target.
+            for (int k = 0; k < MACROS; k++) {
+                weights[k] = targets[k] > 0 ? weights[k] / (targets[k] * targets[k]) : 0.0;
+            }
+            return new Objective(targets, weights);
+        }
+    }
+
+    // Scratch for one solve at a time, plus a batch for the scaled totals of a population. Only grows,
+    // so a workspace kept by an island or a local search run stops allocating after the first generation.
+    static final class Workspace {
+        private double[] macros = new double[0];
+        private double[] portions = new double[0];
+        private final double[] totals = new double[MACROS];
+        private final double[] unscaledTotals = new double[MACROS];
+        private MacroBatch scaled;
+
+        private void ensureCapacity(int genes) {
+            if (portions.length < genes) {
+                portions = new double[genes];
+                macros = new double[genes * MACROS];
+            }
+        }
+
+        double[] unscaledTotals() {
+            return unscaledTotals;
+        }
+
+        MacroBatch scaledBatch(int capacity) {
+            if (scaled == null) {
+                scaled = new MacroBatch(capacity);
+            }
+            scaled.clear();
+            return scaled;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding;
+
+import java.util.List;
+
+// Seeds for an initial population, already resolved to candidate indices of one day. Population
+// fractions are shares of each island; whatever is left over is filled uniformly at random.
+public record WarmStart(
+        List<int[]> dayGenomes,
+        int[][] favouritesBySlot,
+        double historyFraction,
+        double favouritesFraction,
+        double stratifiedFraction,
+        int calorieBands
+) {
+    private static final WarmStart NONE = new WarmStart(List.of(), new int[0][], 0.0, 0.0, 0.0, 1);
+
+    public static WarmStart none() {
+        return NONE;
+    }
+
+    public boolean hasFavourites() {
+        for (int[] favourites : favouritesBySlot) {
+            if (favourites.length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,108 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding;
+
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.config.WarmStartProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlanDay;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlanRecipe;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class WarmStartFactory {
+
+    private final WarmStartProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int historyPlans() {
+        return properties.getHistoryPlans();
+    }
+
+    // Recipe ids of previous days, one per meal type slot; days missing a slot are skipped. Runs while
+    // the plans are still attached so their days and recipes can be read.
+    public List<long[]> historyDays(List<MealPlan> mealPlans, int slotsPerDay) {
+        List<long[]> days = new ArrayList<>();
+        for (MealPlan mealPlan : mealPlans) {
+            for (MealPlanDay day : mealPlan.getDays()) {
+                long[] recipeIds = new long[slotsPerDay];
+                int filled = 0;
+                for (MealPlanRecipe mealPlanRecipe : day.getRecipes()) {
+                    int slot = mealPlanRecipe.getMealType() == null ? -1 : mealPlanRecipe.getMealType().ordinal();
+                    if (slot >= 0 && slot < slotsPerDay && recipeIds[slot] == 0L) {
+                        recipeIds[slot] = mealPlanRecipe.getRecipe().getId();
+                        filled++;
+                    }
+                }
+                if (filled == slotsPerDay) {
+                    days.add(recipeIds);
+                }
+            }
+        }
+        return days;
+    }
+
+    public WarmStart heuristic() {
+        if (!properties.isEnabled()) {
+            return WarmStart.none();
+        }
+        return new WarmStart(List.of(), new int[0][], 0.0, 0.0,
+                properties.getStratifiedFraction(), properties.getCalorieBands());
+    }
+
+    public WarmStart forUser(
+            List<long[]> historyDays, Collection<Long> favouriteRecipeIds,
+            RecipeCandidateSnapshot snapshot, DayCandidates candidates) {
+        if (!properties.isEnabled()) {
+            return WarmStart.none();
+        }
+        int slots = candidates.slotCount();
+
+        // Recipes removed from the catalog or no longer matching the diet type are dropped.
+        List<int[]> dayGenomes = new ArrayList<>(historyDays.size());
+        for (long[] recipeIds : historyDays) {
+            int[] genes = resolve(recipeIds, snapshot, candidates);
+            if (genes != null && dayGenomes.stream().noneMatch(existing -> Arrays.equals(existing, genes))) {
+                dayGenomes.add(genes);
+            }
+        }
+
+        int[][] favouritesBySlot = new int[slots][];
+        for (int slot = 0; slot < slots; slot++) {
+            int currentSlot = slot;
+            favouritesBySlot[slot] = favouriteRecipeIds.stream()
+                    .mapToInt(snapshot::indexOf)
+                    .filter(index -> index >= 0 && candidates.contains(currentSlot, index))
+                    .sorted()
+                    .toArray();
+        }
+
+        return new WarmStart(dayGenomes, favouritesBySlot,
+                properties.getHistoryFraction(), properties.getFavouritesFraction(),
+                properties.getStratifiedFraction(), properties.getCalorieBands());
+    }
+
+    private static int[] resolve(long[] recipeIds, RecipeCandidateSnapshot snapshot, DayCandidates candidates) {
+        if (recipeIds.length != candidates.slotCount()) {
+            return null;
+        }
+        int[] genes = new int[recipeIds.length];
+        for (int slot = 0; slot < recipeIds.length; slot++) {
+            int index = snapshot.indexOf(recipeIds[slot]);
+            if (index < 0 || !candidates.contains(slot, index)) {
+                return null;
+            }
+            genes[slot] = index;
+        }
+        return genes;
+    }
+}
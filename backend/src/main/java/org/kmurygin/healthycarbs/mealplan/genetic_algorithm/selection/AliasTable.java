@@ -0,0 +1,77 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// Vose's alias method: O(n) construction, O(1) sampling from an arbitrary discrete distribution.
+final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    AliasTable(double[] weights) {
+        int n = weights.length;
+        probability = new double[n];
+        alias = new int[n];
+
+        double total = 0.0;
+        for (double weight : weights) {
+            total += Math.max(0.0, weight);
+        }
+        if (total <= 0.0) {
+            // Degenerate weights: fall back to a uniform distribution.
+            Arrays.fill(probability, 1.0);
+            for (int i = 0; i < n; i++) {
+                alias[i] = i;
+            }
+            return;
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0.0, weights[i]) * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        // Leftovers here are only due to rounding error.
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    int size() {
+        return probability.length;
+    }
+
+    int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
@@ -0,0 +1,8 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+
+@FunctionalInterface
+public interface ParentSampler {
+    Genome next();
+}
@@ -0,0 +1,61 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection;
+
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Population;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+// Linear ranking: selection probability depends only on rank, so pressure stays constant once fitness
+// values bunch up near the target. The alias table over ranks only depends on the population size and
+// is reused; each generation just re-ranks the population's index buffer.
+@Component
+@ConditionalOnProperty(prefix = "genetic-algorithm", name = "selection", havingValue = "rank")
+@RequiredArgsConstructor
+public class RankSelection implements Selection {
+
+    private final GeneticAlgorithmConfig config;
+    private volatile AliasTable rankTable;
+
+    @Override
+    public ParentSampler sampler(Genome[] population, int parents, RandomGenerator random) {
+        return sampler(population, new int[population.length], random);
+    }
+
+    @Override
+    public ParentSampler sampler(Population population, int parents, RandomGenerator random) {
+        return sampler(population.current(), population.ranking(), random);
+    }
+
+    private ParentSampler sampler(Genome[] population, int[] ranking, RandomGenerator random) {
+        int n = population.length;
+        if (n == 1) {
+            return () -> population[0];
+        }
+
+        Population.rank(population, ranking);
+        AliasTable table = rankTable(n);
+        return () -> population[ranking[table.sample(random)]];
+    }
+
+    // Indexed by position in the best-first ranking. Pressure s in [1, 2]: the worst genome gets
+    // weight 2 - s, the best gets s.
+    private AliasTable rankTable(int n) {
+        AliasTable table = rankTable;
+        if (table != null && table.size() == n) {
+            return table;
+        }
+        double pressure = Math.clamp(config.getRankSelectionPressure(), 1.0, 2.0);
+        double[] weights = new double[n];
+        for (int position = 0; position < n; position++) {
+            int rank = n - 1 - position;
+            weights[position] = (2.0 - pressure) + 2.0 * (pressure - 1.0) * rank / (n - 1);
+        }
+        table = new AliasTable(weights);
+        rankTable = table;
+        return table;
+    }
+}
@@ -1,9 +1,17 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection;
 
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Population;
 
-import java.util.List;
+import java.util.random.RandomGenerator;
 
 public interface Selection {
-    Genome select(List<Genome> population);
+    // Prepares a sampler over one generation's population that yields up to `parents` picks. Strategies
+    // keep no state between calls, so islands evolving in parallel can share a single bean.
+    ParentSampler sampler(Genome[] population, int parents, RandomGenerator random);
+
+    // Same over a GA population, whose reusable buffers strategies may use as scratch space.
+    default ParentSampler sampler(Population population, int parents, RandomGenerator random) {
+        return sampler(population.current(), parents, random);
+    }
 }
@@ -0,0 +1,55 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.random.RandomGenerator;
+
+// Fitness-proportionate selection with a single spin: all parents of a generation are drawn from evenly
+// spaced pointers in O(n), which keeps the spread far tighter than independent roulette spins.
+@Component
+@ConditionalOnProperty(prefix = "genetic-algorithm", name = "selection", havingValue = "sus")
+public class StochasticUniversalSampling implements Selection {
+
+    @Override
+    public ParentSampler sampler(Genome[] population, int parents, RandomGenerator random) {
+        int n = population.length;
+        int count = Math.max(1, parents);
+
+        double total = 0.0;
+        for (Genome genome : population) {
+            total += Math.max(0.0, genome.getFitness());
+        }
+
+        int[] picks = new int[count];
+        if (total <= 0.0) {
+            for (int i = 0; i < count; i++) {
+                picks[i] = random.nextInt(n);
+            }
+        } else {
+            double step = total / count;
+            double pointer = random.nextDouble() * step;
+            double cumulative = Math.max(0.0, population[0].getFitness());
+            int index = 0;
+            for (int i = 0; i < count; i++) {
+                while (cumulative < pointer && index < n - 1) {
+                    index++;
+                    cumulative += Math.max(0.0, population[index].getFitness());
+                }
+                picks[i] = index;
+                pointer += step;
+            }
+            // Pointers come out in population order; shuffle so consecutive picks pair up randomly.
+            for (int i = count - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = picks[i];
+                picks[i] = picks[j];
+                picks[j] = tmp;
+            }
+        }
+
+        int[] cursor = {0};
+        return () -> population[picks[cursor[0]++ % count]];
+    }
+}
@@ -1,29 +1,35 @@
 package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection;
 
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.random.RandomGenerator;
 
 @Component
+@ConditionalOnProperty(prefix = "genetic-algorithm", name = "selection", havingValue = "tournament", matchIfMissing = true)
+@RequiredArgsConstructor
 public class TournamentSelection implements Selection {
 
-    private static final int TOURNAMENT_SIZE = 2;
+    private final GeneticAlgorithmConfig config;
 
     @Override
-    public Genome select(List<Genome> population) {
-        List<Genome> shuffled = new ArrayList<>(population);
-        Collections.shuffle(shuffled);
+    public ParentSampler sampler(Genome[] population, int parents, RandomGenerator random) {
+        int size = Math.clamp(config.getTournamentSize(), 1, Math.max(1, population.length));
+        return () -> select(population, size, random);
+    }
 
-        Genome best = shuffled.getFirst();
-        for (int i = 1; i < TOURNAMENT_SIZE && i < shuffled.size(); i++) {
-            if (shuffled.get(i).getFitness() > best.getFitness()) {
-                best = shuffled.get(i);
+    // Samples k indices with replacement: O(k) per pick, no copying of the population.
+    public Genome select(Genome[] population, int tournamentSize, RandomGenerator random) {
+        Genome best = population[random.nextInt(population.length)];
+        for (int i = 1; i < tournamentSize; i++) {
+            Genome contender = population[random.nextInt(population.length)];
+            if (contender.getFitness() > best.getFitness()) {
+                best = contender;
             }
         }
-
         return best;
     }
 }
@@ -0,0 +1,72 @@
+package org.kmurygin.healthycarbs.mealplan.job;
+
+import jakarta.annotation.PreDestroy;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanJobProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Dedicated worker pool for generation jobs. The executor queue itself is unbounded, so capacity is
+// enforced here on admission; lower priority values run first, ties in submission order.
+@Component
+public class MealPlanJobQueue {
+
+    private final MealPlanJobProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public MealPlanJobQueue(MealPlanJobProperties properties) {
+        this.properties = properties;
+        int workers = Math.max(1, properties.getWorkers());
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                Thread.ofPlatform().name("mealplan-job-", 0).daemon(true).factory());
+    }
+
+    public boolean offer(int priority, Runnable task) {
+        if (pending.incrementAndGet() > properties.getQueueCapacity()) {
+            pending.decrementAndGet();
+            return false;
+        }
+        executor.execute(new PrioritizedTask(priority, sequence.getAndIncrement(), () -> {
+            pending.decrementAndGet();
+            task.run();
+        }));
+        return true;
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    public int active() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Unfinished jobs stay QUEUED or RUNNING in the database and are picked up again on startup.
+        executor.shutdownNow();
+    }
+
+    private record PrioritizedTask(int priority, long sequence, Runnable task)
+            implements Runnable, Comparable<PrioritizedTask> {
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int byPriority = Integer.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
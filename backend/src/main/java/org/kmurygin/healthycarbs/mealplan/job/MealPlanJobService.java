@@ -0,0 +1,269 @@
+package org.kmurygin.healthycarbs.mealplan.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.exception.ServiceBusyException;
+import org.kmurygin.healthycarbs.exception.TooManyRequestsException;
+import org.kmurygin.healthycarbs.mealplan.MealPlanJobStatus;
+import org.kmurygin.healthycarbs.mealplan.QualityTier;
+import org.kmurygin.healthycarbs.mealplan.compute.OptimizationAdmissionControl;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanJobProperties;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanGenerationOptions;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanJobDTO;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.mapper.MealPlanJobMapper;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlanJob;
+import org.kmurygin.healthycarbs.mealplan.repository.MealPlanJobRepository;
+import org.kmurygin.healthycarbs.mealplan.service.MealPlanService;
+import org.kmurygin.healthycarbs.user.model.User;
+import org.kmurygin.healthycarbs.user.service.UserService;
+import org.kmurygin.healthycarbs.util.LogSanitizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MealPlanJobService {
+
+    private final MealPlanJobRepository mealPlanJobRepository;
+    private final MealPlanJobQueue mealPlanJobQueue;
+    private final MealPlanJobMapper mealPlanJobMapper;
+    private final MealPlanService mealPlanService;
+    private final UserService userService;
+    private final MealPlanJobProperties properties;
+    private final OptimizationAdmissionControl optimizationAdmissionControl;
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, OptimizationAdmissionControl.Permit> permits = new ConcurrentHashMap<>();
+
+    // A job holds the user's in-flight permit from submission until it finishes, so queued jobs count
+    // against the same per-user limit as synchronous generation.
+    public MealPlanJobDTO submit(MealPlanGenerationOptions options) {
+        User user = userService.getCurrentUser();
+        if (mealPlanJobQueue.pending() >= properties.getQueueCapacity()) {
+            throw new ServiceBusyException("Meal plan generation queue is full, please try again later");
+        }
+
+        OptimizationAdmissionControl.Permit permit = optimizationAdmissionControl.admit(user.getId());
+        MealPlanJob job;
+        try {
+            job = mealPlanJobRepository.save(MealPlanJob.builder()
+                    .user(user)
+                    .status(MealPlanJobStatus.QUEUED)
+                    .quality(options.quality())
+                    .optimizer(options.optimizer())
+                    .seed(options.seed())
+                    .priority(priorityOf(options.quality()))
+                    .build());
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+        permits.put(job.getId(), permit);
+
+        if (!enqueue(job)) {
+            releasePermit(job.getId());
+            mealPlanJobRepository.delete(job);
+            throw new ServiceBusyException("Meal plan generation queue is full, please try again later");
+        }
+        return mealPlanJobMapper.toDTO(job);
+    }
+
+    public MealPlanJobDTO getJob(Long id) {
+        return mealPlanJobMapper.toDTO(findOwnJob(id));
+    }
+
+    public SseEmitter subscribe(Long id) {
+        MealPlanJob job = findOwnJob(id);
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeout().toMillis());
+        if (job.getStatus().isTerminal()) {
+            send(emitter, mealPlanJobMapper.toDTO(job));
+            emitter.complete();
+            return emitter;
+        }
+
+        subscribers.compute(id, (key, existing) -> {
+            List<SseEmitter> emitters = existing != null ? existing : new CopyOnWriteArrayList<>();
+            emitters.add(emitter);
+            return emitters;
+        });
+        emitter.onCompletion(() -> unsubscribe(id, emitter));
+        emitter.onTimeout(() -> unsubscribe(id, emitter));
+        emitter.onError(ex -> unsubscribe(id, emitter));
+
+        // The job may have finished between the first read and registration, after its final publish.
+        MealPlanJob latest = mealPlanJobRepository.findById(id).orElse(job);
+        if (latest.getStatus().isTerminal()) {
+            if (unsubscribe(id, emitter)) {
+                send(emitter, mealPlanJobMapper.toDTO(latest));
+                emitter.complete();
+            }
+            return emitter;
+        }
+        send(emitter, mealPlanJobMapper.toDTO(latest));
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingJobs() {
+        if (!properties.isRecoverOnStartup()) {
+            return;
+        }
+        List<MealPlanJob> pending = mealPlanJobRepository.findByStatusInOrderByCreatedAtAsc(
+                List.of(MealPlanJobStatus.QUEUED, MealPlanJobStatus.RUNNING));
+        Instant now = Instant.now();
+        Instant staleBefore = now.minus(properties.getLeaseTimeout());
+        int recovered = 0;
+        for (MealPlanJob job : pending) {
+            // A RUNNING job is only taken back once its lease expired, so one a live instance is still
+            // running stays with it; the reset is conditional, so concurrent starts requeue it once.
+            if (job.getStatus() == MealPlanJobStatus.RUNNING) {
+                if (mealPlanJobRepository.requeueStale(job.getId(), staleBefore, now) == 0) {
+                    continue;
+                }
+                job.setStatus(MealPlanJobStatus.QUEUED);
+                job.setStartedAt(null);
+            }
+            try {
+                permits.put(job.getId(), optimizationAdmissionControl.admit(job.getUser().getId()));
+            } catch (TooManyRequestsException e) {
+                // Accepted before the restart; run it even if the user already has another job in flight.
+                log.debug("Recovered meal plan job {} runs without an admission permit", job.getId());
+            }
+            if (!enqueue(job)) {
+                finish(job, MealPlanJobStatus.FAILED, null, "Meal plan generation queue was full after restart");
+                continue;
+            }
+            recovered++;
+        }
+        if (recovered > 0) {
+            log.info("Recovered {} meal plan generation jobs", recovered);
+        }
+    }
+
+    void run(Long jobId) {
+        // Claimed with a conditional update, so a job enqueued by several instances runs only once.
+        if (mealPlanJobRepository.claim(jobId, MealPlanJobStatus.QUEUED, MealPlanJobStatus.RUNNING, Instant.now()) == 0) {
+            releasePermit(jobId);
+            return;
+        }
+        MealPlanJob job = mealPlanJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            releasePermit(jobId);
+            return;
+        }
+        MealPlanJobStatus status = MealPlanJobStatus.FAILED;
+        MealPlan mealPlan = null;
+        String errorMessage = "Meal plan generation failed, please try again";
+        // Finished in a finally, so an Error such as OutOfMemoryError still fails the row and frees the permit.
+        try {
+            publish(job);
+            Long userId = job.getUser().getId();
+            User user = userService.getUserById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+            MealPlanGenerationOptions options = new MealPlanGenerationOptions(
+                    job.getQuality(), job.getOptimizer(), job.getSeed());
+            mealPlan = mealPlanService.generateMealPlanFor(user, options, new CancellationToken());
+            status = MealPlanJobStatus.COMPLETED;
+            errorMessage = null;
+        } catch (RuntimeException e) {
+            log.warn("Meal plan job {} failed: {}", jobId, LogSanitizer.clean(e.getMessage()));
+            errorMessage = errorMessageFor(e);
+        } finally {
+            finish(job, status, mealPlan, errorMessage);
+        }
+    }
+
+    private boolean enqueue(MealPlanJob job) {
+        Long jobId = job.getId();
+        return mealPlanJobQueue.offer(job.getPriority(), () -> run(jobId));
+    }
+
+    private void finish(MealPlanJob job, MealPlanJobStatus status, MealPlan mealPlan, String errorMessage) {
+        job.setStatus(status);
+        job.setMealPlan(mealPlan);
+        job.setErrorMessage(errorMessage);
+        job.setFinishedAt(Instant.now());
+        try {
+            publish(mealPlanJobRepository.save(job));
+        } finally {
+            releasePermit(job.getId());
+        }
+    }
+
+    private void releasePermit(Long jobId) {
+        OptimizationAdmissionControl.Permit permit = permits.remove(jobId);
+        if (permit != null) {
+            permit.close();
+        }
+    }
+
+    private boolean unsubscribe(Long jobId, SseEmitter emitter) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(jobId, (id, emitters) -> {
+            removed[0] = emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        return removed[0];
+    }
+
+    private void publish(MealPlanJob job) {
+        List<SseEmitter> emitters = job.getStatus().isTerminal()
+                ? subscribers.remove(job.getId())
+                : subscribers.get(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        MealPlanJobDTO dto = mealPlanJobMapper.toDTO(job);
+        for (SseEmitter emitter : emitters) {
+            send(emitter, dto);
+            if (job.getStatus().isTerminal()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, MealPlanJobDTO dto) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(dto));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private MealPlanJob findOwnJob(Long id) {
+        User user = userService.getCurrentUser();
+        return mealPlanJobRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new ResourceNotFoundException("MealPlanJob", "id", id));
+    }
+
+    private static int priorityOf(QualityTier quality) {
+        return quality == null ? QualityTier.BALANCED.ordinal() : quality.ordinal();
+    }
+
+    // Error messages are returned to clients, so only fixed texts are stored, never exception details.
+    private static String errorMessageFor(RuntimeException e) {
+        if (e instanceof ServiceBusyException || e instanceof TooManyRequestsException) {
+            return "Meal plan generation is at capacity, please try again later";
+        }
+        if (e instanceof CancellationException) {
+            return "Meal plan generation was cancelled";
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return "Meal plan could not be generated, check your dietary profile";
+        }
+        return "Meal plan generation failed, please try again";
+    }
+}
@@ -2,21 +2,38 @@ package org.kmurygin.healthycarbs.mealplan.mapper;
 
 import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.dto.DietaryProfileDTO;
+import org.kmurygin.healthycarbs.mealplan.model.Allergen;
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
 import org.kmurygin.healthycarbs.user.mapper.UserMapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.Collection;
+import java.util.List;
+
 @Mapper(componentModel = "spring", uses = {UserMapper.class})
 public interface DietaryProfileMapper {
 
     @Mapping(target = "dietType", expression = "java(mapDietTypeToString(dietaryProfile.getDietType()))")
+    @Mapping(target = "allergies", expression = "java(mapAllergenNames(dietaryProfile.getExcludedAllergens()))")
+    @Mapping(target = "excludedIngredientIds", expression = "java(mapIngredientIds(dietaryProfile.getExcludedIngredients()))")
     DietaryProfileDTO toDTO(DietaryProfile dietaryProfile);
 
     @Mapping(target = "dietType", ignore = true)
+    @Mapping(target = "excludedAllergens", ignore = true)
+    @Mapping(target = "excludedIngredients", ignore = true)
     DietaryProfile toEntity(DietaryProfileDTO dietaryProfileDTO);
 
     default String mapDietTypeToString(DietType dietType) {
         return dietType != null ? dietType.getName() : null;
     }
+
+    default List<String> mapAllergenNames(Collection<Allergen> allergens) {
+        return allergens == null ? List.of() : allergens.stream().map(Allergen::getName).sorted().toList();
+    }
+
+    default List<Long> mapIngredientIds(Collection<Ingredient> ingredients) {
+        return ingredients == null ? List.of() : ingredients.stream().map(Ingredient::getId).sorted().toList();
+    }
 }
@@ -0,0 +1,12 @@
+package org.kmurygin.healthycarbs.mealplan.mapper;
+
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanJobDTO;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlanJob;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface MealPlanJobMapper {
+    @Mapping(source = "mealPlan.id", target = "mealPlanId")
+    MealPlanJobDTO toDTO(MealPlanJob job);
+}
@@ -6,7 +6,9 @@ import org.hibernate.proxy.HibernateProxy;
 import org.kmurygin.healthycarbs.mealplan.*;
 import org.kmurygin.healthycarbs.user.model.User;
 
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 @Getter
 @Setter
@@ -63,6 +65,26 @@ public class DietaryProfile {
     @Column(name = "fat_target")
     private Double fatTarget;
 
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "dietary_profile_excluded_allergens",
+            joinColumns = @JoinColumn(name = "dietary_profile_id"),
+            inverseJoinColumns = @JoinColumn(name = "allergen_id")
+    )
+    @Builder.Default
+    @ToString.Exclude
+    private Set<Allergen> excludedAllergens = new HashSet<>();
+
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "dietary_profile_excluded_ingredients",
+            joinColumns = @JoinColumn(name = "dietary_profile_id"),
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id")
+    )
+    @Builder.Default
+    @ToString.Exclude
+    private Set<Ingredient> excludedIngredients = new HashSet<>();
+
     public void applyTargets(NutritionCalculator.DailyTargets targets) {
         this.setCalorieTarget(targets.calories());
         this.setCarbsTarget(targets.carbsGrams());
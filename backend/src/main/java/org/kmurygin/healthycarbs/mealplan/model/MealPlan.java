@@ -57,6 +57,10 @@ public class MealPlan {
     @Column(name = "source", nullable = false)
     private MealPlanSource source;
 
+    // Root seed of the optimizer run; replaying generation with it reproduces the plan offline.
+    @Column(name = "seed")
+    private Long seed;
+
     public void addDay(MealPlanDay day) {
         if (day == null) return;
         day.setMealPlan(this);
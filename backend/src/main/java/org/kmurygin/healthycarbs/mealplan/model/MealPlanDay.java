@@ -49,7 +49,11 @@ public class MealPlanDay {
     private Double totalFat;
 
     public void addRecipe(Recipe recipe) {
-        MealPlanRecipe mealPlanRecipe = new MealPlanRecipe(this, recipe, recipe.getMealType());
+        addRecipe(recipe, 1.0);
+    }
+
+    public void addRecipe(Recipe recipe, double portion) {
+        MealPlanRecipe mealPlanRecipe = new MealPlanRecipe(this, recipe, recipe.getMealType(), portion);
         recipes.add(mealPlanRecipe);
     }
 
@@ -0,0 +1,65 @@
+package org.kmurygin.healthycarbs.mealplan.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.kmurygin.healthycarbs.mealplan.MealPlanJobStatus;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.QualityTier;
+import org.kmurygin.healthycarbs.user.model.User;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "meal_plan_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"user", "mealPlan"})
+public class MealPlanJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MealPlanJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private QualityTier quality;
+
+    @Enumerated(EnumType.STRING)
+    private OptimizerType optimizer;
+
+    @Column(nullable = false)
+    private int priority;
+
+    private Long seed;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "meal_plan_id")
+    private MealPlan mealPlan;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+}
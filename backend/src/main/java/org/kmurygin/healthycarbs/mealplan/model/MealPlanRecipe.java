@@ -31,10 +31,19 @@ public class MealPlanRecipe {
     @Enumerated(EnumType.STRING)
     private MealType mealType;
 
+    @Column(name = "portion_multiplier", nullable = false)
+    @Builder.Default
+    private double portion = 1.0;
+
     public MealPlanRecipe(MealPlanDay mealPlanDay, Recipe recipe, MealType mealType) {
+        this(mealPlanDay, recipe, mealType, 1.0);
+    }
+
+    public MealPlanRecipe(MealPlanDay mealPlanDay, Recipe recipe, MealType mealType, double portion) {
         this.mealPlanDay = mealPlanDay;
         this.recipe = recipe;
         this.mealType = mealType;
+        this.portion = portion;
     }
 
     @Override
@@ -0,0 +1,350 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BranchAndBoundOptimizer implements MealPlanOptimizer {
+
+    private final GeneticAlgorithmConfig config;
+
+    @Override
+    public OptimizerType getType() {
+        return OptimizerType.EXACT;
+    }
+
+    @Override
+    public OptimizationResult optimize(DayCandidates candidates, Fitness fitness, RunBudget budget, long seed) {
+        if (!(fitness instanceof MacroNutrientFitness macroFitness)) {
+            throw new IllegalArgumentException("Exact optimizer requires a MacroNutrientFitness");
+        }
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            candidates.requireCandidates(slot);
+        }
+
+        long start = System.nanoTime();
+        Search search = new Search(candidates, macroFitness, budget, config.getExactMaxInnerTableSize());
+        search.run();
+
+        Genome best = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        System.arraycopy(search.bestGenes, 0, best.getGenes(), 0, best.size());
+        best.recomputeTotals();
+        macroFitness.evaluate(best);
+        best.setEvaluated(true);
+
+        log.debug("[EXACT-END] reason={}, fitness={}, evaluations={}, innerTableSize={}, elapsedMs={}",
+                search.terminationReason, best.getFitness(), search.evaluations,
+                search.innerSize, (System.nanoTime() - start) / 1_000_000);
+
+        return new OptimizationResult(best, 0, search.evaluations, search.terminationReason);
+    }
+
+    // Meet-in-the-middle branch and bound: the trailing slots are enumerated once into an inner
+    // table sorted by the heaviest-weighted macro, the leading slots are searched depth-first and
+    // pruned with MacroNutrientFitness.upperBound, and each leaf only scans the window of the inner
+    // table whose key macro can still beat the incumbent.
+    private static final class Search {
+        private static final int MACROS = 4;
+        private static final int BUDGET_CHECK_MASK = 0xFFF;
+
+        private final DayCandidates candidates;
+        private final MacroNutrientFitness fitness;
+        private final RunBudget budget;
+        private final RecipeMacroTable table;
+        private final int slotCount;
+        private final int outerSlots;
+
+        private final double[] targets;
+        private final double[] weights;
+        private final int keyMacro;
+        private final double otherWeights;
+
+        private int innerSize;
+        private float[] innerKeys;
+        private double[][] innerMacros;
+        private int[][] innerGenes;
+
+        private final double[][] suffixMin;
+        private final double[][] suffixMax;
+        private final double[][] partial;
+        private final int[] outerGenes;
+
+        private int[] bestGenes;
+        private double bestFitness = Double.NEGATIVE_INFINITY;
+        private long evaluations;
+        private long nodes;
+        private TerminationReason terminationReason = TerminationReason.OPTIMAL;
+
+        Search(DayCandidates candidates, MacroNutrientFitness fitness, RunBudget budget, int maxInnerTableSize) {
+            this.candidates = candidates;
+            this.fitness = fitness;
+            this.budget = budget;
+            this.table = candidates.getMacroTable();
+            this.slotCount = candidates.slotCount();
+            this.outerSlots = chooseOuterSlots(maxInnerTableSize);
+
+            this.targets = new double[]{
+                    fitness.getCalorieTarget(), fitness.getCarbsTarget(),
+                    fitness.getProteinTarget(), fitness.getFatTarget()};
+            this.weights = new double[]{
+                    fitness.getCalorieWeight(), fitness.getCarbsWeight(),
+                    fitness.getProteinWeight(), fitness.getFatWeight()};
+            this.keyMacro = chooseKeyMacro();
+            this.otherWeights = keyMacro < 0 ? 0.0 : totalWeight() - weights[keyMacro];
+
+            buildInnerTable();
+
+            this.suffixMin = new double[outerSlots + 1][MACROS];
+            this.suffixMax = new double[outerSlots + 1][MACROS];
+            computeSuffixRanges();
+            this.partial = new double[outerSlots + 1][MACROS];
+            this.outerGenes = new int[outerSlots];
+        }
+
+        void run() {
+            search(0);
+        }
+
+        private int chooseOuterSlots(int maxInnerTableSize) {
+            if (slotCount >= 2) {
+                long pairs = (long) candidates.candidateCount(slotCount - 2) * candidates.candidateCount(slotCount - 1);
+                if (pairs <= maxInnerTableSize) {
+                    return slotCount - 2;
+                }
+            }
+            return slotCount - 1;
+        }
+
+        private int chooseKeyMacro() {
+            int key = -1;
+            for (int macro = 0; macro < MACROS; macro++) {
+                if (targets[macro] > 0 && weights[macro] > 0 && (key < 0 || weights[macro] > weights[key])) {
+                    key = macro;
+                }
+            }
+            return key;
+        }
+
+        private double totalWeight() {
+            double sum = 0.0;
+            for (double weight : weights) {
+                sum += weight;
+            }
+            return sum;
+        }
+
+        private void buildInnerTable() {
+            int innerSlots = slotCount - outerSlots;
+            int size = 1;
+            for (int slot = outerSlots; slot < slotCount; slot++) {
+                size *= candidates.candidateCount(slot);
+            }
+            innerSize = size;
+
+            double[][] macros = new double[MACROS][size];
+            int[][] genes = new int[innerSlots][size];
+            long[] order = new long[size];
+            int[] positions = new int[innerSlots];
+
+            for (int row = 0; row < size; row++) {
+                for (int offset = 0; offset < innerSlots; offset++) {
+                    int recipe = candidates.candidate(outerSlots + offset, positions[offset]);
+                    genes[offset][row] = recipe;
+                    macros[0][row] += table.calories(recipe);
+                    macros[1][row] += table.carbs(recipe);
+                    macros[2][row] += table.protein(recipe);
+                    macros[3][row] += table.fat(recipe);
+                }
+                float key = keyMacro < 0 ? 0f : (float) macros[keyMacro][row];
+                order[row] = ((long) sortableBits(key) << 32) | row;
+                advance(positions);
+            }
+            Arrays.sort(order);
+
+            innerKeys = new float[size];
+            innerMacros = new double[MACROS][size];
+            innerGenes = new int[innerSlots][size];
+            for (int sorted = 0; sorted < size; sorted++) {
+                int row = (int) order[sorted];
+                innerKeys[sorted] = keyMacro < 0 ? 0f : (float) macros[keyMacro][row];
+                for (int macro = 0; macro < MACROS; macro++) {
+                    innerMacros[macro][sorted] = macros[macro][row];
+                }
+                for (int offset = 0; offset < innerSlots; offset++) {
+                    innerGenes[offset][sorted] = genes[offset][row];
+                }
+            }
+        }
+
+        private void advance(int[] positions) {
+            for (int offset = positions.length - 1; offset >= 0; offset--) {
+                if (++positions[offset] < candidates.candidateCount(outerSlots + offset)) {
+                    return;
+                }
+                positions[offset] = 0;
+            }
+        }
+
+        private static int sortableBits(float value) {
+            int bits = Float.floatToIntBits(value);
+            return bits ^ ((bits >> 31) & 0x7fffffff);
+        }
+
+        private void computeSuffixRanges() {
+            for (int macro = 0; macro < MACROS; macro++) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int row = 0; row < innerSize; row++) {
+                    min = Math.min(min, innerMacros[macro][row]);
+                    max = Math.max(max, innerMacros[macro][row]);
+                }
+                suffixMin[outerSlots][macro] = min;
+                suffixMax[outerSlots][macro] = max;
+            }
+            for (int slot = outerSlots - 1; slot >= 0; slot--) {
+                for (int macro = 0; macro < MACROS; macro++) {
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    for (int position = 0; position < candidates.candidateCount(slot); position++) {
+                        double value = macro(candidates.candidate(slot, position), macro);
+                        min = Math.min(min, value);
+                        max = Math.max(max, value);
+                    }
+                    suffixMin[slot][macro] = suffixMin[slot + 1][macro] + min;
+                    suffixMax[slot][macro] = suffixMax[slot + 1][macro] + max;
+                }
+            }
+        }
+
+        private double macro(int recipe, int macro) {
+            return switch (macro) {
+                case 0 -> table.calories(recipe);
+                case 1 -> table.carbs(recipe);
+                case 2 -> table.protein(recipe);
+                default -> table.fat(recipe);
+            };
+        }
+
+        private boolean search(int depth) {
+            if (depth == outerSlots) {
+                return scanInner(partial[depth]);
+            }
+
+            double[] current = partial[depth];
+            double[] next = partial[depth + 1];
+            double[] restMin = suffixMin[depth + 1];
+            double[] restMax = suffixMax[depth + 1];
+
+            for (int position = 0; position < candidates.candidateCount(depth); position++) {
+                if ((++nodes & BUDGET_CHECK_MASK) == 0 && shouldStop()) {
+                    return false;
+                }
+
+                int recipe = candidates.candidate(depth, position);
+                for (int macro = 0; macro < MACROS; macro++) {
+                    next[macro] = current[macro] + macro(recipe, macro);
+                }
+
+                double bound = fitness.upperBound(
+                        next[0] + restMin[0], next[0] + restMax[0],
+                        next[1] + restMin[1], next[1] + restMax[1],
+                        next[2] + restMin[2], next[2] + restMax[2],
+                        next[3] + restMin[3], next[3] + restMax[3]);
+                if (bound <= bestFitness) {
+                    continue;
+                }
+
+                outerGenes[depth] = recipe;
+                if (!search(depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean scanInner(double[] base) {
+            int from = 0;
+            int to = innerSize;
+
+            if (keyMacro >= 0 && bestGenes != null) {
+                double threshold = (bestFitness - otherWeights) / weights[keyMacro];
+                if (threshold > 0) {
+                    double target = targets[keyMacro];
+                    double delta = target * (1.0 - Math.sqrt(Math.min(threshold, 1.0)));
+                    double needed = target - base[keyMacro];
+                    from = lowerBound(Math.nextDown((float) (needed - delta)));
+                    to = lowerBound(Math.nextUp((float) (needed + delta)));
+                }
+            }
+
+            for (int row = from; row < to; row++) {
+                if ((++evaluations & BUDGET_CHECK_MASK) == 0 && shouldStop()) {
+                    return false;
+                }
+                double value = fitness.evaluate(
+                        base[0] + innerMacros[0][row],
+                        base[1] + innerMacros[1][row],
+                        base[2] + innerMacros[2][row],
+                        base[3] + innerMacros[3][row]);
+                if (value > bestFitness) {
+                    bestFitness = value;
+                    recordBest(row);
+                }
+            }
+            return true;
+        }
+
+        private int lowerBound(float key) {
+            int low = 0;
+            int high = innerSize;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (innerKeys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void recordBest(int row) {
+            if (bestGenes == null) {
+                bestGenes = new int[slotCount];
+            }
+            System.arraycopy(outerGenes, 0, bestGenes, 0, outerSlots);
+            for (int offset = 0; offset < innerGenes.length; offset++) {
+                bestGenes[outerSlots + offset] = innerGenes[offset][row];
+            }
+        }
+
+        private boolean shouldStop() {
+            if (bestGenes == null) {
+                return false;
+            }
+            if (budget.isCancelled()) {
+                terminationReason = TerminationReason.CANCELLED;
+                return true;
+            }
+            if (budget.isExpired()) {
+                terminationReason = TerminationReason.DEADLINE;
+                return true;
+            }
+            return false;
+        }
+    }
+}
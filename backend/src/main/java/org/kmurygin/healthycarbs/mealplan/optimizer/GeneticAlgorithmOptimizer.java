@@ -0,0 +1,44 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithmResult;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionScaledFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.tuning.GeneticAlgorithmProfiles;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GeneticAlgorithmOptimizer implements MealPlanOptimizer {
+    private final GeneticAlgorithm geneticAlgorithm;
+    private final PortionSolver portionSolver;
+    private final GeneticAlgorithmProfiles profiles;
+
+    @Override
+    public OptimizerType getType() {
+        return OptimizerType.GENETIC;
+    }
+
+    @Override
+    public OptimizationResult optimize(DayCandidates candidates, Fitness fitness, RunBudget budget, long seed) {
+        return optimize(candidates, fitness, budget, seed, WarmStart.none());
+    }
+
+    @Override
+    public OptimizationResult optimize(
+            DayCandidates candidates, Fitness fitness, RunBudget budget, long seed, WarmStart warmStart) {
+        // With portion scaling the GA only has to find a combination that scales onto the targets.
+        Fitness searchFitness = PortionScaledFitness.wrap(fitness, portionSolver);
+        GeneticAlgorithmResult result = geneticAlgorithm
+                .withConfig(profiles.configFor(candidates.getDietType()))
+                .run(candidates, searchFitness, budget, seed, warmStart);
+        return new OptimizationResult(
+                result.bestGenome(), result.generations(), result.evaluations(), result.terminationReason());
+    }
+}
@@ -0,0 +1,164 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.LocalSearchProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroTargets;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionScaledFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Single-solution search over the same candidate pool and fitness as the GA. Moves replace the recipe
+// in one slot; subclasses decide which moves to try and which to keep.
+@Slf4j
+abstract class LocalSearchOptimizer implements MealPlanOptimizer {
+
+    private static final int BUDGET_CHECK_MASK = 0x3F;
+
+    protected final LocalSearchProperties properties;
+    private final GeneticAlgorithmConfig config;
+    private final PortionSolver portionSolver;
+
+    LocalSearchOptimizer(LocalSearchProperties properties, GeneticAlgorithmConfig config, PortionSolver portionSolver) {
+        this.properties = properties;
+        this.config = config;
+        this.portionSolver = portionSolver;
+    }
+
+    @Override
+    public OptimizationResult optimize(DayCandidates candidates, Fitness fitness, RunBudget budget, long seed) {
+        return optimize(candidates, fitness, budget, seed, WarmStart.none());
+    }
+
+    @Override
+    public OptimizationResult optimize(
+            DayCandidates candidates, Fitness fitness, RunBudget budget, long seed, WarmStart warmStart) {
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            candidates.requireCandidates(slot);
+        }
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        Run run = new Run(candidates, PortionScaledFitness.wrap(fitness, portionSolver), budget, random);
+
+        Genome current = initialGenome(candidates, warmStart, random);
+        run.evaluate(current);
+        run.offer(current);
+        TerminationReason reason = run.stopReason();
+        if (reason == null) {
+            reason = search(run, current);
+        }
+
+        log.debug("[{}-END] reason={}, fitness={}, iterations={}, evaluations={}, elapsedMs={}",
+                getType(), reason, run.best.getFitness(), run.iterations, run.evaluations,
+                (System.nanoTime() - start) / 1_000_000);
+        return new OptimizationResult(run.best, run.iterations, run.evaluations, reason);
+    }
+
+    protected abstract TerminationReason search(Run run, Genome current);
+
+    // Starts from a previous day of the user when there is one, otherwise from a random day.
+    private static Genome initialGenome(DayCandidates candidates, WarmStart warmStart, SplittableRandom random) {
+        Genome genome = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        List<int[]> days = warmStart.dayGenomes();
+        if (!days.isEmpty() && days.getFirst().length == candidates.slotCount()) {
+            int[] day = days.get(random.nextInt(days.size()));
+            System.arraycopy(day, 0, genome.getGenes(), 0, day.length);
+            genome.recomputeTotals();
+        } else {
+            candidates.randomize(genome, random);
+        }
+        return genome;
+    }
+
+    // State of one search run: the incumbent, counters and the shared stopping rules.
+    protected final class Run {
+        final DayCandidates candidates;
+        final Fitness fitness;
+        final RunBudget budget;
+        final SplittableRandom random;
+        final Genome best;
+        private final MacroTargets targets;
+        private final RecipeMacroTable table;
+        int iterations;
+        long evaluations;
+        private long lastImprovement;
+
+        private Run(DayCandidates candidates, Fitness fitness, RunBudget budget, SplittableRandom random) {
+            this.candidates = candidates;
+            this.fitness = fitness;
+            this.budget = budget;
+            this.random = random;
+            this.best = new Genome(candidates.slotCount(), candidates.getMacroTable());
+            this.best.setFitness(Double.NEGATIVE_INFINITY);
+            this.targets = fitness instanceof MacroTargets macroTargets ? macroTargets : null;
+            this.table = candidates.getMacroTable();
+        }
+
+        double evaluate(Genome genome) {
+            double score = fitness.evaluate(genome);
+            genome.setFitness(score);
+            genome.setEvaluated(true);
+            evaluations++;
+            return score;
+        }
+
+        // Keeps a copy of the genome when it beats the best one seen so far.
+        boolean offer(Genome genome) {
+            if (genome.getFitness() <= best.getFitness()) {
+                return false;
+            }
+            best.copyFrom(genome);
+            best.setEvaluated(true);
+            lastImprovement = evaluations;
+            return true;
+        }
+
+        // A replacement recipe for the slot: either the candidate closest to what the slot would need
+        // to close the remaining macro gap, or a uniformly random one.
+        int propose(Genome genome, int slot) {
+            int current = genome.getGenes()[slot];
+            if (targets != null && random.nextDouble() < properties.getGuidedMoveProbability()) {
+                int nearest = candidates.nearestCandidate(slot,
+                        targets.getCalorieTarget() - genome.getTotalCalories() + table.calories(current),
+                        targets.getCarbsTarget() - genome.getTotalCarbs() + table.carbs(current),
+                        targets.getProteinTarget() - genome.getTotalProtein() + table.protein(current),
+                        targets.getFatTarget() - genome.getTotalFat() + table.fat(current),
+                        current);
+                if (nearest >= 0) {
+                    return nearest;
+                }
+            }
+            return candidates.randomCandidate(slot, random);
+        }
+
+        TerminationReason stopReason() {
+            if (best.getFitness() >= config.getTargetFitness()) {
+                return TerminationReason.TARGET_REACHED;
+            }
+            if (evaluations - lastImprovement >= properties.getStagnationEvaluations()) {
+                return TerminationReason.STAGNATION;
+            }
+            if (evaluations >= properties.getMaxEvaluations() || iterations >= properties.getMaxEvaluations()) {
+                return TerminationReason.MAX_GENERATIONS;
+            }
+            if ((iterations & BUDGET_CHECK_MASK) == 0) {
+                if (budget.isCancelled()) {
+                    return TerminationReason.CANCELLED;
+                }
+                if (budget.isExpired()) {
+                    return TerminationReason.DEADLINE;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+
+public interface MealPlanOptimizer {
+    OptimizerType getType();
+
+    // The seed drives every random choice of stochastic optimizers; deterministic ones ignore it.
+    OptimizationResult optimize(DayCandidates candidates, Fitness fitness, RunBudget budget, long seed);
+
+    // Optimizers that build a starting population can seed it; the others ignore the warm start.
+    default OptimizationResult optimize(
+            DayCandidates candidates, Fitness fitness, RunBudget budget, long seed, WarmStart warmStart) {
+        return optimize(candidates, fitness, budget, seed);
+    }
+}
@@ -0,0 +1,30 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.kmurygin.healthycarbs.exception.BadRequestException;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class MealPlanOptimizers {
+    private final Map<OptimizerType, MealPlanOptimizer> optimizers = new EnumMap<>(OptimizerType.class);
+    private final GeneticAlgorithmConfig config;
+
+    public MealPlanOptimizers(List<MealPlanOptimizer> optimizers, GeneticAlgorithmConfig config) {
+        optimizers.forEach(optimizer -> this.optimizers.put(optimizer.getType(), optimizer));
+        this.config = config;
+    }
+
+    public MealPlanOptimizer get(OptimizerType type) {
+        OptimizerType resolved = type != null ? type : config.getDefaultOptimizer();
+        MealPlanOptimizer optimizer = optimizers.get(resolved);
+        if (optimizer == null) {
+            throw new BadRequestException("Unsupported optimizer: " + resolved);
+        }
+        return optimizer;
+    }
+}
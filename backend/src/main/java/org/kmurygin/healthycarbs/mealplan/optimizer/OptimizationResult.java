@@ -0,0 +1,12 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+
+public record OptimizationResult(
+        Genome bestGenome,
+        int generations,
+        long evaluations,
+        TerminationReason terminationReason
+) {
+}
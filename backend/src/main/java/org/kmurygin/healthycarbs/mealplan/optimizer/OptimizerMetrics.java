@@ -0,0 +1,54 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Aggregate view of optimizer runs, published through the actuator metrics endpoint. Tags are
+// bounded: a handful of diet types, optimizer types, scopes and termination reasons.
+@Component
+@RequiredArgsConstructor
+public class OptimizerMetrics {
+
+    public static final String SCOPE_DAY = "day";
+    public static final String SCOPE_WEEK = "week";
+    private static final double[] FITNESS_BUCKETS = {0.5, 0.7, 0.8, 0.9, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(
+            OptimizerType optimizer, DietType dietType, String scope, long durationNanos, int generations,
+            long evaluations, double fitness, TerminationReason reason) {
+        String optimizerTag = optimizer != null ? optimizer.name() : "unknown";
+        String dietTag = dietType != null ? dietType.getName() : "unknown";
+
+        Timer.builder("mealplan.optimizer.duration")
+                .tags("optimizer", optimizerTag, "diet_type", dietTag, "scope", scope,
+                        "reason", reason != null ? reason.name() : "unknown")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        summary("mealplan.optimizer.generations", optimizerTag, dietTag, scope).record(generations);
+        summary("mealplan.optimizer.evaluations", optimizerTag, dietTag, scope).record(evaluations);
+        // Fitness lives in [0, 1], where the default integer histogram buckets would collapse it.
+        DistributionSummary.builder("mealplan.optimizer.fitness")
+                .tags("optimizer", optimizerTag, "diet_type", dietTag, "scope", scope)
+                .serviceLevelObjectives(FITNESS_BUCKETS)
+                .register(meterRegistry)
+                .record(fitness);
+    }
+
+    private DistributionSummary summary(String name, String optimizer, String dietType, String scope) {
+        return DistributionSummary.builder(name)
+                .tags("optimizer", optimizer, "diet_type", dietType, "scope", scope)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.LocalSearchProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SimulatedAnnealingOptimizer extends LocalSearchOptimizer {
+
+    public SimulatedAnnealingOptimizer(
+            LocalSearchProperties properties, GeneticAlgorithmConfig config, PortionSolver portionSolver) {
+        super(properties, config, portionSolver);
+    }
+
+    @Override
+    public OptimizerType getType() {
+        return OptimizerType.SIMULATED_ANNEALING;
+    }
+
+    // Metropolis acceptance with geometric cooling: a worse neighbour is kept with probability
+    // exp(delta / temperature), so early moves roam between calorie levels and late ones only refine.
+    @Override
+    protected TerminationReason search(Run run, Genome current) {
+        double currentFitness = current.getFitness();
+        double temperature = properties.getInitialTemperature();
+        int slots = current.size();
+
+        while (true) {
+            run.iterations++;
+            int slot = run.random.nextInt(slots);
+            int previous = current.getGenes()[slot];
+            int next = run.propose(current, slot);
+            if (next != previous) {
+                current.setGene(slot, next);
+                double delta = run.evaluate(current) - currentFitness;
+                if (delta >= 0 || run.random.nextDouble() < Math.exp(delta / temperature)) {
+                    currentFitness = current.getFitness();
+                    run.offer(current);
+                } else {
+                    current.setGene(slot, previous);
+                    current.setFitness(currentFitness);
+                }
+            }
+            temperature = Math.max(properties.getMinTemperature(), temperature * properties.getCoolingRate());
+
+            TerminationReason reason = run.stopReason();
+            if (reason != null) {
+                return reason;
+            }
+        }
+    }
+}
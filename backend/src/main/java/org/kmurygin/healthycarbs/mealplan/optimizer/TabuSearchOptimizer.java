@@ -0,0 +1,88 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.LocalSearchProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Component
+public class TabuSearchOptimizer extends LocalSearchOptimizer {
+
+    public TabuSearchOptimizer(
+            LocalSearchProperties properties, GeneticAlgorithmConfig config, PortionSolver portionSolver) {
+        super(properties, config, portionSolver);
+    }
+
+    @Override
+    public OptimizerType getType() {
+        return OptimizerType.TABU_SEARCH;
+    }
+
+    // Each iteration samples tabuNeighbourhoodSize single-slot replacements and moves to the best one,
+    // even when it is worse. The recipe it replaced may not return to that slot for tabuTenure moves
+    // unless doing so beats the best plan found so far.
+    @Override
+    protected TerminationReason search(Run run, Genome current) {
+        int slots = current.size();
+        int tenure = Math.max(1, properties.getTabuTenure());
+        int[][] tabu = new int[slots][tenure];
+        for (int[] recent : tabu) {
+            Arrays.fill(recent, -1);
+        }
+        int[] nextTabu = new int[slots];
+        double currentFitness = current.getFitness();
+
+        while (true) {
+            run.iterations++;
+            int moveSlot = -1;
+            int moveRecipe = -1;
+            double moveFitness = Double.NEGATIVE_INFINITY;
+            for (int sample = 0; sample < properties.getTabuNeighbourhoodSize(); sample++) {
+                int slot = run.random.nextInt(slots);
+                int previous = current.getGenes()[slot];
+                int next = run.propose(current, slot);
+                if (next == previous) {
+                    continue;
+                }
+                current.setGene(slot, next);
+                double score = run.evaluate(current);
+                current.setGene(slot, previous);
+
+                boolean allowed = score > run.best.getFitness() || !isTabu(tabu[slot], next);
+                if (allowed && score > moveFitness) {
+                    moveSlot = slot;
+                    moveRecipe = next;
+                    moveFitness = score;
+                }
+            }
+
+            if (moveSlot >= 0) {
+                tabu[moveSlot][nextTabu[moveSlot]] = current.getGenes()[moveSlot];
+                nextTabu[moveSlot] = (nextTabu[moveSlot] + 1) % tenure;
+                current.setGene(moveSlot, moveRecipe);
+                currentFitness = moveFitness;
+            }
+            current.setFitness(currentFitness);
+            run.offer(current);
+
+            TerminationReason reason = run.stopReason();
+            if (reason != null) {
+                return reason;
+            }
+        }
+    }
+
+    private static boolean isTabu(int[] recent, int recipe) {
+        for (int tabuRecipe : recent) {
+            if (tabuRecipe == recipe) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
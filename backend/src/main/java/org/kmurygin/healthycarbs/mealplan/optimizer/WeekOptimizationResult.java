@@ -0,0 +1,15 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+
+import java.util.List;
+
+public record WeekOptimizationResult(
+        Genome week,
+        List<Genome> days,
+        int generations,
+        long evaluations,
+        TerminationReason terminationReason
+) {
+}
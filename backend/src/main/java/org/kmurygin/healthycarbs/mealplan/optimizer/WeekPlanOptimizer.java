@@ -0,0 +1,137 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import lombok.RequiredArgsConstructor;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.config.WeekPlanProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithmResult;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.WeeklyFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionScaledFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionScaledWeeklyFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.tuning.GeneticAlgorithmProfiles;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Optimizes a whole week as one genome, so variety and the weekly macro budget can be scored jointly.
+// Parallelism comes from running several GA islands on the compute executor instead of one run per day.
+// Days are scored with scaled portions, as the per-day optimizers score them.
+@Component
+@RequiredArgsConstructor
+public class WeekPlanOptimizer {
+
+    // Bounds the subsets tried when arranging precomputed days: C(10, 7) = 120 week evaluations.
+    private static final int MAX_ARRANGED_VARIANTS = 10;
+
+    private final GeneticAlgorithm geneticAlgorithm;
+    private final WeekPlanProperties properties;
+    private final PortionSolver portionSolver;
+    private final GeneticAlgorithmProfiles profiles;
+
+    public boolean supports(MealPlanOptimizer optimizer) {
+        return properties.isEnabled() && optimizer.getType() == OptimizerType.GENETIC;
+    }
+
+    public WeekOptimizationResult optimize(
+            DayCandidates dayCandidates, Fitness dayFitness, int days, RunBudget budget, long seed,
+            WarmStart warmStart) {
+        if (!(dayFitness instanceof MacroNutrientFitness macroFitness)) {
+            throw new IllegalArgumentException("Week optimizer requires a MacroNutrientFitness");
+        }
+        DayCandidates weekCandidates = dayCandidates.spanning(days);
+        Fitness weeklyFitness = PortionScaledWeeklyFitness.wrap(
+                new WeeklyFitness(macroFitness, days, dayCandidates.slotCount(), properties), portionSolver);
+
+        // Tuned population, mutation, elite and stagnation settings apply here too; islands stay week.*.
+        GeneticAlgorithmResult result = geneticAlgorithm
+                .withConfig(profiles.configFor(dayCandidates.getDietType()))
+                .run(weekCandidates, weeklyFitness, budget, seed, properties.getIslandCount(), warmStart);
+        Genome week = result.bestGenome();
+        return new WeekOptimizationResult(
+                week, splitDays(week, dayCandidates, dayFitness, days), result.generations(), result.evaluations(),
+                result.terminationReason());
+    }
+
+    // Picks the days to serve from precomputed variants (day cache or library) with the week run's own
+    // variety and budget score: every subset of distinct variants is scored as a week and the best wins.
+    // Returns nothing when there are fewer variants than days, so no day has to be repeated.
+    public List<Genome> arrange(List<Genome> variants, DayCandidates dayCandidates, Fitness dayFitness, int days) {
+        if (variants.size() < days) {
+            return List.of();
+        }
+        List<Genome> pool = variants.subList(0, Math.min(variants.size(), MAX_ARRANGED_VARIANTS));
+        int slotsPerDay = dayCandidates.slotCount();
+        if (!(dayFitness instanceof MacroNutrientFitness macroFitness)
+                || pool.stream().anyMatch(variant -> variant.size() != slotsPerDay)) {
+            return List.copyOf(pool.subList(0, days));
+        }
+        Fitness weeklyFitness = PortionScaledWeeklyFitness.wrap(
+                new WeeklyFitness(macroFitness, days, slotsPerDay, properties), portionSolver);
+
+        Genome week = new Genome(slotsPerDay * days, dayCandidates.getMacroTable());
+        int[] subset = new int[days];
+        for (int i = 0; i < days; i++) {
+            subset[i] = i;
+        }
+        int[] best = subset.clone();
+        double bestScore = Double.NEGATIVE_INFINITY;
+        do {
+            for (int day = 0; day < days; day++) {
+                System.arraycopy(pool.get(subset[day]).getGenes(), 0, week.getGenes(), day * slotsPerDay, slotsPerDay);
+            }
+            week.recomputeTotals();
+            double score = weeklyFitness.evaluate(week);
+            if (score > bestScore) {
+                bestScore = score;
+                best = subset.clone();
+            }
+        } while (nextSubset(subset, pool.size()));
+
+        List<Genome> arranged = new ArrayList<>(days);
+        for (int index : best) {
+            arranged.add(pool.get(index));
+        }
+        return arranged;
+    }
+
+    // Advances to the next k-subset of [0, n) in lexicographic order; false once the last one was seen.
+    private static boolean nextSubset(int[] subset, int n) {
+        int k = subset.length;
+        int i = k - 1;
+        while (i >= 0 && subset[i] == n - k + i) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        subset[i]++;
+        for (int j = i + 1; j < k; j++) {
+            subset[j] = subset[j - 1] + 1;
+        }
+        return true;
+    }
+
+    private List<Genome> splitDays(Genome week, DayCandidates dayCandidates, Fitness dayFitness, int days) {
+        int slotsPerDay = dayCandidates.slotCount();
+        // Days carry their portion-scaled score, the one the day cache ranks and gates on.
+        Fitness servingFitness = PortionScaledFitness.wrap(dayFitness, portionSolver);
+        List<Genome> split = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            Genome genome = new Genome(slotsPerDay, dayCandidates.getMacroTable());
+            System.arraycopy(week.getGenes(), day * slotsPerDay, genome.getGenes(), 0, slotsPerDay);
+            genome.recomputeTotals();
+            servingFitness.evaluate(genome);
+            genome.setEvaluated(true);
+            split.add(genome);
+        }
+        return split;
+    }
+}
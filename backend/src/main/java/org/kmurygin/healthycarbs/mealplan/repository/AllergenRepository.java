@@ -4,6 +4,10 @@ import org.kmurygin.healthycarbs.mealplan.model.Allergen;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface AllergenRepository extends JpaRepository<Allergen, Long> {
+    List<Allergen> findByNameIn(Collection<String> names);
 }
@@ -2,10 +2,33 @@ package org.kmurygin.healthycarbs.mealplan.repository;
 
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
 import org.kmurygin.healthycarbs.user.model.User;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface DietaryProfileRepository extends JpaRepository<DietaryProfile, Long> {
+    @EntityGraph(attributePaths = {"dietType", "excludedAllergens", "excludedIngredients"})
     DietaryProfile findByUser(User user);
+
+    @Override
+    @EntityGraph(attributePaths = {"dietType", "excludedAllergens", "excludedIngredients"})
+    Optional<DietaryProfile> findById(Long id);
+
+    @Query("""
+            SELECT p.id
+            FROM DietaryProfile p
+            WHERE p.dietType = :dietType
+            AND p.calorieTarget IS NOT NULL
+            AND p.carbsTarget IS NOT NULL
+            AND p.proteinTarget IS NOT NULL
+            AND p.fatTarget IS NOT NULL
+            """)
+    List<Long> findIdsWithTargetsByDietType(@Param("dietType") DietType dietType);
 }
@@ -0,0 +1,42 @@
+package org.kmurygin.healthycarbs.mealplan.repository;
+
+import org.kmurygin.healthycarbs.mealplan.MealPlanJobStatus;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlanJob;
+import org.kmurygin.healthycarbs.user.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MealPlanJobRepository extends JpaRepository<MealPlanJob, Long> {
+    Optional<MealPlanJob> findByIdAndUser(Long id, User user);
+
+    List<MealPlanJob> findByStatusInOrderByCreatedAtAsc(Collection<MealPlanJobStatus> statuses);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MealPlanJob j SET j.status = :status, j.startedAt = :startedAt, j.updatedAt = :startedAt " +
+            "WHERE j.id = :id AND j.status = :expected")
+    int claim(
+            @Param("id") Long id,
+            @Param("expected") MealPlanJobStatus expected,
+            @Param("status") MealPlanJobStatus status,
+            @Param("startedAt") Instant startedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MealPlanJob j SET j.status = org.kmurygin.healthycarbs.mealplan.MealPlanJobStatus.QUEUED, " +
+            "j.startedAt = null, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = org.kmurygin.healthycarbs.mealplan.MealPlanJobStatus.RUNNING " +
+            "AND j.updatedAt < :staleBefore")
+    int requeueStale(
+            @Param("id") Long id,
+            @Param("staleBefore") Instant staleBefore,
+            @Param("now") Instant now);
+}
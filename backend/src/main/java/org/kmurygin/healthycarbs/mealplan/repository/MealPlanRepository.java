@@ -2,6 +2,7 @@ package org.kmurygin.healthycarbs.mealplan.repository;
 
 import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
 import org.kmurygin.healthycarbs.user.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -10,6 +11,8 @@ import java.util.Optional;
 public interface MealPlanRepository extends JpaRepository<MealPlan, Long> {
     List<MealPlan> findByUserOrderByCreatedAtAsc(User user);
 
+    List<MealPlan> findByUserOrderByCreatedAtDesc(User user, Limit limit);
+
     Optional<MealPlan> findByIdAndUser(Long id, User user);
 
     List<MealPlan> findByUserAndAuthor(User user, User author);
@@ -13,6 +13,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -56,6 +58,47 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecif
             """)
     Optional<Recipe> findByIdWithIngredients(@Param("id") Long id);
 
+    @Query("""
+            SELECT DISTINCT r
+            FROM Recipe r
+            LEFT JOIN FETCH r.dietType
+            LEFT JOIN FETCH r.author
+            LEFT JOIN FETCH r.ingredients ri
+            LEFT JOIN FETCH ri.ingredient ing
+            LEFT JOIN FETCH ing.allergens
+            """)
+    List<Recipe> findAllWithDetails();
+
+    @Query("""
+            SELECT DISTINCT r
+            FROM Recipe r
+            LEFT JOIN FETCH r.dietType
+            LEFT JOIN FETCH r.author
+            LEFT JOIN FETCH r.ingredients ri
+            LEFT JOIN FETCH ri.ingredient ing
+            LEFT JOIN FETCH ing.allergens
+            WHERE r.id = :id
+            """)
+    Optional<Recipe> findWithDetailsById(@Param("id") Long id);
+
+    @Query("""
+            SELECT DISTINCT r
+            FROM Recipe r
+            LEFT JOIN FETCH r.dietType
+            LEFT JOIN FETCH r.author
+            LEFT JOIN FETCH r.ingredients ri
+            LEFT JOIN FETCH ri.ingredient ing
+            LEFT JOIN FETCH ing.allergens
+            WHERE r.id IN :ids
+            """)
+    List<Recipe> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MAX(r.updatedAt) FROM Recipe r")
+    Instant findLatestRecipeUpdate();
+
+    @Query("SELECT MAX(i.updatedAt) FROM Ingredient i")
+    Instant findLatestIngredientUpdate();
+
     @Override
     @NonNull
     Page<Recipe> findAll(Specification<Recipe> spec, @NonNull Pageable pageable);
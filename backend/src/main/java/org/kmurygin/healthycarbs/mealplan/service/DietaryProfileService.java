@@ -6,15 +6,23 @@ import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
 import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.NutritionCalculator;
 import org.kmurygin.healthycarbs.mealplan.dto.DietaryProfilePayload;
+import org.kmurygin.healthycarbs.mealplan.model.Allergen;
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
+import org.kmurygin.healthycarbs.mealplan.repository.AllergenRepository;
 import org.kmurygin.healthycarbs.mealplan.repository.DietTypeRepository;
 import org.kmurygin.healthycarbs.mealplan.repository.DietaryProfileRepository;
+import org.kmurygin.healthycarbs.mealplan.repository.IngredientRepository;
 import org.kmurygin.healthycarbs.user.model.User;
 import org.kmurygin.healthycarbs.user.repository.UserRepository;
 import org.kmurygin.healthycarbs.user.service.UserService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
@@ -24,6 +32,8 @@ public class DietaryProfileService {
     private final DietTypeRepository dietTypeRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final AllergenRepository allergenRepository;
+    private final IngredientRepository ingredientRepository;
 
     @Transactional
     public DietaryProfile save(DietaryProfilePayload payload) {
@@ -73,6 +83,40 @@ public class DietaryProfileService {
         DietType dietType = dietTypeRepository.findByName(payload.getDietType())
                 .orElseThrow(() -> new ResourceNotFoundException("DietType", "name", payload.getDietType()));
         profile.setDietType(dietType);
+
+        // Omitted lists keep the current exclusions; an empty list clears them.
+        if (payload.getAllergies() != null) {
+            profile.setExcludedAllergens(resolveAllergens(payload.getAllergies()));
+        }
+        if (payload.getExcludedIngredientIds() != null) {
+            profile.setExcludedIngredients(resolveIngredients(payload.getExcludedIngredientIds()));
+        }
+    }
+
+    private Set<Allergen> resolveAllergens(List<String> names) {
+        Set<String> requested = new HashSet<>(names);
+        if (requested.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Allergen> allergens = new HashSet<>(allergenRepository.findByNameIn(requested));
+        if (allergens.size() != requested.size()) {
+            allergens.forEach(allergen -> requested.remove(allergen.getName()));
+            throw new ResourceNotFoundException("Allergen", "name", requested.iterator().next());
+        }
+        return allergens;
+    }
+
+    private Set<Ingredient> resolveIngredients(List<Long> ids) {
+        Set<Long> requested = new HashSet<>(ids);
+        if (requested.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Ingredient> ingredients = new HashSet<>(ingredientRepository.findAllById(requested));
+        if (ingredients.size() != requested.size()) {
+            ingredients.forEach(ingredient -> requested.remove(ingredient.getId()));
+            throw new ResourceNotFoundException("Ingredient", "id", requested.iterator().next());
+        }
+        return ingredients;
     }
 
     private NutritionCalculator.DailyTargets calculateNutritionForProfile(DietaryProfile profile) {
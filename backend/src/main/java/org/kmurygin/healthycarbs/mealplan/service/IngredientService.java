@@ -4,12 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.kmurygin.healthycarbs.auth.service.AccessControlService;
 import org.kmurygin.healthycarbs.exception.BadRequestException;
 import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.mealplan.IngredientCatalogChangedEvent;
 import org.kmurygin.healthycarbs.mealplan.IngredientCategory;
 import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
 import org.kmurygin.healthycarbs.mealplan.repository.IngredientRepository;
 import org.kmurygin.healthycarbs.mealplan.repository.RecipeIngredientRepository;
 import org.kmurygin.healthycarbs.user.service.UserService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ public class IngredientService {
     private final IngredientRepository ingredientRepository;
     private final UserService userService;
     private final RecipeIngredientRepository recipeIngredientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Ingredient> findAll() {
         return ingredientRepository.findAll();
@@ -62,7 +65,9 @@ public class IngredientService {
         Ingredient ingredient = findById(id);
         accessControlService.assertAuthorOrAdmin(ingredient.getAuthor(), "ingredient");
         ingredient.updateFrom(updatedIngredient);
-        return ingredientRepository.save(ingredient);
+        Ingredient saved = ingredientRepository.save(ingredient);
+        eventPublisher.publishEvent(new IngredientCatalogChangedEvent(saved.getId()));
+        return saved;
     }
 
     public void deleteById(Long id) {
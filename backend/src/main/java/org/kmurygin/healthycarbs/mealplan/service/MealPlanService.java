@@ -1,5 +1,6 @@
 package org.kmurygin.healthycarbs.mealplan.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Hibernate;
 import org.kmurygin.healthycarbs.auth.service.AccessControlService;
@@ -8,44 +9,89 @@ import org.kmurygin.healthycarbs.email.EmailDetails;
 import org.kmurygin.healthycarbs.email.EmailService;
 import org.kmurygin.healthycarbs.exception.ForbiddenException;
 import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.exception.ServiceBusyException;
 import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.MealPlanGeneratedEvent;
 import org.kmurygin.healthycarbs.mealplan.MealPlanSource;
 import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanCache;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanCacheKey;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanLibrary;
+import org.kmurygin.healthycarbs.mealplan.compute.OptimizationAdmissionControl;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanCacheProperties;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanLibraryProperties;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanComputeProperties;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
 import org.kmurygin.healthycarbs.mealplan.dto.CreateMealPlanRequest;
 import org.kmurygin.healthycarbs.mealplan.dto.ManualMealPlanDayDTO;
-import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanGenerationOptions;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Seeds;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.FitnessFactory;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeExclusion;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionPlan;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionScaledFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStartFactory;
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
 import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
 import org.kmurygin.healthycarbs.mealplan.model.MealPlanDay;
 import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizer;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizers;
+import org.kmurygin.healthycarbs.mealplan.optimizer.OptimizationResult;
+import org.kmurygin.healthycarbs.mealplan.optimizer.OptimizerMetrics;
+import org.kmurygin.healthycarbs.mealplan.optimizer.WeekOptimizationResult;
+import org.kmurygin.healthycarbs.mealplan.optimizer.WeekPlanOptimizer;
 import org.kmurygin.healthycarbs.mealplan.repository.MealPlanRepository;
 import org.kmurygin.healthycarbs.user.model.User;
 import org.kmurygin.healthycarbs.user.service.UserService;
 import org.kmurygin.healthycarbs.util.LogSanitizer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 public class MealPlanService {
     private final AccessControlService accessControlService;
-    private final GeneticAlgorithm geneticAlgorithm;
+    private final MealPlanOptimizers mealPlanOptimizers;
+    private final WeekPlanOptimizer weekPlanOptimizer;
+    private final PortionSolver portionSolver;
+    private final WarmStartFactory warmStartFactory;
+    private final OptimizerMetrics optimizerMetrics;
     private final RecipeService recipeService;
     private final DietaryProfileService dietaryProfileService;
     private final MealPlanRepository mealPlanRepository;
@@ -56,23 +102,51 @@ public class MealPlanService {
     private final EmailService emailService;
     private final ShoppingListService shoppingListService;
     private final CollaborationService collaborationService;
+    private final RecipeCandidatePool recipeCandidatePool;
+    private final GeneticAlgorithmConfig geneticAlgorithmConfig;
+    private final DayPlanCache dayPlanCache;
+    private final DayPlanCacheProperties dayPlanCacheProperties;
+    private final DayPlanLibrary dayPlanLibrary;
+    private final DayPlanLibraryProperties dayPlanLibraryProperties;
+    private final OptimizationAdmissionControl optimizationAdmissionControl;
+    private final MealPlanComputeProperties mealPlanComputeProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     public MealPlanService(
             AccessControlService accessControlService,
-            GeneticAlgorithm geneticAlgorithm,
+            MealPlanOptimizers mealPlanOptimizers,
+            WeekPlanOptimizer weekPlanOptimizer,
+            PortionSolver portionSolver,
+            WarmStartFactory warmStartFactory,
+            OptimizerMetrics optimizerMetrics,
             RecipeService recipeService,
             DietaryProfileService dietaryProfileService,
             MealPlanRepository mealPlanRepository,
-            @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+            @Qualifier("mealPlanComputeExecutor") Executor taskExecutor,
             FitnessFactory fitnessFactory,
             ApplicationEventPublisher applicationEventPublisher,
             UserService userService,
             EmailService emailService,
             ShoppingListService shoppingListService,
-            CollaborationService collaborationService
+            CollaborationService collaborationService,
+            RecipeCandidatePool recipeCandidatePool,
+            GeneticAlgorithmConfig geneticAlgorithmConfig,
+            DayPlanCache dayPlanCache,
+            DayPlanCacheProperties dayPlanCacheProperties,
+            DayPlanLibrary dayPlanLibrary,
+            DayPlanLibraryProperties dayPlanLibraryProperties,
+            OptimizationAdmissionControl optimizationAdmissionControl,
+            MealPlanComputeProperties mealPlanComputeProperties,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
     ) {
         this.accessControlService = accessControlService;
-        this.geneticAlgorithm = geneticAlgorithm;
+        this.mealPlanOptimizers = mealPlanOptimizers;
+        this.weekPlanOptimizer = weekPlanOptimizer;
+        this.portionSolver = portionSolver;
+        this.warmStartFactory = warmStartFactory;
+        this.optimizerMetrics = optimizerMetrics;
         this.recipeService = recipeService;
         this.dietaryProfileService = dietaryProfileService;
         this.mealPlanRepository = mealPlanRepository;
@@ -83,55 +157,270 @@ public class MealPlanService {
         this.emailService = emailService;
         this.shoppingListService = shoppingListService;
         this.collaborationService = collaborationService;
+        this.recipeCandidatePool = recipeCandidatePool;
+        this.geneticAlgorithmConfig = geneticAlgorithmConfig;
+        this.dayPlanCache = dayPlanCache;
+        this.dayPlanCacheProperties = dayPlanCacheProperties;
+        this.dayPlanLibrary = dayPlanLibrary;
+        this.dayPlanLibraryProperties = dayPlanLibraryProperties;
+        this.optimizationAdmissionControl = optimizationAdmissionControl;
+        this.mealPlanComputeProperties = mealPlanComputeProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
     public MealPlan save(MealPlan mealPlan) {
         return mealPlanRepository.save(mealPlan);
     }
 
-    @Transactional
     public MealPlan generateMealPlan() {
+        return generateMealPlan(MealPlanGenerationOptions.defaults(), new CancellationToken());
+    }
+
+    public MealPlan generateMealPlan(MealPlanGenerationOptions options) {
+        return generateMealPlan(options, new CancellationToken());
+    }
+
+    public MealPlan generateMealPlan(MealPlanGenerationOptions options, CancellationToken cancellationToken) {
         User user = userService.getCurrentUser();
-        DietaryProfile dietaryProfile = dietaryProfileService.getByUserId(user.getId());
+        try (OptimizationAdmissionControl.Permit permit = optimizationAdmissionControl.admit(user.getId())) {
+            return generateMealPlanFor(user, options, cancellationToken);
+        }
+    }
 
-        LocalDate startOfWeek = getStartOfCurrentWeek();
-        List<MealPlanDay> days = generateWeeklyDays(dietaryProfile, startOfWeek);
-        MealPlan mealPlan = buildMealPlan(user, days);
+    // Generation runs in three phases so a JDBC connection is only held for the short read and
+    // write transactions, never while the optimizer is running.
+    public MealPlan generateMealPlanFor(
+            User user, MealPlanGenerationOptions options, CancellationToken cancellationToken) {
+        MealPlanOptimizer optimizer = mealPlanOptimizers.get(options.optimizer());
+        RunBudget budget = RunBudget.of(geneticAlgorithmConfig.timeBudgetFor(options.quality()), cancellationToken);
+        long seed = options.seed() != null ? options.seed() : Seeds.newSeed();
 
-        return savePlanAndGenerateShoppingList(mealPlan);
+        GenerationInput input = inTransaction("read", () -> loadGenerationInput(user));
+
+        long computeStart = System.nanoTime();
+        List<MealPlanDay> days = generateWeeklyDays(input, getStartOfCurrentWeek(), optimizer, budget, seed);
+        MealPlan mealPlan = buildMealPlan(user, days, seed);
+        meterRegistry.timer("mealplan.generation.compute")
+                .record(System.nanoTime() - computeStart, TimeUnit.NANOSECONDS);
+
+        return inTransaction("write", () -> savePlanAndGenerateShoppingList(mealPlan));
+    }
+
+    private GenerationInput loadGenerationInput(User user) {
+        DietaryProfile dietaryProfile = dietaryProfileService.getByUserId(user.getId());
+        Hibernate.initialize(dietaryProfile.getDietType());
+        RecipeExclusion exclusion = RecipeExclusion.of(dietaryProfile);
+        if (!warmStartFactory.isEnabled()) {
+            return new GenerationInput(dietaryProfile, exclusion, recipeCandidatePool.current(), List.of(), Set.of());
+        }
+        List<long[]> historyDays = warmStartFactory.historyDays(
+                mealPlanRepository.findByUserOrderByCreatedAtDesc(user, Limit.of(warmStartFactory.historyPlans())),
+                MealType.values().length);
+        return new GenerationInput(dietaryProfile, exclusion, recipeCandidatePool.current(), historyDays,
+                userService.getFavouriteRecipesIds(user.getId()));
+    }
+
+    private <T> T inTransaction(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            meterRegistry.timer("mealplan.generation.db.hold", "phase", phase)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     private LocalDate getStartOfCurrentWeek() {
         return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
     }
 
-    private List<MealPlanDay> generateWeeklyDays(DietaryProfile profile, LocalDate startOfWeek) {
+    private List<MealPlanDay> generateWeeklyDays(
+            GenerationInput input, LocalDate startOfWeek, MealPlanOptimizer optimizer, RunBudget budget, long seed) {
+        DietaryProfile profile = input.profile();
+        RecipeCandidateSnapshot snapshot = input.snapshot();
         Fitness fitness = fitnessFactory.createCalorieFitness(profile);
         DietType dietType = profile.getDietType();
-        Hibernate.initialize(dietType);
-
-        List<CompletableFuture<MealPlanDay>> futures = Arrays.stream(DayOfWeek.values())
-                .map(dayOfWeek -> CompletableFuture.supplyAsync(() -> {
-                    Genome bestGenome = geneticAlgorithm.run(
-                            () -> randomCandidate(dietType),
-                            fitness,
-                            dietType
-                    );
-                    LocalDate date = startOfWeek.plusDays(dayOfWeek.ordinal());
-                    return toMealPlanDay(bestGenome, dayOfWeek, date);
-                }, taskExecutor))
-                .toList();
+        DayCandidates candidates = snapshot.candidatesFor(dietType, input.exclusion());
+
+        DayPlanCacheKey cacheKey = dayPlanCache.keyFor(profile, dietType, snapshot.getVersion());
+        if (dayPlanCache.isEnabled()) {
+            // Gated on the portion-scaled score the optimizers search with and the served days reach.
+            List<Genome> cached = dayPlanCache.lookup(
+                    cacheKey, candidates, PortionScaledFitness.wrap(fitness, portionSolver));
+            List<Genome> week = arrangeWeek(cached, dayPlanCacheProperties.getMinVariants(), candidates, fitness, seed);
+            if (!week.isEmpty()) {
+                log.info("Served meal plan from day cache with {} variants", cached.size());
+                return buildDaysFromVariants(week, candidates, fitness, startOfWeek, seed);
+            }
+        }
+        if (dayPlanLibrary.isEnabled()) {
+            List<Genome> stored = lookupLibrary(profile, dietType, snapshot, candidates, fitness,
+                    dayPlanLibraryProperties.getMinServeFitness());
+            List<Genome> week = arrangeWeek(stored, dayPlanLibraryProperties.getMinVariants(), candidates, fitness, seed);
+            if (!week.isEmpty()) {
+                log.info("Served meal plan from day plan library with {} variants", stored.size());
+                return buildDaysFromVariants(week, candidates, fitness, startOfWeek, seed);
+            }
+        }
+        WarmStart warmStart = warmStartFactory.forUser(
+                input.historyDays(), input.favouriteRecipeIds(), snapshot, candidates);
+        if (weekPlanOptimizer.supports(optimizer)) {
+            return optimizeWeek(profile, snapshot, candidates, fitness, cacheKey, startOfWeek, budget, seed, warmStart);
+        }
+
+        List<CompletableFuture<MealPlanDay>> futures;
+        try {
+            futures = Arrays.stream(DayOfWeek.values())
+                    .map(dayOfWeek -> CompletableFuture.supplyAsync(() -> {
+                        long daySeed = Seeds.derive(seed, dayOfWeek.ordinal());
+                        long start = System.nanoTime();
+                        OptimizationResult result = optimizer.optimize(candidates, fitness, budget, daySeed, warmStart);
+                        optimizerMetrics.record(optimizer.getType(), dietType, OptimizerMetrics.SCOPE_DAY,
+                                System.nanoTime() - start, result.generations(), result.evaluations(),
+                                result.bestGenome().getFitness(), result.terminationReason());
+                        if (result.terminationReason() == TerminationReason.CANCELLED) {
+                            throw new CancellationException("Meal plan generation was cancelled");
+                        }
+                        if (dayPlanCache.isEnabled()) {
+                            dayPlanCache.offer(cacheKey, result.bestGenome());
+                        }
+                        LocalDate date = startOfWeek.plusDays(dayOfWeek.ordinal());
+                        return toMealPlanDay(result.bestGenome(), candidates, fitness, dayOfWeek, date);
+                    }, taskExecutor))
+                    .toList();
+        } catch (RejectedExecutionException e) {
+            // Executor saturated: stop the days already submitted and degrade to the closest library plans.
+            budget.getCancellationToken().cancel();
+            return degradeToLibrary(profile, snapshot, candidates, fitness, startOfWeek, seed);
+        }
+
+        awaitAll(futures, budget.getCancellationToken());
 
         return futures.stream()
                 .map(CompletableFuture::join)
                 .toList();
     }
 
-    private MealPlan buildMealPlan(User user, List<MealPlanDay> days) {
+    private List<MealPlanDay> optimizeWeek(
+            DietaryProfile profile, RecipeCandidateSnapshot snapshot, DayCandidates candidates, Fitness fitness,
+            DayPlanCacheKey cacheKey, LocalDate startOfWeek, RunBudget budget, long seed, WarmStart warmStart) {
+        DayOfWeek[] daysOfWeek = DayOfWeek.values();
+        CompletableFuture<WeekOptimizationResult> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                WeekOptimizationResult weekResult = weekPlanOptimizer.optimize(
+                        candidates, fitness, daysOfWeek.length, budget, seed, warmStart);
+                optimizerMetrics.record(OptimizerType.GENETIC, profile.getDietType(), OptimizerMetrics.SCOPE_WEEK,
+                        System.nanoTime() - start, weekResult.generations(), weekResult.evaluations(),
+                        meanFitness(weekResult.days()), weekResult.terminationReason());
+                return weekResult;
+            }, taskExecutor);
+        } catch (RejectedExecutionException e) {
+            return degradeToLibrary(profile, snapshot, candidates, fitness, startOfWeek, seed);
+        }
+
+        awaitAll(List.of(future), budget.getCancellationToken());
+        WeekOptimizationResult result = future.join();
+        if (result.terminationReason() == TerminationReason.CANCELLED) {
+            throw new CancellationException("Meal plan generation was cancelled");
+        }
+
+        List<MealPlanDay> days = new ArrayList<>(daysOfWeek.length);
+        for (DayOfWeek dayOfWeek : daysOfWeek) {
+            Genome genome = result.days().get(dayOfWeek.ordinal());
+            if (dayPlanCache.isEnabled()) {
+                dayPlanCache.offer(cacheKey, genome);
+            }
+            days.add(toMealPlanDay(genome, candidates, fitness, dayOfWeek, startOfWeek.plusDays(dayOfWeek.ordinal())));
+        }
+        return days;
+    }
+
+    private static double meanFitness(List<Genome> days) {
+        double sum = 0.0;
+        for (Genome day : days) {
+            sum += day.getFitness();
+        }
+        return days.isEmpty() ? 0.0 : sum / days.size();
+    }
+
+    private List<MealPlanDay> degradeToLibrary(
+            DietaryProfile profile, RecipeCandidateSnapshot snapshot, DayCandidates candidates, Fitness fitness,
+            LocalDate startOfWeek, long seed) {
+        List<Genome> stored = dayPlanLibrary.isEnabled()
+                ? lookupLibrary(profile, profile.getDietType(), snapshot, candidates, fitness, 0.0)
+                : List.of();
+        if (stored.isEmpty()) {
+            throw new ServiceBusyException("Meal plan generation is at capacity, please try again later",
+                    mealPlanComputeProperties.getRetryAfter());
+        }
+        log.warn("Meal plan executor saturated, served {} day plan library variants", stored.size());
+        return buildDaysFromVariants(stored, candidates, fitness, startOfWeek, seed);
+    }
+
+    private List<Genome> lookupLibrary(
+            DietaryProfile profile, DietType dietType, RecipeCandidateSnapshot snapshot,
+            DayCandidates candidates, Fitness fitness, double minFitness) {
+        if (profile.getCalorieTarget() == null || dietType == null) {
+            return List.of();
+        }
+        return dayPlanLibrary.lookup(dietType.getId(), profile.getCalorieTarget(), snapshot, candidates,
+                PortionScaledFitness.wrap(fitness, portionSolver), minFitness);
+    }
+
+    // Precomputed days are only served with a distinct day for every day of the week, chosen with the
+    // week run's variety and budget score; anything less goes to the optimizers instead.
+    private List<Genome> arrangeWeek(
+            List<Genome> variants, int minVariants, DayCandidates candidates, Fitness fitness, long seed) {
+        int days = DayOfWeek.values().length;
+        if (variants.size() < Math.max(days, minVariants)) {
+            return List.of();
+        }
+        List<Genome> shuffled = new ArrayList<>(variants);
+        Collections.shuffle(shuffled, new SplittableRandom(seed));
+        return weekPlanOptimizer.arrange(shuffled, candidates, fitness, days);
+    }
+
+    // Repeats variants only on the saturation fallback; direct serves pass one variant per day.
+    private List<MealPlanDay> buildDaysFromVariants(
+            List<Genome> variants, DayCandidates candidates, Fitness fitness, LocalDate startOfWeek, long seed) {
+        List<Genome> shuffled = new ArrayList<>(variants);
+        Collections.shuffle(shuffled, new SplittableRandom(seed));
+        DayOfWeek[] daysOfWeek = DayOfWeek.values();
+        List<MealPlanDay> days = new ArrayList<>(daysOfWeek.length);
+        for (DayOfWeek dayOfWeek : daysOfWeek) {
+            Genome genome = shuffled.get(dayOfWeek.ordinal() % shuffled.size());
+            days.add(toMealPlanDay(genome, candidates, fitness, dayOfWeek, startOfWeek.plusDays(dayOfWeek.ordinal())));
+        }
+        return days;
+    }
+
+    private void awaitAll(List<? extends CompletableFuture<?>> futures, CancellationToken cancellationToken) {
+        futures.forEach(future -> future.whenComplete((result, ex) -> {
+            if (ex != null) {
+                cancellationToken.cancel();
+            }
+        }));
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            cancellationToken.cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Meal plan generation was interrupted");
+        } catch (ExecutionException e) {
+            log.debug("Meal plan day generation failed: {}", e.getCause().getMessage());
+        }
+    }
+
+    private MealPlan buildMealPlan(User user, List<MealPlanDay> days, long seed) {
         MealPlan mealPlan = new MealPlan();
         mealPlan.setUser(user);
         mealPlan.setDays(days);
         mealPlan.setSource(MealPlanSource.GENERATED);
+        mealPlan.setSeed(seed);
 
         updateWeeklyTotals(mealPlan);
 
@@ -291,23 +580,30 @@ public class MealPlanService {
         return day;
     }
 
-    private Genome randomCandidate(DietType dietType) {
-        Genome genome = new Genome();
-        for (MealType mealType : MealType.values()) {
-            genome.getGenes().add(recipeService.findRandomForMealPlan(mealType, dietType));
-        }
-        return genome;
-    }
-
-    private MealPlanDay toMealPlanDay(Genome genome, DayOfWeek dayOfWeek, LocalDate date) {
+    private MealPlanDay toMealPlanDay(
+            Genome genome, DayCandidates candidates, Fitness fitness, DayOfWeek dayOfWeek, LocalDate date) {
         MealPlanDay day = new MealPlanDay();
         day.setDayOfWeek(dayOfWeek);
         day.setDate(date);
+        if (portionSolver.isEnabled() && fitness instanceof MacroNutrientFitness macroFitness) {
+            PortionPlan plan = portionSolver.solve(genome, macroFitness);
+            day.setTotalCalories(plan.totalCalories());
+            day.setTotalCarbs(plan.totalCarbs());
+            day.setTotalProtein(plan.totalProtein());
+            day.setTotalFat(plan.totalFat());
+            int[] genes = genome.getGenes();
+            for (int slot = 0; slot < genes.length; slot++) {
+                day.addRecipe(candidates.recipe(genes[slot]), plan.portions()[slot]);
+            }
+            return day;
+        }
         day.setTotalCalories(genome.getTotalCalories());
         day.setTotalCarbs(genome.getTotalCarbs());
         day.setTotalProtein(genome.getTotalProtein());
         day.setTotalFat(genome.getTotalFat());
-        genome.getGenes().forEach(day::addRecipe);
+        for (int gene : genome.getGenes()) {
+            day.addRecipe(candidates.recipe(gene));
+        }
         return day;
     }
 
@@ -329,4 +625,9 @@ public class MealPlanService {
         mealPlan.setTotalProtein(totalProtein);
         mealPlan.setTotalFat(totalFat);
     }
+
+    private record GenerationInput(
+            DietaryProfile profile, RecipeExclusion exclusion, RecipeCandidateSnapshot snapshot,
+            List<long[]> historyDays, Set<Long> favouriteRecipeIds) {
+    }
 }
@@ -5,9 +5,13 @@ import org.kmurygin.healthycarbs.auth.service.AccessControlService;
 import org.kmurygin.healthycarbs.exception.BadRequestException;
 import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
 import org.kmurygin.healthycarbs.mealplan.DietType;
-import org.kmurygin.healthycarbs.mealplan.DietTypeUtil;
 import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
 import org.kmurygin.healthycarbs.mealplan.dto.RecipeIngredientDTO;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeExclusion;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeExclusionIndex;
 import org.kmurygin.healthycarbs.mealplan.mapper.RecipeIngredientMapper;
 import org.kmurygin.healthycarbs.mealplan.mapper.RecipeMapper;
 import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
@@ -18,23 +22,34 @@ import org.kmurygin.healthycarbs.user.model.User;
 import org.kmurygin.healthycarbs.user.repository.UserRepository;
 import org.kmurygin.healthycarbs.user.service.UserService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class RecipeService {
+    private static final int MAX_IDS_PER_QUERY = 1_000;
+
     private final AccessControlService accessControlService;
     private final RecipeRepository recipeRepository;
     private final IngredientRepository ingredientRepository;
@@ -43,8 +58,9 @@ public class RecipeService {
     private final RecipeMapper recipeMapper;
     private final UserRepository userRepository;
     private final UserService userService;
-    private final DietTypeUtil dietTypeUtil;
     private final DietTypeRepository dietTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecipeCandidatePool recipeCandidatePool;
 
     public Page<Recipe> findAll(
             String name,
@@ -52,8 +68,18 @@ public class RecipeService {
             String dietTypeName,
             MealType mealType,
             Long userId,
+            RecipeExclusion exclusion,
             Pageable pageable
     ) {
+        DietType dietType = null;
+        if (dietTypeName != null && !dietTypeName.trim().isEmpty()) {
+            dietType = dietTypeRepository.findByName(dietTypeName)
+                    .orElseThrow(() -> new ResourceNotFoundException("DietType", "name", dietTypeName));
+        }
+        if (exclusion != null && !exclusion.isEmpty()) {
+            return findAllExcluding(name, ingredient, dietType, mealType, userId, exclusion, pageable);
+        }
+
         List<Specification<Recipe>> recipeSpecifications = new ArrayList<>();
 
         if (name != null && !name.trim().isEmpty()) {
@@ -62,9 +88,7 @@ public class RecipeService {
         if (ingredient != null && !ingredient.trim().isEmpty()) {
             recipeSpecifications.add(RecipeSpecification.hasIngredient(ingredient));
         }
-        if (dietTypeName != null && !dietTypeName.trim().isEmpty()) {
-            DietType dietType = dietTypeRepository.findByName(dietTypeName)
-                    .orElseThrow(() -> new ResourceNotFoundException("DietType", "name", dietTypeName));
+        if (dietType != null) {
             recipeSpecifications.add(RecipeSpecification.hasDietType(dietType));
         }
         if (mealType != null) {
@@ -74,10 +98,127 @@ public class RecipeService {
             recipeSpecifications.add(RecipeSpecification.isFavourite(userId));
         }
         Specification<Recipe> finalSpec = Specification.allOf(recipeSpecifications);
-
         return recipeRepository.findAll(finalSpec, pageable);
     }
 
+    // Exclusions are resolved against the in-memory bitmaps instead of joining ingredients and allergens,
+    // so the whole query is answered from the candidate snapshot: it is filtered, counted and sorted
+    // there and only the requested page is loaded by id. Recipes the snapshot does not know yet cannot
+    // be checked for the excluded allergens, so they stay hidden until it picks them up.
+    private Page<Recipe> findAllExcluding(
+            String name,
+            String ingredient,
+            DietType dietType,
+            MealType mealType,
+            Long userId,
+            RecipeExclusion exclusion,
+            Pageable pageable
+    ) {
+        RecipeCandidateSnapshot snapshot = recipeCandidatePool.current();
+        RecipeExclusionIndex index = snapshot.getExclusionIndex();
+        RecipeExclusionIndex.Mask mask = index.compile(exclusion);
+        Predicate<Recipe> matches = matcherFor(name, ingredient, dietType, mealType, userId);
+
+        List<Recipe> allowed = new ArrayList<>();
+        for (int row = 0; row < snapshot.size(); row++) {
+            Recipe recipe = snapshot.getMacroTable().recipe(row);
+            if (!index.excludes(row, mask) && matches.test(recipe)) {
+                allowed.add(recipe);
+            }
+        }
+        allowed.sort(comparatorFor(pageable.getSort()));
+
+        List<Recipe> pageRecipes = allowed;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), allowed.size());
+            int to = Math.min(from + pageable.getPageSize(), allowed.size());
+            pageRecipes = allowed.subList(from, to);
+        }
+        return new PageImpl<>(loadInOrder(pageRecipes.stream().map(Recipe::getId).toList()),
+                pageable, allowed.size());
+    }
+
+    private Predicate<Recipe> matcherFor(
+            String name, String ingredient, DietType dietType, MealType mealType, Long userId) {
+        Predicate<Recipe> matches = recipe -> true;
+        if (name != null && !name.trim().isEmpty()) {
+            String needle = name.toLowerCase();
+            matches = matches.and(recipe -> containsIgnoreCase(recipe.getName(), needle));
+        }
+        if (ingredient != null && !ingredient.trim().isEmpty()) {
+            String needle = ingredient.toLowerCase();
+            matches = matches.and(recipe -> recipe.getIngredients() != null && recipe.getIngredients().stream()
+                    .anyMatch(ri -> ri.getIngredient() != null
+                            && containsIgnoreCase(ri.getIngredient().getName(), needle)));
+        }
+        if (dietType != null) {
+            matches = matches.and(recipe -> dietType.equals(recipe.getDietType()));
+        }
+        if (mealType != null) {
+            matches = matches.and(recipe -> recipe.getMealType() == mealType);
+        }
+        if (userId != null) {
+            Set<Long> favouriteIds = userService.getFavouriteRecipesIds(userId);
+            matches = matches.and(recipe -> favouriteIds.contains(recipe.getId()));
+        }
+        return matches;
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerCaseNeedle) {
+        return value != null && value.toLowerCase().contains(lowerCaseNeedle);
+    }
+
+    // Mirrors the repository's ordering: the requested sort, then id so pages stay stable.
+    private static Comparator<Recipe> comparatorFor(Sort sort) {
+        Comparator<Recipe> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Recipe> byProperty = (a, b) -> compareNullsLast(sortValue(a, order), sortValue(b, order));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator.thenComparing(Recipe::getId);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareNullsLast(Comparable a, Comparable b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : a == null ? 1 : -1;
+        }
+        return a.compareTo(b);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable sortValue(Recipe recipe, Sort.Order order) {
+        Object value;
+        try {
+            value = new BeanWrapperImpl(recipe).getPropertyValue(order.getProperty());
+        } catch (BeansException e) {
+            throw new BadRequestException("Cannot sort recipes by " + order.getProperty());
+        }
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String text && order.isIgnoreCase()) {
+            return text.toLowerCase();
+        }
+        if (value instanceof Comparable comparable) {
+            return comparable;
+        }
+        throw new BadRequestException("Cannot sort recipes by " + order.getProperty());
+    }
+
+    // Loaded in bounded batches, so even an unpaged request never outgrows the bind parameter limit.
+    private List<Recipe> loadInOrder(List<Long> ids) {
+        Map<Long, Recipe> recipesById = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> batch = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            recipeRepository.findAllById(batch).forEach(recipe -> recipesById.put(recipe.getId(), recipe));
+        }
+        return ids.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     public List<Recipe> findAll() {
         return recipeRepository.findAll();
     }
@@ -107,7 +248,9 @@ public class RecipeService {
         if (recipe.getIngredients() != null) {
             recipe.getIngredients().forEach(ri -> ri.setRecipe(recipe));
         }
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(saved.getId(), false));
+        return saved;
     }
 
     @Transactional
@@ -122,7 +265,9 @@ public class RecipeService {
             recipe.getIngredients().forEach(ri -> ri.setRecipe(recipe));
         }
 
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(saved.getId(), false));
+        return saved;
     }
 
     private void resolveDietType(Recipe recipe, String dietTypeName) {
@@ -140,6 +285,7 @@ public class RecipeService {
             throw new BadRequestException("Cannot delete recipe because it is used in one or more meal plans.");
         }
         recipeRepository.delete(recipe);
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(id, true));
     }
 
     @Transactional
@@ -155,7 +301,9 @@ public class RecipeService {
         recipeIngredient.setQuantity(quantity);
 
         recipe.addIngredient(recipeIngredient);
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(recipeId, false));
+        return saved;
     }
 
     @Transactional
@@ -170,7 +318,9 @@ public class RecipeService {
 
         recipe.removeIngredient(recipeIngredient);
 
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeCatalogChangedEvent(recipeId, false));
+        return saved;
     }
 
     public List<RecipeIngredientDTO> findAllIngredients(Long recipeId) {
@@ -180,20 +330,6 @@ public class RecipeService {
                 .toList();
     }
 
-    @Transactional(readOnly = true)
-    public Recipe findRandomForMealPlan(MealType mealType, DietType dietType) {
-        Set<DietType> compatibleDietTypes = dietTypeUtil.getCompatibleDietTypes(dietType);
-        List<Long> recipeIds = recipeRepository.findIdsByMealTypeAndDietTypes(mealType, compatibleDietTypes);
-        if (recipeIds.isEmpty()) {
-            throw new ResourceNotFoundException(
-                    "Recipe not found for mealType: " + mealType + " and dietType: " + dietType
-            );
-        }
-        Long randomId = recipeIds.get(ThreadLocalRandom.current().nextInt(recipeIds.size()));
-        return recipeRepository.findByIdWithIngredients(randomId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recipe", "id", randomId));
-    }
-
     @Transactional(readOnly = true)
     public Recipe findRandom(MealType mealType, String dietTypeName) {
         DietType dietType = dietTypeRepository.findByName(dietTypeName)
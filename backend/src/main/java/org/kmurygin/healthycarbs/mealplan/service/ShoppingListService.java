@@ -57,8 +57,10 @@ public class ShoppingListService {
 
         for (MealPlanDay day : mealPlan.getDays()) {
             for (MealPlanRecipe mealPlanRecipe : day.getRecipes()) {
+                double portion = mealPlanRecipe.getPortion();
                 for (RecipeIngredient recipeIngredient : mealPlanRecipe.getRecipe().getIngredients()) {
-                    aggregatedIngredients.merge(recipeIngredient.getIngredient(), recipeIngredient.getQuantity(), Double::sum);
+                    aggregatedIngredients.merge(
+                            recipeIngredient.getIngredient(), recipeIngredient.getQuantity() * portion, Double::sum);
                 }
             }
         }
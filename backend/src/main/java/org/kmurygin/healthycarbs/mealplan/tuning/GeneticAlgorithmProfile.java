@@ -0,0 +1,32 @@
+package org.kmurygin.healthycarbs.mealplan.tuning;
+
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.springframework.beans.BeanUtils;
+
+// Tuned run parameters for one diet type, with the measurements that selected them.
+public record GeneticAlgorithmProfile(
+        int populationSize,
+        double mutationRate,
+        int eliteCount,
+        int stagnationGenerations,
+        double meanFitness,
+        double meanMillis
+) {
+
+    public GeneticAlgorithmConfig applyTo(GeneticAlgorithmConfig base) {
+        GeneticAlgorithmConfig tuned = new GeneticAlgorithmConfig();
+        BeanUtils.copyProperties(base, tuned);
+        tuned.setPopulationSize(populationSize);
+        tuned.setMutationRate(mutationRate);
+        tuned.setEliteCount(Math.min(eliteCount, populationSize));
+        tuned.setStagnationGenerations(stagnationGenerations);
+        // Adaptive mutation clamps to [min, max]; widen the range rather than override the tuned rate.
+        tuned.setMinMutationRate(Math.min(base.getMinMutationRate(), mutationRate));
+        tuned.setMaxMutationRate(Math.max(base.getMaxMutationRate(), mutationRate));
+        return tuned;
+    }
+
+    public double fitnessPerMillisecond() {
+        return meanFitness / Math.max(meanMillis, 1e-3);
+    }
+}
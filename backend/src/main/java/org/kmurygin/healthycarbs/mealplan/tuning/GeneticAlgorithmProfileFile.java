@@ -0,0 +1,12 @@
+package org.kmurygin.healthycarbs.mealplan.tuning;
+
+import java.time.Instant;
+import java.util.Map;
+
+// On-disk format written by the tuning runner and read at startup; profiles are keyed by diet type name.
+public record GeneticAlgorithmProfileFile(
+        Instant generatedAt,
+        long catalogVersion,
+        Map<String, GeneticAlgorithmProfile> profiles
+) {
+}
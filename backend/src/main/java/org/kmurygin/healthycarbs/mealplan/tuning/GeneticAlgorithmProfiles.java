@@ -0,0 +1,56 @@
+package org.kmurygin.healthycarbs.mealplan.tuning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmTuningProperties;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-diet-type GA configurations loaded once at startup from the tuner output. Diet types without
+// a profile, or every diet type when no file is configured, run with genetic-algorithm.*. Profiles
+// apply to both the per-day runs and the whole-week run.
+@Slf4j
+@Component
+public class GeneticAlgorithmProfiles {
+
+    private final GeneticAlgorithmConfig config;
+    private final Map<String, GeneticAlgorithmConfig> configsByDietType;
+
+    public GeneticAlgorithmProfiles(
+            GeneticAlgorithmConfig config, GeneticAlgorithmTuningProperties properties, ObjectMapper objectMapper) {
+        this.config = config;
+        this.configsByDietType = load(config, properties.getProfilesFile(), objectMapper);
+    }
+
+    public GeneticAlgorithmConfig configFor(DietType dietType) {
+        if (dietType == null) {
+            return config;
+        }
+        return configsByDietType.getOrDefault(dietType.getName(), config);
+    }
+
+    private static Map<String, GeneticAlgorithmConfig> load(
+            GeneticAlgorithmConfig config, String profilesFile, ObjectMapper objectMapper) {
+        Map<String, GeneticAlgorithmConfig> configs = new HashMap<>();
+        if (profilesFile == null || profilesFile.isBlank()) {
+            return configs;
+        }
+        Path path = Path.of(profilesFile);
+        if (!Files.isRegularFile(path)) {
+            log.warn("[GA-PROFILES] file={} not found, using default GA configuration", path);
+            return configs;
+        }
+
+        GeneticAlgorithmProfileFile file = objectMapper.readValue(path.toFile(), GeneticAlgorithmProfileFile.class);
+        file.profiles().forEach((dietType, profile) -> configs.put(dietType, profile.applyTo(config)));
+        log.info("[GA-PROFILES] loaded {} profiles from {} (catalogVersion={}, generatedAt={}), applied to per-day and week runs for dietTypes={}",
+                configs.size(), path, file.catalogVersion(), file.generatedAt(), configs.keySet());
+        return Map.copyOf(configs);
+    }
+}
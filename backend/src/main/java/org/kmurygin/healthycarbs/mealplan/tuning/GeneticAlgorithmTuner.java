@@ -0,0 +1,135 @@
+package org.kmurygin.healthycarbs.mealplan.tuning;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmTuningProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithmResult;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Seeds;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.FitnessFactory;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionScaledFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Successive halving over randomly sampled GA parameters. Every configuration runs against the same
+// targets and seeds on each rung, so rankings compare parameters rather than luck.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeneticAlgorithmTuner {
+
+    private static final int MIN_POPULATION = 20;
+    private static final int MAX_POPULATION = 200;
+    private static final double MIN_MUTATION_RATE = 0.02;
+    private static final double MAX_MUTATION_RATE = 0.6;
+    private static final int MIN_STAGNATION = 20;
+    private static final int MAX_STAGNATION = 150;
+
+    private final GeneticAlgorithm geneticAlgorithm;
+    private final GeneticAlgorithmConfig config;
+    private final FitnessFactory fitnessFactory;
+    private final PortionSolver portionSolver;
+    private final GeneticAlgorithmTuningProperties properties;
+
+    public GeneticAlgorithmProfile tune(DayCandidates candidates, List<DietaryProfile> profiles) {
+        if (profiles.isEmpty()) {
+            throw new IllegalArgumentException("At least one dietary profile is required for tuning");
+        }
+        List<Fitness> fitnesses = profiles.stream()
+                .map(profile -> PortionScaledFitness.wrap(fitnessFactory.createCalorieFitness(profile), portionSolver))
+                .toList();
+
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        List<Trial> trials = new ArrayList<>();
+        // The configured parameters compete too, so tuning never settles on something worse.
+        trials.add(new Trial(config));
+        for (int i = 1; i < Math.max(1, properties.getConfigurations()); i++) {
+            trials.add(new Trial(sample(random)));
+        }
+
+        int reductionFactor = Math.max(2, properties.getReductionFactor());
+        Duration budget = properties.getInitialBudget();
+        for (int rung = 0; rung < properties.getRungs(); rung++) {
+            for (Trial trial : trials) {
+                trial.measure(candidates, fitnesses, budget, Seeds.derive(properties.getSeed(), rung));
+            }
+            trials.sort(Comparator.comparingDouble(Trial::score).reversed());
+            log.info("[GA-TUNE] dietType={}, rung={}, budgetMs={}, configurations={}, best={}",
+                    candidates.getDietType().getName(), rung, budget.toMillis(), trials.size(),
+                    trials.getFirst().profile());
+            if (rung == properties.getRungs() - 1 || trials.size() == 1) {
+                break;
+            }
+            trials = new ArrayList<>(trials.subList(0, Math.max(1, trials.size() / reductionFactor)));
+            budget = budget.multipliedBy(reductionFactor);
+        }
+        return trials.getFirst().profile();
+    }
+
+    private GeneticAlgorithmConfig sample(SplittableRandom random) {
+        // Log-uniform, so small populations get as much attention as large ones.
+        int populationSize = (int) Math.round(Math.exp(
+                random.nextDouble(Math.log(MIN_POPULATION), Math.log(MAX_POPULATION))));
+        double mutationRate = random.nextDouble(MIN_MUTATION_RATE, MAX_MUTATION_RATE);
+        int eliteCount = 1 + random.nextInt(Math.max(1, populationSize / 5));
+        int stagnationGenerations = random.nextInt(MIN_STAGNATION, MAX_STAGNATION + 1);
+        return new GeneticAlgorithmProfile(populationSize, mutationRate, eliteCount, stagnationGenerations, 0.0, 0.0)
+                .applyTo(config);
+    }
+
+    private final class Trial {
+        private final GeneticAlgorithmConfig trialConfig;
+        private final GeneticAlgorithm algorithm;
+        private double fitnessSum;
+        private long elapsedNanos;
+        private int runs;
+
+        private Trial(GeneticAlgorithmConfig trialConfig) {
+            this.trialConfig = trialConfig;
+            this.algorithm = geneticAlgorithm.withConfig(trialConfig);
+        }
+
+        // Each rung starts from scratch: results under a larger budget replace the earlier ones.
+        private void measure(DayCandidates candidates, List<Fitness> fitnesses, Duration budget, long seed) {
+            fitnessSum = 0.0;
+            elapsedNanos = 0L;
+            runs = 0;
+            for (int i = 0; i < fitnesses.size(); i++) {
+                long start = System.nanoTime();
+                GeneticAlgorithmResult result = algorithm.run(candidates, fitnesses.get(i),
+                        RunBudget.of(budget, new CancellationToken()), Seeds.derive(seed, i), WarmStart.none());
+                elapsedNanos += System.nanoTime() - start;
+                fitnessSum += result.bestGenome().getFitness();
+                runs++;
+            }
+        }
+
+        private double meanFitness() {
+            return runs == 0 ? 0.0 : fitnessSum / runs;
+        }
+
+        private double score() {
+            double meanFitness = meanFitness();
+            return meanFitness < properties.getMinFitness() ? meanFitness - 1.0 : profile().fitnessPerMillisecond();
+        }
+
+        private GeneticAlgorithmProfile profile() {
+            return new GeneticAlgorithmProfile(trialConfig.getPopulationSize(), trialConfig.getMutationRate(),
+                    trialConfig.getEliteCount(), trialConfig.getStagnationGenerations(), meanFitness(),
+                    runs == 0 ? 0.0 : elapsedNanos / 1_000_000.0 / runs);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.kmurygin.healthycarbs.mealplan.tuning;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmTuningProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.repository.DietTypeRepository;
+import org.kmurygin.healthycarbs.mealplan.repository.DietaryProfileRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+// Offline tuning command: tunes the GA for every diet type against the current catalog snapshot and
+// a sample of real dietary profiles, writes the profiles file and shuts the application down.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "meal-plan.tuning", name = "run", havingValue = "true")
+@RequiredArgsConstructor
+public class GeneticAlgorithmTuningRunner implements ApplicationRunner {
+
+    private final GeneticAlgorithmTuner tuner;
+    private final RecipeCandidatePool recipeCandidatePool;
+    private final DietTypeRepository dietTypeRepository;
+    private final DietaryProfileRepository dietaryProfileRepository;
+    private final GeneticAlgorithmTuningProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        RecipeCandidateSnapshot snapshot = recipeCandidatePool.current();
+        Map<String, GeneticAlgorithmProfile> profiles = new TreeMap<>();
+
+        for (DietType dietType : dietTypeRepository.findAll()) {
+            List<DietaryProfile> sample = sampleProfiles(dietType);
+            DayCandidates candidates = snapshot.candidatesFor(dietType);
+            if (sample.isEmpty() || !hasCandidatesForEverySlot(candidates)) {
+                log.warn("[GA-TUNE] dietType={} skipped: no profiles with targets or a meal type without recipes",
+                        dietType.getName());
+                continue;
+            }
+            GeneticAlgorithmProfile profile = tuner.tune(candidates, sample);
+            log.info("[GA-TUNE] dietType={} tuned: {}", dietType.getName(), profile);
+            profiles.put(dietType.getName(), profile);
+        }
+
+        Path output = Path.of(properties.getOutputFile());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(),
+                new GeneticAlgorithmProfileFile(Instant.now(), snapshot.getVersion(), profiles));
+        log.info("[GA-TUNE] wrote {} profiles to {}", profiles.size(), output.toAbsolutePath());
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private List<DietaryProfile> sampleProfiles(DietType dietType) {
+        List<Long> ids = new ArrayList<>(dietaryProfileRepository.findIdsWithTargetsByDietType(dietType));
+        Collections.shuffle(ids, new Random(properties.getSeed()));
+        return dietaryProfileRepository.findAllById(
+                ids.subList(0, Math.min(ids.size(), properties.getProfilesPerDietType())));
+    }
+
+    private static boolean hasCandidatesForEverySlot(DayCandidates candidates) {
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            if (candidates.candidateCount(slot) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -134,7 +134,8 @@ public final class MealPlanTemplateUtil {
                     clonedRecipes.add(new MealPlanRecipe(
                                     day,
                                     templateRecipe.getRecipe(),
-                                    templateRecipe.getMealType()
+                                    templateRecipe.getMealType(),
+                                    templateRecipe.getPortion()
                             )
                     );
                 }
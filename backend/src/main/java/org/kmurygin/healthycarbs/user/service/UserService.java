@@ -124,8 +124,12 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Set<Long> getFavouriteRecipesIds() {
-        User user = getCurrentUser();
-        return userRepository.findFavouriteRecipeIdsByUserId(user.getId());
+        return getFavouriteRecipesIds(getCurrentUser().getId());
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> getFavouriteRecipesIds(Long userId) {
+        return userRepository.findFavouriteRecipeIdsByUserId(userId);
     }
 
     public User getCurrentUser() {
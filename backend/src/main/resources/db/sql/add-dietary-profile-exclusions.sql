@@ -0,0 +1,21 @@
+CREATE TABLE dietary_profile_excluded_allergens (
+    dietary_profile_id BIGINT NOT NULL,
+    allergen_id BIGINT NOT NULL,
+    CONSTRAINT pk_dietary_profile_excluded_allergens
+        PRIMARY KEY (dietary_profile_id, allergen_id),
+    CONSTRAINT fk_dpea_dietary_profile
+        FOREIGN KEY (dietary_profile_id) REFERENCES dietary_profile (id) ON DELETE CASCADE,
+    CONSTRAINT fk_dpea_allergen
+        FOREIGN KEY (allergen_id) REFERENCES allergens (id) ON DELETE CASCADE
+);
+
+CREATE TABLE dietary_profile_excluded_ingredients (
+    dietary_profile_id BIGINT NOT NULL,
+    ingredient_id BIGINT NOT NULL,
+    CONSTRAINT pk_dietary_profile_excluded_ingredients
+        PRIMARY KEY (dietary_profile_id, ingredient_id),
+    CONSTRAINT fk_dpei_dietary_profile
+        FOREIGN KEY (dietary_profile_id) REFERENCES dietary_profile (id) ON DELETE CASCADE,
+    CONSTRAINT fk_dpei_ingredient
+        FOREIGN KEY (ingredient_id) REFERENCES ingredients (id) ON DELETE CASCADE
+);
@@ -0,0 +1,18 @@
+CREATE TABLE meal_plan_jobs
+(
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    status        VARCHAR(20) NOT NULL,
+    quality       VARCHAR(20),
+    optimizer     VARCHAR(20),
+    priority      INTEGER     NOT NULL DEFAULT 0,
+    meal_plan_id  BIGINT REFERENCES meal_plans (id) ON DELETE SET NULL,
+    error_message VARCHAR(500),
+    created_at    TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at    TIMESTAMPTZ,
+    started_at    TIMESTAMPTZ,
+    finished_at   TIMESTAMPTZ
+);
+
+CREATE INDEX idx_meal_plan_jobs_user_id ON meal_plan_jobs (user_id);
+CREATE INDEX idx_meal_plan_jobs_status ON meal_plan_jobs (status);
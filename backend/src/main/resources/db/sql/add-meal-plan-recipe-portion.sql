@@ -0,0 +1,2 @@
+ALTER TABLE meal_plan_recipes
+    ADD COLUMN portion_multiplier DOUBLE PRECISION NOT NULL DEFAULT 1.0;
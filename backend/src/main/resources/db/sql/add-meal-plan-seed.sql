@@ -0,0 +1,5 @@
+ALTER TABLE meal_plans
+    ADD COLUMN seed BIGINT;
+
+ALTER TABLE meal_plan_jobs
+    ADD COLUMN seed BIGINT;
@@ -0,0 +1,108 @@
+package org.kmurygin.healthycarbs.mealplan.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanCacheProperties;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.optimizer.SyntheticRecipeCatalog;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DayPlanCache Unit Tests")
+class DayPlanCacheUnitTest {
+
+    private DayPlanCacheProperties properties;
+    private DayPlanCache dayPlanCache;
+    private DietType dietType;
+    private DayCandidates candidates;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DayPlanCacheProperties();
+        properties.setTopK(2);
+        properties.setMinServeFitness(0.0);
+        dayPlanCache = new DayPlanCache(properties);
+
+        dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        candidates = RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(40, 3L, dietType))
+                .candidatesFor(dietType);
+    }
+
+    @Test
+    void keyFor_shouldBucketNearbyTargetsTogether() {
+        DayPlanCacheKey first = dayPlanCache.keyFor(profile(2010.0, 251.0, 101.0, 66.0), dietType, 1L);
+        DayPlanCacheKey second = dayPlanCache.keyFor(profile(1990.0, 249.0, 99.0, 64.0), dietType, 1L);
+        DayPlanCacheKey otherVersion = dayPlanCache.keyFor(profile(2010.0, 251.0, 101.0, 66.0), dietType, 2L);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).isNotEqualTo(otherVersion);
+    }
+
+    @Test
+    void offer_shouldKeepTopKDistinctGenomes() {
+        DietaryProfile profile = profile(2000.0, 250.0, 100.0, 65.0);
+        DayPlanCacheKey key = dayPlanCache.keyFor(profile, dietType, 1L);
+
+        dayPlanCache.offer(key, genome(0, 0.5));
+        dayPlanCache.offer(key, genome(0, 0.5));
+        dayPlanCache.offer(key, genome(1, 0.7));
+        dayPlanCache.offer(key, genome(2, 0.9));
+
+        List<Genome> cached = dayPlanCache.lookup(key, candidates, new MacroNutrientFitness(profile, new GeneticAlgorithmConfig()));
+
+        assertThat(cached).hasSize(2);
+        assertThat(cached).extracting(genome -> genome.getGenes()[0])
+                .containsExactlyInAnyOrder(candidates.candidate(0, 1), candidates.candidate(0, 2));
+        assertThat(cached).allMatch(Genome::isEvaluated);
+    }
+
+    @Test
+    void lookup_shouldFilterByExactProfileFitness() {
+        properties.setMinServeFitness(1.1);
+        DietaryProfile profile = profile(2000.0, 250.0, 100.0, 65.0);
+        DayPlanCacheKey key = dayPlanCache.keyFor(profile, dietType, 1L);
+        dayPlanCache.offer(key, genome(0, 0.99));
+
+        assertThat(dayPlanCache.lookup(key, candidates, new MacroNutrientFitness(profile, new GeneticAlgorithmConfig())))
+                .isEmpty();
+    }
+
+    @Test
+    void onRecipeCatalogChanged_shouldEvictEntries() {
+        DayPlanCacheKey key = dayPlanCache.keyFor(profile(2000.0, 250.0, 100.0, 65.0), dietType, 1L);
+        dayPlanCache.offer(key, genome(0, 0.9));
+
+        dayPlanCache.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(1L, false));
+
+        assertThat(dayPlanCache.size()).isZero();
+    }
+
+    private Genome genome(int position, double fitness) {
+        Genome genome = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            genome.getGenes()[slot] = candidates.candidate(slot, position);
+        }
+        genome.recomputeTotals();
+        genome.setFitness(fitness);
+        return genome;
+    }
+
+    private DietaryProfile profile(double calories, double carbs, double protein, double fat) {
+        return DietaryProfile.builder()
+                .calorieTarget(calories)
+                .carbsTarget(carbs)
+                .proteinTarget(protein)
+                .fatTarget(fat)
+                .build();
+    }
+}
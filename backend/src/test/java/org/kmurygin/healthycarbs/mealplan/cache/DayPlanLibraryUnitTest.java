@@ -0,0 +1,138 @@
+package org.kmurygin.healthycarbs.mealplan.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.IngredientCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.NutritionCalculator;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanLibraryProperties;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.model.RecipeIngredient;
+import org.kmurygin.healthycarbs.mealplan.optimizer.SyntheticRecipeCatalog;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DayPlanLibrary Unit Tests")
+class DayPlanLibraryUnitTest {
+
+    private DayPlanLibraryProperties properties;
+    private DayPlanLibrary dayPlanLibrary;
+    private RecipeCandidatePool recipeCandidatePool;
+    private DietType dietType;
+    private List<Recipe> recipes;
+    private RecipeCandidateSnapshot snapshot;
+    private DayCandidates candidates;
+    private MacroNutrientFitness fitness;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DayPlanLibraryProperties();
+        recipeCandidatePool = mock(RecipeCandidatePool.class);
+        dayPlanLibrary = new DayPlanLibrary(properties, recipeCandidatePool);
+
+        dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        recipes = SyntheticRecipeCatalog.generate(40, 5L, dietType);
+        snapshot = RecipeCandidateSnapshot.of(1L, recipes);
+        candidates = snapshot.candidatesFor(dietType);
+
+        DietaryProfile profile = DietaryProfile.builder().dietType(dietType).build();
+        profile.applyTargets(NutritionCalculator.targetsForCalories(2_000.0));
+        fitness = new MacroNutrientFitness(profile, new GeneticAlgorithmConfig());
+    }
+
+    @Test
+    void nearestCell_shouldClampToGrid() {
+        assertThat(dayPlanLibrary.nearestCell(500.0)).isZero();
+        assertThat(dayPlanLibrary.nearestCell(2_040.0)).isEqualTo(8);
+        assertThat(dayPlanLibrary.nearestCell(9_000.0)).isEqualTo(dayPlanLibrary.cellCount() - 1);
+        assertThat(dayPlanLibrary.cellCalories(8)).isEqualTo(2_000.0);
+    }
+
+    @Test
+    void lookup_shouldRemapStoredRecipesOntoNewerSnapshot() {
+        int cell = dayPlanLibrary.nearestCell(2_000.0);
+        dayPlanLibrary.store(1L, cell, List.of(genome(0), genome(0), genome(1)), snapshot);
+
+        Recipe extra = SyntheticRecipeCatalog.generate(1, 9L, dietType).getFirst();
+        extra.setId(1_000L);
+        RecipeCandidateSnapshot patched = snapshot.withRecipe(extra);
+        DayCandidates patchedCandidates = patched.candidatesFor(dietType);
+
+        List<Genome> servable = dayPlanLibrary.lookup(1L, 2_000.0, patched, patchedCandidates, fitness, 0.0);
+
+        assertThat(servable).hasSize(2);
+        assertThat(servable).allMatch(Genome::isEvaluated);
+        assertThat(servable.getFirst().getTotalCalories()).isEqualTo(genome(0).getTotalCalories());
+    }
+
+    @Test
+    void onRecipeCatalogChanged_shouldWithholdAffectedVariantsUntilRebuilt() {
+        int cell = dayPlanLibrary.nearestCell(2_000.0);
+        Genome stored = genome(0);
+        dayPlanLibrary.store(1L, cell, List.of(stored), snapshot);
+        long changedId = snapshot.getMacroTable().recipe(stored.getGenes()[0]).getId();
+
+        dayPlanLibrary.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(changedId, false));
+
+        Set<Long> dirty = dayPlanLibrary.dirtyRecipeIds();
+        assertThat(dirty).containsExactly(changedId);
+        assertThat(dayPlanLibrary.lookup(1L, 2_000.0, snapshot, candidates, fitness, 0.0)).isEmpty();
+        assertThat(dayPlanLibrary.needsBuild(1L, cell, dirty)).isTrue();
+        assertThat(dayPlanLibrary.needsBuild(1L, cell, Set.of(-1L))).isFalse();
+        assertThat(dayPlanLibrary.needsBuild(1L, cell + 1, Set.of())).isTrue();
+
+        dayPlanLibrary.markClean(dirty);
+
+        assertThat(dayPlanLibrary.lookup(1L, 2_000.0, snapshot, candidates, fitness, 0.0)).hasSize(1);
+    }
+
+    @Test
+    void onIngredientCatalogChanged_shouldWithholdVariantsUsingTheIngredient() {
+        Genome stored = genome(0);
+        dayPlanLibrary.store(1L, dayPlanLibrary.nearestCell(2_000.0), List.of(stored), snapshot);
+        Recipe affected = snapshot.getMacroTable().recipe(stored.getGenes()[0]);
+        Ingredient oats = Ingredient.builder().id(7L).name("Oats").build();
+        affected.addIngredient(RecipeIngredient.builder().ingredient(oats).quantity(1.0).build());
+        when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(2L, recipes));
+
+        dayPlanLibrary.onIngredientCatalogChanged(new IngredientCatalogChangedEvent(oats.getId()));
+
+        assertThat(dayPlanLibrary.dirtyRecipeIds()).containsExactly(affected.getId());
+        assertThat(dayPlanLibrary.lookup(1L, 2_000.0, snapshot, candidates, fitness, 0.0)).isEmpty();
+    }
+
+    @Test
+    void lookup_whenRecipeRemoved_shouldSkipVariant() {
+        Genome stored = genome(0);
+        dayPlanLibrary.store(1L, dayPlanLibrary.nearestCell(2_000.0), List.of(stored), snapshot);
+        RecipeCandidateSnapshot patched = snapshot.withoutRecipe(
+                snapshot.getMacroTable().recipe(stored.getGenes()[0]).getId());
+
+        assertThat(dayPlanLibrary.lookup(1L, 2_000.0, patched, patched.candidatesFor(dietType), fitness, 0.0))
+                .isEmpty();
+    }
+
+    private Genome genome(int position) {
+        Genome genome = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            genome.getGenes()[slot] = candidates.candidate(slot, position);
+        }
+        genome.recomputeTotals();
+        return genome;
+    }
+}
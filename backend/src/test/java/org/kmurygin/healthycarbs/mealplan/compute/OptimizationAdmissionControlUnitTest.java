@@ -0,0 +1,46 @@
+package org.kmurygin.healthycarbs.mealplan.compute;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.exception.TooManyRequestsException;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanComputeProperties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimizationAdmissionControlUnitTest {
+
+    private MealPlanComputeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OptimizationAdmissionControl admissionControl;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MealPlanComputeProperties();
+        properties.setMaxConcurrentPerUser(2);
+        meterRegistry = new SimpleMeterRegistry();
+        admissionControl = new OptimizationAdmissionControl(properties, meterRegistry);
+    }
+
+    @Test
+    void admit_shouldEnforcePerUserLimitIndependently() {
+        OptimizationAdmissionControl.Permit first = admissionControl.admit(1L);
+        OptimizationAdmissionControl.Permit second = admissionControl.admit(1L);
+        OptimizationAdmissionControl.Permit otherUser = admissionControl.admit(2L);
+
+        assertThatThrownBy(() -> admissionControl.admit(1L))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(admissionControl.inFlight(1L)).isEqualTo(2);
+        assertThat(meterRegistry.get("mealplan.compute.rejected").tag("reason", "user_limit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("mealplan.compute.in_flight").gauge().value()).isEqualTo(3.0);
+
+        first.close();
+        second.close();
+        otherUser.close();
+
+        assertThat(admissionControl.inFlight(1L)).isZero();
+        assertThat(admissionControl.admit(1L)).isNotNull();
+    }
+}
@@ -3,8 +3,13 @@ package org.kmurygin.healthycarbs.mealplan.controller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.QualityTier;
 import org.kmurygin.healthycarbs.mealplan.dto.CreateMealPlanRequest;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanGenerationOptions;
 import org.kmurygin.healthycarbs.mealplan.dto.MealPlanDTO;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanJobDTO;
+import org.kmurygin.healthycarbs.mealplan.job.MealPlanJobService;
 import org.kmurygin.healthycarbs.mealplan.mapper.MealPlanMapper;
 import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
 import org.kmurygin.healthycarbs.mealplan.service.MealPlanPdfService;
@@ -31,6 +36,8 @@ class MealPlanControllerUnitTest {
     private MealPlanMapper mealPlanMapper;
     @Mock
     private MealPlanPdfService mealPlanPdfService;
+    @Mock
+    private MealPlanJobService mealPlanJobService;
 
     private MealPlanController mealPlanController;
 
@@ -39,7 +46,8 @@ class MealPlanControllerUnitTest {
         mealPlanController = new MealPlanController(
                 mealPlanService,
                 mealPlanMapper,
-                mealPlanPdfService
+                mealPlanPdfService,
+                mealPlanJobService
         );
     }
 
@@ -47,20 +55,35 @@ class MealPlanControllerUnitTest {
     void generateMealPlan_shouldReturnCreated_andMapDto() {
         MealPlan mealPlan = new MealPlan();
         MealPlanDTO dto = mock(MealPlanDTO.class);
+        MealPlanGenerationOptions options = new MealPlanGenerationOptions(QualityTier.FAST, OptimizerType.EXACT, null);
 
-        when(mealPlanService.generateMealPlan()).thenReturn(mealPlan);
+        when(mealPlanService.generateMealPlan(options)).thenReturn(mealPlan);
         when(mealPlanMapper.toDTO(mealPlan)).thenReturn(dto);
 
-        ResponseEntity<ApiResponse<MealPlanDTO>> response = mealPlanController.generateMealPlan();
+        ResponseEntity<ApiResponse<MealPlanDTO>> response = mealPlanController.generateMealPlan(options);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody()).isNotNull();
 
-        verify(mealPlanService).generateMealPlan();
+        verify(mealPlanService).generateMealPlan(options);
         verify(mealPlanMapper).toDTO(mealPlan);
         verifyNoMoreInteractions(mealPlanService, mealPlanMapper, mealPlanPdfService);
     }
 
+    @Test
+    void submitMealPlanJob_shouldReturnAccepted() {
+        MealPlanGenerationOptions options = new MealPlanGenerationOptions(QualityTier.FAST, null, null);
+        MealPlanJobDTO job = MealPlanJobDTO.builder().id(4L).build();
+        when(mealPlanJobService.submit(options)).thenReturn(job);
+
+        ResponseEntity<ApiResponse<MealPlanJobDTO>> response = mealPlanController.submitMealPlanJob(options);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getData()).isSameAs(job);
+        verifyNoInteractions(mealPlanService);
+    }
+
     @Test
     void findById_shouldReturnOk_andMapDto() {
         long id = 8L;
@@ -0,0 +1,98 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.WarmStartProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStartFactory;
+import org.kmurygin.healthycarbs.mealplan.optimizer.SyntheticRecipeCatalog;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PopulationInitializer Unit Tests")
+class PopulationInitializerUnitTest {
+
+    private final PopulationInitializer initializer = new PopulationInitializer();
+    private final WarmStartProperties properties = new WarmStartProperties();
+    private final WarmStartFactory warmStartFactory = new WarmStartFactory(properties);
+    private RecipeCandidateSnapshot snapshot;
+    private DayCandidates candidates;
+
+    @BeforeEach
+    void setUp() {
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        // Recipe id i + 1 sits at index i and belongs to slot i % 4.
+        snapshot = RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(400, 3L, dietType));
+        candidates = snapshot.candidatesFor(dietType);
+    }
+
+    @Test
+    void forUser_shouldDropHistoryDaysWithUnknownOrMisplacedRecipes() {
+        List<long[]> history = List.of(
+                new long[]{1L, 2L, 3L, 4L},
+                new long[]{2L, 1L, 3L, 4L},
+                new long[]{1L, 2L, 3L, 9_999L});
+
+        WarmStart warmStart = warmStartFactory.forUser(history, Set.of(5L, 6L, 9_999L), snapshot, candidates);
+
+        assertThat(warmStart.dayGenomes()).containsExactly(new int[]{0, 1, 2, 3});
+        assertThat(warmStart.favouritesBySlot()[0]).containsExactly(4);
+        assertThat(warmStart.favouritesBySlot()[1]).containsExactly(5);
+        assertThat(warmStart.favouritesBySlot()[2]).isEmpty();
+    }
+
+    @Test
+    void generateInitialPopulation_shouldSeedWeekGenomesFromHistoryDays() {
+        properties.setHistoryFraction(0.5);
+        WarmStart warmStart = warmStartFactory.forUser(
+                List.<long[]>of(new long[]{1L, 2L, 3L, 4L}), Set.of(), snapshot, candidates);
+        DayCandidates week = candidates.spanning(7);
+
+        Genome[] genomes = initializer.generateInitialPopulation(week, 20, new SplittableRandom(1L), warmStart)
+                .current();
+
+        for (int i = 0; i < 10; i++) {
+            for (int slot = 0; slot < week.slotCount(); slot++) {
+                assertThat(genomes[i].getGenes()[slot]).isEqualTo(slot % 4);
+            }
+        }
+        assertThat(genomes[10].getTotalCalories()).isPositive();
+    }
+
+    @Test
+    void generateInitialPopulation_shouldCoverEveryCalorieBandInEachSlot() {
+        int bands = 5;
+        WarmStart warmStart = new WarmStart(List.of(), new int[0][], 0.0, 0.0, 1.0, bands);
+
+        Genome[] genomes = initializer.generateInitialPopulation(candidates, 50, new SplittableRandom(2L), warmStart)
+                .current();
+
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            int[] ordered = snapshot.getCalorieOrder(candidates.mealType(slot), candidates.getDietType());
+            int[] perBand = new int[bands];
+            for (Genome genome : genomes) {
+                int position = indexOf(ordered, genome.getGenes()[slot]);
+                perBand[(int) ((long) position * bands / ordered.length)]++;
+            }
+            assertThat(perBand).containsOnly(10);
+        }
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
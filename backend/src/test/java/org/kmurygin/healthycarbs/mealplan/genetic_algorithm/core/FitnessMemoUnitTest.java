@@ -0,0 +1,93 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationEvaluator;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.optimizer.SyntheticRecipeCatalog;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FitnessMemo Unit Tests")
+class FitnessMemoUnitTest {
+
+    private DayCandidates candidates;
+
+    @BeforeEach
+    void setUp() {
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        candidates = RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(400, 3L, dietType))
+                .candidatesFor(dietType);
+    }
+
+    @Test
+    void lookup_shouldRestoreStoredFitnessAndTotals() {
+        FitnessMemo memo = new FitnessMemo(64, candidates.slotCount());
+        Genome genome = randomGenome(new SplittableRandom(1L));
+        genome.setFitness(0.75);
+        memo.store(genome);
+
+        Genome copy = new Genome(genome);
+        copy.setFitness(0.0);
+        copy.setTotalCalories(0.0);
+
+        assertThat(memo.lookup(copy)).isTrue();
+        assertThat(copy.getFitness()).isEqualTo(0.75);
+        assertThat(copy.getTotalCalories()).isEqualTo(genome.getTotalCalories());
+        assertThat(memo.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void lookup_shouldMissUnknownTuplesAndSurviveOverflow() {
+        FitnessMemo memo = new FitnessMemo(8, candidates.slotCount());
+        SplittableRandom random = new SplittableRandom(2L);
+        Genome first = randomGenome(random);
+        first.setFitness(0.5);
+        memo.store(first);
+        for (int i = 0; i < 100; i++) {
+            Genome other = randomGenome(random);
+            other.setFitness(0.1);
+            memo.store(other);
+        }
+
+        Genome unknown = randomGenome(new SplittableRandom(99L));
+        unknown.getGenes()[0] = -1;
+
+        assertThat(memo.lookup(unknown)).isFalse();
+        assertThat(memo.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void evaluate_shouldServeRepeatedTuplesFromMemo() {
+        FitnessMemo memo = new FitnessMemo(64, candidates.slotCount());
+        AtomicInteger calls = new AtomicInteger();
+        Genome template = randomGenome(new SplittableRandom(3L));
+        Genome[] population = {new Genome(template), new Genome(template), new Genome(template)};
+        for (Genome genome : population) {
+            genome.setEvaluated(false);
+        }
+        RunStatistics statistics = new RunStatistics();
+
+        new PopulationEvaluator().evaluate(population, genome -> {
+            calls.incrementAndGet();
+            return 0.5;
+        }, statistics, memo);
+
+        assertThat(calls).hasValue(1);
+        assertThat(statistics.getMemoHits()).isEqualTo(2);
+        assertThat(population[2].getFitness()).isEqualTo(0.5);
+        assertThat(memo.hitRate()).isEqualTo(2.0 / 3.0);
+    }
+
+    private Genome randomGenome(SplittableRandom random) {
+        Genome genome = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        candidates.randomize(genome, random);
+        return genome;
+    }
+}
@@ -0,0 +1,316 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.BestGenomeSelector;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.GenerationProducer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationEvaluator;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationInitializer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.TwoPointCrossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.GuidedRecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.RecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.TournamentSelection;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("GeneticAlgorithm Unit Tests")
+class GeneticAlgorithmUnitTest {
+
+    private GeneticAlgorithmConfig config;
+    private GeneticAlgorithm geneticAlgorithm;
+    private DayCandidates candidates;
+    private Fitness fitness;
+
+    @BeforeEach
+    void setUp() {
+        config = new GeneticAlgorithmConfig();
+        config.setPopulationSize(30);
+        config.setMaxGenerations(200);
+        config.setMutationRate(0.3);
+        config.setEliteCount(3);
+
+        geneticAlgorithm = new GeneticAlgorithm(
+                new TwoPointCrossover(),
+                new RecipeMutate(),
+                new TournamentSelection(config),
+                config,
+                new PopulationInitializer(),
+                new PopulationEvaluator(),
+                new BestGenomeSelector(),
+                new GenerationProducer(),
+                ForkJoinPool.commonPool()
+        );
+
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        List<Recipe> recipes = new ArrayList<>();
+        long id = 1;
+        for (MealType mealType : MealType.values()) {
+            for (int i = 1; i <= 20; i++) {
+                recipes.add(Recipe.builder()
+                        .id(id++)
+                        .name(mealType + " " + i)
+                        .mealType(mealType)
+                        .dietType(dietType)
+                        .calories(100.0 + i * 25)
+                        .carbs(10.0 + i * 3)
+                        .protein(5.0 + i * 2)
+                        .fat(2.0 + i)
+                        .build());
+            }
+        }
+        candidates = RecipeCandidateSnapshot.of(1L, recipes).candidatesFor(dietType);
+
+        DietaryProfile profile = DietaryProfile.builder()
+                .calorieTarget(1600.0)
+                .carbsTarget(184.0)
+                .proteinTarget(116.0)
+                .fatTarget(56.0)
+                .build();
+        fitness = new MacroNutrientFitness(profile, config);
+    }
+
+    @Test
+    void run_shouldReturnGenomeWithOneCompatibleRecipePerMealType() {
+        Genome best = geneticAlgorithm.run(candidates, fitness).bestGenome();
+
+        assertThat(best.size()).isEqualTo(MealType.values().length);
+        for (int slot = 0; slot < best.size(); slot++) {
+            assertThat(candidates.recipe(best.getGenes()[slot]).getMealType())
+                    .isEqualTo(candidates.mealType(slot));
+        }
+    }
+
+    @Test
+    void run_shouldImproveOnRandomPopulation() {
+        Genome random = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        candidates.randomize(random, new SplittableRandom(1L));
+        double randomFitness = fitness.evaluate(random);
+
+        Genome best = geneticAlgorithm.run(candidates, fitness).bestGenome();
+
+        assertThat(best.getFitness()).isGreaterThanOrEqualTo(randomFitness);
+        assertThat(best.getFitness()).isGreaterThan(0.9);
+    }
+
+    @Test
+    void run_withGuidedMutation_shouldReachHighFitness() {
+        GeneticAlgorithm guided = new GeneticAlgorithm(
+                new TwoPointCrossover(),
+                new GuidedRecipeMutate(config),
+                new TournamentSelection(config),
+                config,
+                new PopulationInitializer(),
+                new PopulationEvaluator(),
+                new BestGenomeSelector(),
+                new GenerationProducer(),
+                ForkJoinPool.commonPool()
+        );
+
+        GeneticAlgorithmResult result = guided.run(candidates, fitness);
+
+        assertThat(result.bestGenome().getFitness()).isGreaterThan(0.95);
+    }
+
+    @Test
+    void run_shouldSkipEvaluationOfUnchangedGenomes() {
+        config.setTargetFitness(1.1);
+        config.setMaxGenerations(20);
+
+        GeneticAlgorithmResult result = geneticAlgorithm.run(candidates, fitness);
+
+        long naiveEvaluations = (long) result.generations() * config.getPopulationSize();
+        assertThat(result.generations()).isEqualTo(20);
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.MAX_GENERATIONS);
+        assertThat(result.evaluations() + result.skippedEvaluations() + result.memoHits())
+                .isEqualTo(naiveEvaluations);
+        assertThat(result.skippedEvaluations())
+                .isGreaterThanOrEqualTo((long) (result.generations() - 1) * config.getEliteCount());
+    }
+
+    @Test
+    void run_whenBestFitnessStopsImproving_shouldTerminateOnStagnation() {
+        config.setTargetFitness(1.1);
+        config.setMaxGenerations(1_000);
+        config.setStagnationGenerations(15);
+
+        GeneticAlgorithmResult result = geneticAlgorithm.run(candidates, fitness);
+
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.STAGNATION);
+        assertThat(result.generations()).isLessThan(1_000);
+    }
+
+    @Test
+    void run_whenDeadlinePasses_shouldReturnBestGenomeSoFar() {
+        config.setTargetFitness(1.1);
+        config.setMaxGenerations(Integer.MAX_VALUE);
+        config.setStagnationGenerations(0);
+
+        GeneticAlgorithmResult result = geneticAlgorithm.run(
+                candidates, fitness, RunBudget.of(Duration.ofMillis(50), new CancellationToken()), 1L);
+
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.DEADLINE);
+        assertThat(result.bestGenome()).isNotNull();
+        assertThat(result.bestGenome().getFitness()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void run_whenCancelled_shouldStopAfterCurrentGeneration() {
+        config.setIslandCount(2);
+        config.setMigrationInterval(5);
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+
+        GeneticAlgorithmResult result = geneticAlgorithm.run(
+                candidates, fitness, RunBudget.of(null, cancellationToken), 1L);
+
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.CANCELLED);
+        assertThat(result.generations()).isEqualTo(1);
+    }
+
+    @Test
+    void stagnationTracker_shouldRaiseMutationRateWhileStuckAndLowerItOnImprovement() {
+        config.setAdaptationWindow(2);
+        config.setMutationRateIncrease(2.0);
+        config.setMutationRateDecrease(0.5);
+        config.setMinMutationRate(0.05);
+        config.setMaxMutationRate(0.8);
+        StagnationTracker tracker = new StagnationTracker(0.2);
+
+        tracker.update(0.5, config);
+        tracker.update(0.5, config);
+        tracker.update(0.5, config);
+        assertThat(tracker.getStagnantGenerations()).isEqualTo(2);
+        assertThat(tracker.getMutationRate()).isCloseTo(0.4, within(1e-9));
+
+        tracker.update(0.5, config);
+        tracker.update(0.5, config);
+        assertThat(tracker.getMutationRate()).isCloseTo(0.8, within(1e-9));
+
+        tracker.update(0.9, config);
+        assertThat(tracker.getStagnantGenerations()).isZero();
+        assertThat(tracker.getMutationRate()).isCloseTo(0.4, within(1e-9));
+    }
+
+    @Test
+    void setGene_shouldUpdateTotalsIncrementally() {
+        Genome genome = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        candidates.randomize(genome, new SplittableRandom(1L));
+        genome.setEvaluated(true);
+
+        genome.setGene(0, candidates.candidate(0, 0));
+        genome.setGene(0, candidates.candidate(0, 1));
+
+        Genome recomputed = new Genome(genome);
+        recomputed.recomputeTotals();
+
+        assertThat(genome.isEvaluated()).isFalse();
+        assertThat(genome.getTotalCalories()).isCloseTo(recomputed.getTotalCalories(), within(1e-9));
+        assertThat(genome.getTotalCarbs()).isCloseTo(recomputed.getTotalCarbs(), within(1e-9));
+        assertThat(genome.getTotalProtein()).isCloseTo(recomputed.getTotalProtein(), within(1e-9));
+        assertThat(genome.getTotalFat()).isCloseTo(recomputed.getTotalFat(), within(1e-9));
+    }
+
+    @Test
+    void run_withIslands_shouldMigrateAndAggregateStatistics() {
+        config.setIslandCount(4);
+        config.setMigrationInterval(5);
+        config.setMigrationSize(2);
+        config.setTargetFitness(1.1);
+        config.setMaxGenerations(20);
+
+        GeneticAlgorithmResult result = geneticAlgorithm.run(candidates, fitness);
+
+        assertThat(result.generations()).isEqualTo(20);
+        assertThat(result.evaluations() + result.skippedEvaluations())
+                .isEqualTo(4L * 20 * config.getPopulationSize());
+        assertThat(result.bestGenome().getFitness()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void run_withIslandsOnSaturatedExecutor_shouldRunThemOnCallingThread() {
+        config.setIslandCount(4);
+        config.setMigrationInterval(5);
+        config.setTargetFitness(1.1);
+        config.setMaxGenerations(20);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            executor.execute(() -> awaitQuietly(release));
+            GeneticAlgorithm saturated = new GeneticAlgorithm(
+                    new TwoPointCrossover(),
+                    new RecipeMutate(),
+                    new TournamentSelection(config),
+                    config,
+                    new PopulationInitializer(),
+                    new PopulationEvaluator(),
+                    new BestGenomeSelector(),
+                    new GenerationProducer(),
+                    executor
+            );
+
+            GeneticAlgorithmResult result = saturated.run(candidates, fitness);
+
+            assertThat(result.generations()).isEqualTo(20);
+            assertThat(result.evaluations() + result.skippedEvaluations())
+                    .isEqualTo(4L * 20 * config.getPopulationSize());
+            assertThat(executor.getCompletedTaskCount()).isZero();
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void run_withSameSeed_shouldReproduceRunAcrossIslands() {
+        config.setIslandCount(3);
+        config.setMigrationInterval(5);
+        config.setTargetFitness(1.1);
+        config.setMaxGenerations(30);
+        config.setStagnationGenerations(0);
+
+        GeneticAlgorithmResult first = geneticAlgorithm.run(candidates, fitness, RunBudget.unbounded(), 42L);
+        GeneticAlgorithmResult second = geneticAlgorithm.run(candidates, fitness, RunBudget.unbounded(), 42L);
+
+        assertThat(second.bestGenome().getGenes()).containsExactly(first.bestGenome().getGenes());
+        assertThat(second.bestGenome().getFitness()).isEqualTo(first.bestGenome().getFitness());
+        assertThat(second.evaluations()).isEqualTo(first.evaluations());
+    }
+
+    @Test
+    void seeds_shouldDeriveDistinctStableStreams() {
+        assertThat(Seeds.derive(42L, 0)).isEqualTo(Seeds.derive(42L, 0));
+        assertThat(Seeds.derive(42L, 0)).isNotEqualTo(Seeds.derive(42L, 1));
+        assertThat(Seeds.derive(42L, 0)).isNotEqualTo(Seeds.derive(43L, 0));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
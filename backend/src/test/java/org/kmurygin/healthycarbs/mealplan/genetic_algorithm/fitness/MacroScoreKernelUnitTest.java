@@ -0,0 +1,70 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("MacroScoreKernel Unit Tests")
+class MacroScoreKernelUnitTest {
+
+    // Not a multiple of any vector width, so the scalar tail is exercised too.
+    private static final int BATCH_SIZE = 1_003;
+
+    private MacroNutrientFitness fitness;
+    private MacroBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        fitness = new MacroNutrientFitness(DietaryProfile.builder()
+                .calorieTarget(2000.0)
+                .carbsTarget(250.0)
+                .proteinTarget(100.0)
+                .fatTarget(0.0)
+                .build(), new GeneticAlgorithmConfig());
+        batch = new MacroBatch(16);
+        SplittableRandom random = new SplittableRandom(5L);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Genome genome = new Genome(new int[0]);
+            boolean empty = i % 97 == 0;
+            genome.setTotalCalories(empty ? 0.0 : random.nextDouble(0.0, 4000.0));
+            genome.setTotalCarbs(random.nextDouble(0.0, 500.0));
+            genome.setTotalProtein(random.nextDouble(0.0, 200.0));
+            genome.setTotalFat(i % 3 == 0 ? 0.0 : random.nextDouble(0.0, 120.0));
+            batch.add(genome);
+        }
+    }
+
+    @Test
+    void scalarKernel_shouldMatchPerGenomeEvaluation() {
+        MacroScoreKernels.scalar().score(batch, fitness);
+
+        for (int i = 0; i < batch.size(); i++) {
+            assertThat(batch.score(i)).isEqualTo(fitness.evaluate(batch.genome(i)));
+        }
+    }
+
+    @Test
+    void vectorKernel_shouldMatchScalarKernel() {
+        assumeTrue(MacroScoreKernels.vectorSupported(), "Vector API not available in this JVM");
+        MacroScoreKernels.scalar().score(batch, fitness);
+        double[] expected = new double[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            expected[i] = batch.score(i);
+        }
+
+        MacroScoreKernels.preferred().score(batch, fitness);
+
+        for (int i = 0; i < batch.size(); i++) {
+            assertThat(batch.score(i)).isCloseTo(expected[i], within(1e-12));
+        }
+    }
+}
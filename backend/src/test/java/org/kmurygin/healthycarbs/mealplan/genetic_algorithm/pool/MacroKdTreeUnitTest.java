@@ -0,0 +1,72 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.optimizer.SyntheticRecipeCatalog;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MacroKdTree Unit Tests")
+class MacroKdTreeUnitTest {
+
+    private final DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+
+    @Test
+    void nearest_shouldMatchLinearScan() {
+        List<Recipe> recipes = SyntheticRecipeCatalog.generate(2_000, 11L, dietType);
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, recipes);
+        RecipeMacroTable table = snapshot.getMacroTable();
+        int[] candidates = snapshot.getCandidateIndices(MealType.LUNCH, dietType);
+        double[] scales = table.meanMacros();
+        MacroKdTree tree = snapshot.getMacroIndex(MealType.LUNCH, dietType);
+
+        SplittableRandom random = new SplittableRandom(5L);
+        for (int query = 0; query < 200; query++) {
+            double calories = random.nextDouble() * 1_200;
+            double carbs = random.nextDouble() * 120;
+            double protein = random.nextDouble() * 60;
+            double fat = random.nextDouble() * 40;
+            int excluded = candidates[random.nextInt(candidates.length)];
+
+            int expected = -1;
+            double expectedDistance = Double.POSITIVE_INFINITY;
+            for (int candidate : candidates) {
+                if (candidate == excluded) {
+                    continue;
+                }
+                double distance = square((table.calories(candidate) - calories) / scales[0])
+                        + square((table.carbs(candidate) - carbs) / scales[1])
+                        + square((table.protein(candidate) - protein) / scales[2])
+                        + square((table.fat(candidate) - fat) / scales[3]);
+                if (distance < expectedDistance) {
+                    expectedDistance = distance;
+                    expected = candidate;
+                }
+            }
+
+            assertThat(tree.nearest(calories, carbs, protein, fat, excluded)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void nearest_whenOnlyCandidateIsExcluded_shouldReturnMinusOne() {
+        Recipe recipe = Recipe.builder().id(1L).mealType(MealType.SNACK).dietType(dietType)
+                .calories(200.0).carbs(20.0).protein(10.0).fat(5.0).build();
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, List.of(recipe));
+
+        MacroKdTree tree = snapshot.getMacroIndex(MealType.SNACK, dietType);
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.nearest(200, 20, 10, 5, 0)).isEqualTo(-1);
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+}
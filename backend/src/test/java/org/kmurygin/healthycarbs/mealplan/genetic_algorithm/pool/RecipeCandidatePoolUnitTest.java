@@ -0,0 +1,207 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.IngredientCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.model.RecipeIngredient;
+import org.kmurygin.healthycarbs.mealplan.repository.RecipeRepository;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeCandidatePool Unit Tests")
+class RecipeCandidatePoolUnitTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private RecipeCandidatePool recipeCandidatePool;
+
+    private DietType standardDietType;
+    private DietType veganDietType;
+    private Recipe standardBreakfast;
+    private Recipe veganBreakfast;
+
+    @BeforeEach
+    void setUp() {
+        recipeCandidatePool = new RecipeCandidatePool(recipeRepository);
+
+        standardDietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        veganDietType = DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build();
+
+        standardBreakfast = recipe(1L, MealType.BREAKFAST, standardDietType);
+        veganBreakfast = recipe(2L, MealType.BREAKFAST, veganDietType);
+    }
+
+    @Test
+    void current_shouldLoadCatalogOnce() {
+        when(recipeRepository.findAllWithDetails()).thenReturn(List.of(standardBreakfast, veganBreakfast));
+
+        RecipeCandidateSnapshot first = recipeCandidatePool.current();
+        RecipeCandidateSnapshot second = recipeCandidatePool.current();
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.getVersion()).isEqualTo(1L);
+        verify(recipeRepository, times(1)).findAllWithDetails();
+    }
+
+    @Test
+    void getCandidates_shouldIncludeOnlyCompatibleDietTypes() {
+        when(recipeRepository.findAllWithDetails()).thenReturn(List.of(standardBreakfast, veganBreakfast));
+
+        RecipeCandidateSnapshot snapshot = recipeCandidatePool.current();
+
+        assertThat(snapshot.getCandidates(MealType.BREAKFAST, veganDietType))
+                .containsExactlyInAnyOrder(standardBreakfast, veganBreakfast);
+        assertThat(snapshot.getCandidates(MealType.BREAKFAST, standardDietType))
+                .containsExactly(standardBreakfast);
+        assertThat(snapshot.getCandidates(MealType.LUNCH, veganDietType)).isEmpty();
+    }
+
+    @Test
+    void randomCandidate_whenNoCandidates_shouldThrowResourceNotFound() {
+        when(recipeRepository.findAllWithDetails()).thenReturn(List.of(standardBreakfast));
+
+        DayCandidates candidates = recipeCandidatePool.current().candidatesFor(standardDietType);
+
+        assertThatThrownBy(() -> candidates.randomCandidate(MealType.DINNER.ordinal(), new SplittableRandom(1L)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void onRecipeCatalogChanged_shouldPatchSnapshotWithoutFullReload() {
+        when(recipeRepository.findAllWithDetails()).thenReturn(List.of(standardBreakfast));
+        RecipeCandidateSnapshot initial = recipeCandidatePool.current();
+
+        when(recipeRepository.findWithDetailsById(2L)).thenReturn(Optional.of(veganBreakfast));
+        recipeCandidatePool.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(2L, false));
+
+        RecipeCandidateSnapshot patched = recipeCandidatePool.current();
+        assertThat(patched.getVersion()).isEqualTo(initial.getVersion() + 1);
+        assertThat(patched.getCandidates(MealType.BREAKFAST, veganDietType)).contains(veganBreakfast);
+        assertThat(initial.getCandidates(MealType.BREAKFAST, veganDietType)).doesNotContain(veganBreakfast);
+
+        recipeCandidatePool.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(1L, true));
+
+        assertThat(recipeCandidatePool.current().getCandidates(MealType.BREAKFAST, veganDietType))
+                .containsExactly(veganBreakfast);
+        verify(recipeRepository, times(1)).findAllWithDetails();
+    }
+
+    @Test
+    void onIngredientCatalogChanged_shouldRereadOnlyRecipesUsingIngredient() {
+        Ingredient oats = Ingredient.builder().id(5L).name("Oats").build();
+        standardBreakfast.addIngredient(RecipeIngredient.builder().ingredient(oats).quantity(50.0).build());
+        when(recipeRepository.findAllWithDetails()).thenReturn(List.of(standardBreakfast, veganBreakfast));
+        RecipeCandidateSnapshot initial = recipeCandidatePool.current();
+
+        when(recipeRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(standardBreakfast));
+        recipeCandidatePool.onIngredientCatalogChanged(new IngredientCatalogChangedEvent(5L));
+        recipeCandidatePool.onIngredientCatalogChanged(new IngredientCatalogChangedEvent(6L));
+
+        assertThat(recipeCandidatePool.current().getVersion()).isEqualTo(initial.getVersion() + 1);
+        verify(recipeRepository, times(1)).findAllWithDetailsByIdIn(List.of(1L));
+        verify(recipeRepository, times(1)).findAllWithDetails();
+    }
+
+    @Test
+    void onRecipeCatalogChanged_whenNotLoaded_shouldSkip() {
+        recipeCandidatePool.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(1L, false));
+
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void onRecipeCatalogChanged_whenCommittedDuringFirstLoad_shouldApplyAfterLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(recipeRepository.findAllWithDetails()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(standardBreakfast);
+        });
+        when(recipeRepository.findWithDetailsById(2L)).thenReturn(Optional.of(veganBreakfast));
+
+        CompletableFuture<RecipeCandidateSnapshot> load = CompletableFuture.supplyAsync(recipeCandidatePool::current);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> patch = CompletableFuture.runAsync(
+                () -> recipeCandidatePool.onRecipeCatalogChanged(new RecipeCatalogChangedEvent(2L, false)));
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        patch.get(5, TimeUnit.SECONDS);
+
+        assertThat(recipeCandidatePool.current().getCandidates(MealType.BREAKFAST, veganDietType))
+                .contains(veganBreakfast);
+    }
+
+    @Test
+    void refresh_whenCatalogUnchanged_shouldKeepSnapshot() {
+        Instant updatedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(recipeRepository.findAllWithDetails()).thenReturn(List.of(standardBreakfast));
+        when(recipeRepository.count()).thenReturn(1L);
+        when(recipeRepository.findLatestRecipeUpdate()).thenReturn(updatedAt);
+        RecipeCandidateSnapshot initial = recipeCandidatePool.current();
+
+        recipeCandidatePool.refresh();
+
+        assertThat(recipeCandidatePool.current()).isSameAs(initial);
+        verify(recipeRepository, times(1)).findAllWithDetails();
+    }
+
+    @Test
+    void refresh_whenCatalogChangedElsewhere_shouldReload() {
+        Instant updatedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(recipeRepository.findAllWithDetails())
+                .thenReturn(List.of(standardBreakfast))
+                .thenReturn(List.of(standardBreakfast, veganBreakfast));
+        when(recipeRepository.count()).thenReturn(1L, 2L);
+        when(recipeRepository.findLatestRecipeUpdate()).thenReturn(updatedAt, updatedAt.plusSeconds(60));
+        RecipeCandidateSnapshot initial = recipeCandidatePool.current();
+
+        recipeCandidatePool.refresh();
+
+        RecipeCandidateSnapshot refreshed = recipeCandidatePool.current();
+        assertThat(refreshed.getVersion()).isEqualTo(initial.getVersion() + 1);
+        assertThat(refreshed.getCandidates(MealType.BREAKFAST, veganDietType)).contains(veganBreakfast);
+    }
+
+    @Test
+    void refresh_whenNotLoaded_shouldSkip() {
+        recipeCandidatePool.refresh();
+
+        verifyNoInteractions(recipeRepository);
+    }
+
+    private Recipe recipe(Long id, MealType mealType, DietType dietType) {
+        return Recipe.builder()
+                .id(id)
+                .name("Recipe " + id)
+                .mealType(mealType)
+                .dietType(dietType)
+                .calories(400.0)
+                .carbs(40.0)
+                .protein(20.0)
+                .fat(10.0)
+                .build();
+    }
+}
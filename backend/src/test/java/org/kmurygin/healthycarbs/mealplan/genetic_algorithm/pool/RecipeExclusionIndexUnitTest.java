@@ -0,0 +1,95 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.model.Allergen;
+import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.model.RecipeIngredient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeExclusionIndex Unit Tests")
+class RecipeExclusionIndexUnitTest {
+
+    private static final int INGREDIENTS = 150;
+
+    private final DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+    private final Allergen peanuts = Allergen.builder().id(1L).name("Peanuts").build();
+    private final Allergen milk = Allergen.builder().id(2L).name("Milk").build();
+    private RecipeCandidateSnapshot snapshot;
+
+    // Recipe r uses ingredients r and r + 1; every third ingredient contains peanuts, every fifth milk.
+    @BeforeEach
+    void setUp() {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (long id = 0; id < INGREDIENTS; id++) {
+            Set<Allergen> allergens = id % 3 == 0 ? Set.of(peanuts) : id % 5 == 0 ? Set.of(milk) : Set.of();
+            ingredients.add(Ingredient.builder().id(id).name("Ingredient " + id).allergens(allergens).build());
+        }
+        List<Recipe> recipes = new ArrayList<>();
+        for (int r = 0; r < INGREDIENTS - 1; r++) {
+            Recipe recipe = Recipe.builder()
+                    .id((long) r + 1)
+                    .name("Recipe " + r)
+                    .mealType(MealType.values()[r % MealType.values().length])
+                    .dietType(dietType)
+                    .calories(300.0 + r)
+                    .carbs(30.0)
+                    .protein(20.0)
+                    .fat(10.0)
+                    .build();
+            recipe.addIngredient(RecipeIngredient.builder().ingredient(ingredients.get(r)).quantity(1.0).build());
+            recipe.addIngredient(RecipeIngredient.builder().ingredient(ingredients.get(r + 1)).quantity(1.0).build());
+            recipes.add(recipe);
+        }
+        snapshot = RecipeCandidateSnapshot.of(1L, recipes);
+    }
+
+    @Test
+    void candidatesFor_withExcludedAllergen_shouldDropEveryRecipeContainingIt() {
+        DayCandidates all = snapshot.candidatesFor(dietType);
+        DayCandidates filtered = snapshot.candidatesFor(dietType, new RecipeExclusion(Set.of(peanuts.getId()), null));
+
+        for (int slot = 0; slot < filtered.slotCount(); slot++) {
+            assertThat(filtered.candidateCount(slot)).isLessThan(all.candidateCount(slot)).isPositive();
+            for (int position = 0; position < filtered.candidateCount(slot); position++) {
+                assertThat(containsAllergen(filtered.candidate(slot, position), peanuts)).isFalse();
+            }
+            int nearest = filtered.nearestCandidate(slot, 300.0, 30.0, 20.0, 10.0, -1);
+            assertThat(containsAllergen(nearest, peanuts)).isFalse();
+        }
+    }
+
+    @Test
+    void excludedRecipeIds_shouldMatchIngredientsBeyondTheFirstWord() {
+        List<Long> excluded = snapshot.getExclusionIndex()
+                .excludedRecipeIds(new RecipeExclusion(null, Set.of(100L, 140L)));
+
+        // Ingredient i is used by recipes i - 1 and i, which have ids i and i + 1.
+        assertThat(excluded).containsExactlyInAnyOrder(100L, 101L, 140L, 141L);
+        assertThat(snapshot.getExclusionIndex().recipeIdsUsingIngredient(0L)).containsExactly(1L);
+    }
+
+    @Test
+    void candidatesFor_withUnknownIds_shouldKeepEveryCandidate() {
+        DayCandidates all = snapshot.candidatesFor(dietType);
+        DayCandidates filtered = snapshot.candidatesFor(dietType, new RecipeExclusion(Set.of(99L), Set.of(9_999L)));
+
+        for (int slot = 0; slot < all.slotCount(); slot++) {
+            assertThat(filtered.candidateCount(slot)).isEqualTo(all.candidateCount(slot));
+        }
+    }
+
+    private boolean containsAllergen(int recipeIndex, Allergen allergen) {
+        return snapshot.getMacroTable().recipe(recipeIndex).getIngredients().stream()
+                .anyMatch(recipeIngredient -> recipeIngredient.getIngredient().getAllergens().contains(allergen));
+    }
+}
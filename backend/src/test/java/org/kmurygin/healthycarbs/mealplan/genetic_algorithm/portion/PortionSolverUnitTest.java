@@ -0,0 +1,104 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroBatch;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("PortionSolver Unit Tests")
+class PortionSolverUnitTest {
+
+    private final PortionScalingProperties properties = new PortionScalingProperties();
+    private final PortionSolver solver = new PortionSolver(properties);
+    private Genome day;
+
+    @BeforeEach
+    void setUp() {
+        // Day totals: 2400 kcal, 270 g carbs, 120 g protein, 90 g fat.
+        List<Recipe> recipes = List.of(
+                recipe(1L, 500.0, 60.0, 25.0, 15.0),
+                recipe(2L, 700.0, 80.0, 35.0, 25.0),
+                recipe(3L, 900.0, 100.0, 45.0, 35.0),
+                recipe(4L, 300.0, 30.0, 15.0, 15.0));
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, recipes);
+        day = new Genome(recipes.size(), snapshot.getMacroTable());
+        for (int slot = 0; slot < recipes.size(); slot++) {
+            day.getGenes()[slot] = snapshot.indexOf(recipes.get(slot).getId());
+        }
+        day.recomputeTotals();
+    }
+
+    @Test
+    void solve_whenTargetsReachableByScaling_shouldHitTargets() {
+        MacroNutrientFitness fitness = fitness(2_000.0, 225.0, 100.0, 75.0);
+
+        PortionPlan plan = solver.solve(day, fitness);
+
+        assertThat(fitness.evaluate(day)).isLessThan(0.7);
+        assertThat(plan.fitness()).isGreaterThan(0.999);
+        assertThat(plan.totalCalories()).isCloseTo(2_000.0, within(2.0));
+        assertThat(plan.portions()).allSatisfy(portion -> assertThat(portion).isBetween(0.75, 1.5));
+    }
+
+    @Test
+    void solve_whenTargetsOutOfRange_shouldClampToBounds() {
+        PortionPlan plan = solver.solve(day, fitness(6_000.0, 700.0, 300.0, 230.0));
+
+        assertThat(plan.portions()).containsOnly(1.5);
+        assertThat(plan.totalCalories()).isCloseTo(3_600.0, within(1e-9));
+    }
+
+    @Test
+    void solve_shouldNeverScoreBelowUnscaledDay() {
+        MacroNutrientFitness fitness = fitness(2_200.0, 120.0, 200.0, 60.0);
+        double unscaled = fitness.evaluate(day);
+
+        PortionPlan plan = solver.solve(day, fitness);
+
+        assertThat(plan.fitness()).isGreaterThanOrEqualTo(unscaled);
+        assertThat(new PortionScaledFitness(fitness, solver).evaluate(day)).isEqualTo(plan.fitness());
+    }
+
+    @Test
+    void evaluateBatch_shouldMatchSingleEvaluationsAcrossReuse() {
+        PortionScaledFitness scaledFitness = new PortionScaledFitness(fitness(2_000.0, 225.0, 100.0, 75.0), solver);
+        double single = scaledFitness.evaluate(day);
+        MacroBatch batch = new MacroBatch(1);
+
+        for (int round = 0; round < 2; round++) {
+            batch.clear();
+            batch.add(day);
+            batch.add(day);
+            scaledFitness.evaluate(batch);
+
+            assertThat(batch.score(0)).isCloseTo(single, within(1e-9));
+            assertThat(batch.score(1)).isCloseTo(single, within(1e-9));
+        }
+    }
+
+    private static MacroNutrientFitness fitness(double calories, double carbs, double protein, double fat) {
+        DietaryProfile profile = DietaryProfile.builder()
+                .calorieTarget(calories)
+                .carbsTarget(carbs)
+                .proteinTarget(protein)
+                .fatTarget(fat)
+                .build();
+        return new MacroNutrientFitness(profile, new GeneticAlgorithmConfig());
+    }
+
+    private static Recipe recipe(Long id, double calories, double carbs, double protein, double fat) {
+        return Recipe.builder().id(id).calories(calories).carbs(carbs).protein(protein).fat(fat).build();
+    }
+}
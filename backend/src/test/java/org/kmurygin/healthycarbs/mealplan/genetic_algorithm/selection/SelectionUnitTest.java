@@ -0,0 +1,115 @@
+package org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Population;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Selection strategies Unit Tests")
+class SelectionUnitTest {
+
+    private static final int POPULATION_SIZE = 10;
+    private static final int PICKS = 20_000;
+
+    private GeneticAlgorithmConfig config;
+    private Genome[] population;
+
+    @BeforeEach
+    void setUp() {
+        config = new GeneticAlgorithmConfig();
+        population = new Genome[POPULATION_SIZE];
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            population[i] = new Genome(new int[]{i});
+            population[i].setFitness((i + 1) / (double) POPULATION_SIZE);
+        }
+    }
+
+    @Test
+    void tournament_shouldFavourFitterGenomesAsSizeGrows() {
+        config.setTournamentSize(1);
+        double uniform = averagePickedFitness(new TournamentSelection(config));
+        config.setTournamentSize(4);
+        double pressured = averagePickedFitness(new TournamentSelection(config));
+
+        assertThat(uniform).isCloseTo(0.55, within(0.02));
+        assertThat(pressured).isGreaterThan(uniform + 0.2);
+    }
+
+    @Test
+    void rank_shouldWeightByRankNotByFitnessScale() {
+        config.setRankSelectionPressure(2.0);
+        int[] counts = pickCounts(new RankSelection(config));
+
+        // Pressure 2 gives the worst genome weight 0 and the best twice the average share.
+        assertThat(counts[0]).isZero();
+        assertThat(counts[POPULATION_SIZE - 1] / (double) PICKS).isCloseTo(0.2, within(0.02));
+    }
+
+    @Test
+    void populationRank_shouldOrderIndicesBestFirst() {
+        double[] fitness = {0.4, 0.9, 0.1, 0.7, 0.4, 1.0, 0.0, 0.3, 0.8, 0.6};
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            population[i].setFitness(fitness[i]);
+        }
+        int[] ranking = new int[POPULATION_SIZE];
+
+        Population.rank(population, ranking);
+
+        assertThat(ranking).startsWith(5, 1, 8, 3, 9).endsWith(7, 2, 6);
+        assertThat(ranking).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void stochasticUniversalSampling_shouldMatchExpectedCountsWithinOne() {
+        int[] counts = new int[POPULATION_SIZE];
+        int parents = 100;
+        ParentSampler sampler = new StochasticUniversalSampling().sampler(population, parents, new SplittableRandom(3L));
+        for (int i = 0; i < parents; i++) {
+            counts[sampler.next().getGenes()[0]]++;
+        }
+
+        double total = 5.5;
+        // SUS never strays more than one pick from the proportional share.
+        for (int i = 0; i < POPULATION_SIZE; i++) {
+            double expected = parents * population[i].getFitness() / total;
+            assertThat((double) counts[i]).isBetween(Math.floor(expected), Math.ceil(expected));
+        }
+    }
+
+    @Test
+    void aliasTable_whenWeightsAreZero_shouldSampleUniformly() {
+        AliasTable table = new AliasTable(new double[]{0.0, 0.0, 0.0});
+        SplittableRandom random = new SplittableRandom(5L);
+        int[] counts = new int[3];
+        for (int i = 0; i < 3_000; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        assertThat(counts).allSatisfy(count -> assertThat(count).isBetween(850, 1_150));
+    }
+
+    private double averagePickedFitness(Selection selection) {
+        ParentSampler sampler = selection.sampler(population, PICKS, new SplittableRandom(2L));
+        double sum = 0.0;
+        for (int i = 0; i < PICKS; i++) {
+            sum += sampler.next().getFitness();
+        }
+        return sum / PICKS;
+    }
+
+    private int[] pickCounts(Selection selection) {
+        ParentSampler sampler = selection.sampler(population, PICKS, new SplittableRandom(4L));
+        int[] counts = new int[POPULATION_SIZE];
+        for (int i = 0; i < PICKS; i++) {
+            counts[sampler.next().getGenes()[0]]++;
+        }
+        return counts;
+    }
+}
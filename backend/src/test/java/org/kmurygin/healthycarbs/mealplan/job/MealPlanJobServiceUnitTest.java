@@ -0,0 +1,239 @@
+package org.kmurygin.healthycarbs.mealplan.job;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kmurygin.healthycarbs.exception.ServiceBusyException;
+import org.kmurygin.healthycarbs.exception.TooManyRequestsException;
+import org.kmurygin.healthycarbs.mealplan.MealPlanJobStatus;
+import org.kmurygin.healthycarbs.mealplan.QualityTier;
+import org.kmurygin.healthycarbs.mealplan.compute.OptimizationAdmissionControl;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanComputeProperties;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanJobProperties;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanGenerationOptions;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanJobDTO;
+import org.kmurygin.healthycarbs.mealplan.mapper.MealPlanJobMapper;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
+import org.kmurygin.healthycarbs.mealplan.model.MealPlanJob;
+import org.kmurygin.healthycarbs.mealplan.repository.MealPlanJobRepository;
+import org.kmurygin.healthycarbs.mealplan.service.MealPlanService;
+import org.kmurygin.healthycarbs.user.UserTestUtils;
+import org.kmurygin.healthycarbs.user.model.User;
+import org.kmurygin.healthycarbs.user.service.UserService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MealPlanJobServiceUnitTest {
+
+    @Mock
+    private MealPlanJobRepository mealPlanJobRepository;
+    @Mock
+    private MealPlanJobQueue mealPlanJobQueue;
+    @Mock
+    private MealPlanJobMapper mealPlanJobMapper;
+    @Mock
+    private MealPlanService mealPlanService;
+    @Mock
+    private UserService userService;
+
+    private final MealPlanJobProperties properties = new MealPlanJobProperties();
+    private final OptimizationAdmissionControl admissionControl =
+            new OptimizationAdmissionControl(new MealPlanComputeProperties(), new SimpleMeterRegistry());
+    private MealPlanJobService mealPlanJobService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        mealPlanJobService = new MealPlanJobService(
+                mealPlanJobRepository,
+                mealPlanJobQueue,
+                mealPlanJobMapper,
+                mealPlanService,
+                userService,
+                properties,
+                admissionControl
+        );
+        user = UserTestUtils.createTestUser(1L, "user");
+    }
+
+    @Test
+    void submit_shouldPersistQueuedJobAndEnqueueByQualityPriority() {
+        MealPlanJobDTO dto = MealPlanJobDTO.builder().id(10L).build();
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(mealPlanJobRepository.save(any())).thenAnswer(i -> {
+            MealPlanJob job = i.getArgument(0);
+            job.setId(10L);
+            return job;
+        });
+        when(mealPlanJobQueue.offer(anyInt(), any())).thenReturn(true);
+        when(mealPlanJobMapper.toDTO(any())).thenReturn(dto);
+
+        MealPlanJobDTO result = mealPlanJobService.submit(new MealPlanGenerationOptions(QualityTier.FAST, null, 7L));
+
+        ArgumentCaptor<MealPlanJob> captor = ArgumentCaptor.forClass(MealPlanJob.class);
+        verify(mealPlanJobRepository).save(captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualTo(MealPlanJobStatus.QUEUED);
+        assertThat(captor.getValue().getUser()).isSameAs(user);
+        assertThat(captor.getValue().getSeed()).isEqualTo(7L);
+        verify(mealPlanJobQueue).offer(eq(QualityTier.FAST.ordinal()), any());
+        assertThat(result).isSameAs(dto);
+    }
+
+    @Test
+    void submit_whenQueueFull_shouldRejectWithoutPersisting() {
+        properties.setQueueCapacity(1);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(mealPlanJobQueue.pending()).thenReturn(1);
+
+        assertThatThrownBy(() -> mealPlanJobService.submit(MealPlanGenerationOptions.defaults()))
+                .isInstanceOf(ServiceBusyException.class);
+        verify(mealPlanJobRepository, never()).save(any());
+    }
+
+    @Test
+    void submit_whenUserHasJobInFlight_shouldRejectUntilItFinishes() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(mealPlanJobRepository.save(any())).thenAnswer(i -> {
+            MealPlanJob job = i.getArgument(0);
+            job.setId(10L);
+            return job;
+        });
+        when(mealPlanJobQueue.offer(anyInt(), any())).thenReturn(true);
+
+        mealPlanJobService.submit(MealPlanGenerationOptions.defaults());
+
+        assertThatThrownBy(() -> mealPlanJobService.submit(MealPlanGenerationOptions.defaults()))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(admissionControl.inFlight(user.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void run_whenClaimLost_shouldNotGenerate() {
+        when(mealPlanJobRepository.claim(eq(5L), eq(MealPlanJobStatus.QUEUED), eq(MealPlanJobStatus.RUNNING), any()))
+                .thenReturn(0);
+
+        mealPlanJobService.run(5L);
+
+        verify(mealPlanJobRepository, never()).findById(any());
+        verify(mealPlanService, never()).generateMealPlanFor(any(), any(), any());
+    }
+
+    @Test
+    void subscribe_whenJobFinishesBeforeRegistration_shouldCompleteEmitter() {
+        MealPlanJob running = MealPlanJob.builder().id(5L).user(user).status(MealPlanJobStatus.RUNNING).build();
+        MealPlanJob completed = MealPlanJob.builder().id(5L).user(user).status(MealPlanJobStatus.COMPLETED).build();
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(mealPlanJobRepository.findByIdAndUser(5L, user)).thenReturn(Optional.of(running));
+        when(mealPlanJobRepository.findById(5L)).thenReturn(Optional.of(completed));
+        when(mealPlanJobMapper.toDTO(completed)).thenReturn(MealPlanJobDTO.builder().id(5L).build());
+
+        SseEmitter emitter = mealPlanJobService.subscribe(5L);
+
+        verify(mealPlanJobMapper).toDTO(completed);
+        assertThatThrownBy(() -> emitter.send("late")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void run_shouldGenerateForJobOwnerAndComplete() {
+        MealPlanJob job = MealPlanJob.builder().id(5L).user(user).status(MealPlanJobStatus.RUNNING)
+                .startedAt(Instant.now()).build();
+        MealPlan mealPlan = new MealPlan();
+        when(mealPlanJobRepository.claim(eq(5L), eq(MealPlanJobStatus.QUEUED), eq(MealPlanJobStatus.RUNNING), any()))
+                .thenReturn(1);
+        when(mealPlanJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(mealPlanJobRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(userService.getUserById(1L)).thenReturn(Optional.of(user));
+        when(mealPlanService.generateMealPlanFor(eq(user), any(), any())).thenReturn(mealPlan);
+
+        mealPlanJobService.run(5L);
+
+        assertThat(job.getStatus()).isEqualTo(MealPlanJobStatus.COMPLETED);
+        assertThat(job.getMealPlan()).isSameAs(mealPlan);
+        assertThat(job.getStartedAt()).isNotNull();
+        assertThat(job.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void run_whenGenerationFails_shouldRecordFailureWithoutExceptionDetails() {
+        MealPlanJob job = MealPlanJob.builder().id(5L).user(user).status(MealPlanJobStatus.RUNNING).build();
+        when(mealPlanJobRepository.claim(eq(5L), eq(MealPlanJobStatus.QUEUED), eq(MealPlanJobStatus.RUNNING), any()))
+                .thenReturn(1);
+        when(mealPlanJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(mealPlanJobRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(userService.getUserById(1L)).thenReturn(Optional.of(user));
+        when(mealPlanService.generateMealPlanFor(eq(user), any(), any()))
+                .thenThrow(new IllegalStateException("no recipes"));
+
+        mealPlanJobService.run(5L);
+
+        assertThat(job.getStatus()).isEqualTo(MealPlanJobStatus.FAILED);
+        assertThat(job.getErrorMessage()).isEqualTo("Meal plan generation failed, please try again");
+    }
+
+    @Test
+    void run_whenGenerationThrowsError_shouldFailJobAndReleasePermit() {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(mealPlanJobRepository.save(any())).thenAnswer(i -> {
+            MealPlanJob job = i.getArgument(0);
+            job.setId(5L);
+            return job;
+        });
+        when(mealPlanJobQueue.offer(anyInt(), any())).thenReturn(true);
+        mealPlanJobService.submit(MealPlanGenerationOptions.defaults());
+        ArgumentCaptor<MealPlanJob> captor = ArgumentCaptor.forClass(MealPlanJob.class);
+        verify(mealPlanJobRepository).save(captor.capture());
+        MealPlanJob job = captor.getValue();
+        when(mealPlanJobRepository.claim(eq(5L), eq(MealPlanJobStatus.QUEUED), eq(MealPlanJobStatus.RUNNING), any()))
+                .thenReturn(1);
+        when(mealPlanJobRepository.findById(5L)).thenReturn(Optional.of(job));
+        when(userService.getUserById(1L)).thenReturn(Optional.of(user));
+        when(mealPlanService.generateMealPlanFor(eq(user), any(), any()))
+                .thenThrow(new OutOfMemoryError("Java heap space"));
+
+        assertThatThrownBy(() -> mealPlanJobService.run(5L)).isInstanceOf(OutOfMemoryError.class);
+
+        assertThat(job.getStatus()).isEqualTo(MealPlanJobStatus.FAILED);
+        assertThat(job.getErrorMessage()).isEqualTo("Meal plan generation failed, please try again");
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(admissionControl.inFlight(user.getId())).isZero();
+    }
+
+    @Test
+    void recoverPendingJobs_shouldRequeueStaleRunningJobsOnly() {
+        MealPlanJob stale = MealPlanJob.builder().id(1L).user(user).status(MealPlanJobStatus.RUNNING)
+                .startedAt(Instant.now().minusSeconds(3600)).build();
+        MealPlanJob live = MealPlanJob.builder().id(3L).user(user).status(MealPlanJobStatus.RUNNING)
+                .startedAt(Instant.now()).build();
+        MealPlanJob queued = MealPlanJob.builder().id(2L).user(user).status(MealPlanJobStatus.QUEUED).build();
+        when(mealPlanJobRepository.findByStatusInOrderByCreatedAtAsc(any())).thenReturn(List.of(stale, live, queued));
+        when(mealPlanJobRepository.requeueStale(eq(1L), any(), any())).thenReturn(1);
+        when(mealPlanJobRepository.requeueStale(eq(3L), any(), any())).thenReturn(0);
+        when(mealPlanJobQueue.offer(anyInt(), any())).thenReturn(true);
+
+        mealPlanJobService.recoverPendingJobs();
+
+        assertThat(stale.getStatus()).isEqualTo(MealPlanJobStatus.QUEUED);
+        assertThat(stale.getStartedAt()).isNull();
+        assertThat(live.getStatus()).isEqualTo(MealPlanJobStatus.RUNNING);
+        verify(mealPlanJobRepository, never()).save(any());
+        verify(mealPlanJobQueue, times(2)).offer(anyInt(), any());
+    }
+}
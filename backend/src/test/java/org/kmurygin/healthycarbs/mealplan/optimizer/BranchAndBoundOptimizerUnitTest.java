@@ -0,0 +1,135 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeMacroTable;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("BranchAndBoundOptimizer Unit Tests")
+class BranchAndBoundOptimizerUnitTest {
+
+    private GeneticAlgorithmConfig config;
+    private BranchAndBoundOptimizer optimizer;
+    private DayCandidates candidates;
+    private MacroNutrientFitness fitness;
+
+    @BeforeEach
+    void setUp() {
+        config = new GeneticAlgorithmConfig();
+        optimizer = new BranchAndBoundOptimizer(config);
+
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        candidates = RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(80, 42L, dietType))
+                .candidatesFor(dietType);
+
+        DietaryProfile profile = DietaryProfile.builder()
+                .calorieTarget(1900.0)
+                .carbsTarget(210.0)
+                .proteinTarget(95.0)
+                .fatTarget(60.0)
+                .build();
+        fitness = new MacroNutrientFitness(profile, config);
+    }
+
+    @Test
+    void optimize_withPairTable_shouldMatchExhaustiveSearch() {
+        OptimizationResult result = optimizer.optimize(candidates, fitness, RunBudget.unbounded(), 1L);
+
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.OPTIMAL);
+        assertThat(result.bestGenome().getFitness()).isCloseTo(bruteForceBest(), within(1e-12));
+        assertThat(result.evaluations()).isLessThan(totalCombinations());
+    }
+
+    @Test
+    void optimize_withSingleSlotInnerTable_shouldMatchExhaustiveSearch() {
+        config.setExactMaxInnerTableSize(1);
+
+        OptimizationResult result = optimizer.optimize(candidates, fitness, RunBudget.unbounded(), 1L);
+
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.OPTIMAL);
+        assertThat(result.bestGenome().getFitness()).isCloseTo(bruteForceBest(), within(1e-12));
+    }
+
+    @Test
+    void optimize_shouldReturnGenomeWithConsistentTotals() {
+        OptimizationResult result = optimizer.optimize(candidates, fitness, RunBudget.unbounded(), 1L);
+
+        RecipeMacroTable table = candidates.getMacroTable();
+        double calories = 0.0;
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            int gene = result.bestGenome().getGenes()[slot];
+            assertThat(candidates.recipe(gene).getMealType()).isEqualTo(candidates.mealType(slot));
+            calories += table.calories(gene);
+        }
+        assertThat(result.bestGenome().getTotalCalories()).isCloseTo(calories, within(1e-9));
+        assertThat(result.bestGenome().isEvaluated()).isTrue();
+    }
+
+    @Test
+    void optimize_whenCancelled_shouldStillReturnIncumbent() {
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+
+        OptimizationResult result = optimizer.optimize(
+                candidates, fitness, RunBudget.of(Duration.ofSeconds(10), cancellationToken), 1L);
+
+        assertThat(result.bestGenome()).isNotNull();
+        assertThat(result.terminationReason()).isIn(TerminationReason.CANCELLED, TerminationReason.OPTIMAL);
+    }
+
+    @Test
+    void optimize_withNonMacroFitness_shouldThrow() {
+        assertThatThrownBy(() -> optimizer.optimize(candidates, mock(Fitness.class), RunBudget.unbounded(), 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long totalCombinations() {
+        long combinations = 1;
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            combinations *= candidates.candidateCount(slot);
+        }
+        return combinations;
+    }
+
+    private double bruteForceBest() {
+        RecipeMacroTable table = candidates.getMacroTable();
+        double best = Double.NEGATIVE_INFINITY;
+        for (int a = 0; a < candidates.candidateCount(0); a++) {
+            for (int b = 0; b < candidates.candidateCount(1); b++) {
+                for (int c = 0; c < candidates.candidateCount(2); c++) {
+                    for (int d = 0; d < candidates.candidateCount(3); d++) {
+                        int[] genes = {
+                                candidates.candidate(0, a), candidates.candidate(1, b),
+                                candidates.candidate(2, c), candidates.candidate(3, d)};
+                        double calories = 0, carbs = 0, protein = 0, fat = 0;
+                        for (int gene : genes) {
+                            calories += table.calories(gene);
+                            carbs += table.carbs(gene);
+                            protein += table.protein(gene);
+                            fat += table.fat(gene);
+                        }
+                        best = Math.max(best, fitness.evaluate(calories, carbs, protein, fat));
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
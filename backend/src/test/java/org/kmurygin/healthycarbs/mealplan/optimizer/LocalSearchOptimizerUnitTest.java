@@ -0,0 +1,110 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.LocalSearchProperties;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Local search optimizer Unit Tests")
+class LocalSearchOptimizerUnitTest {
+
+    private final GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+    private final LocalSearchProperties properties = new LocalSearchProperties();
+    private DayCandidates candidates;
+    private MacroNutrientFitness fitness;
+
+    @BeforeEach
+    void setUp() {
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        candidates = RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(2_000, 11L, dietType))
+                .candidatesFor(dietType);
+        fitness = new MacroNutrientFitness(DietaryProfile.builder()
+                .calorieTarget(1900.0)
+                .carbsTarget(210.0)
+                .proteinTarget(95.0)
+                .fatTarget(60.0)
+                .build(), config);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"annealing", "tabu"})
+    void optimize_shouldReachTargetFitnessWithinEvaluationBudget(String engine) {
+        config.setTargetFitness(0.95);
+
+        OptimizationResult result = optimizer(engine).optimize(candidates, fitness, RunBudget.unbounded(), 3L);
+
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.TARGET_REACHED);
+        assertThat(result.bestGenome().getFitness()).isGreaterThanOrEqualTo(config.getTargetFitness());
+        assertThat(result.evaluations()).isLessThanOrEqualTo(properties.getMaxEvaluations());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"annealing", "tabu"})
+    void optimize_shouldReturnBestGenomeWithConsistentTotalsAndFitness(String engine) {
+        config.setTargetFitness(1.1);
+        properties.setMaxEvaluations(3_000);
+
+        Genome best = optimizer(engine).optimize(candidates, fitness, RunBudget.unbounded(), 5L).bestGenome();
+
+        Genome recomputed = new Genome(best);
+        recomputed.recomputeTotals();
+        assertThat(best.getTotalCalories()).isCloseTo(recomputed.getTotalCalories(), within(1e-6));
+        assertThat(fitness.evaluate(recomputed)).isCloseTo(best.getFitness(), within(1e-9));
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            assertThat(candidates.contains(slot, best.getGenes()[slot])).isTrue();
+        }
+    }
+
+    @Test
+    void optimize_withSameSeed_shouldBeReproducible() {
+        config.setTargetFitness(1.1);
+        properties.setMaxEvaluations(2_000);
+        MealPlanOptimizer tabu = optimizer("tabu");
+
+        OptimizationResult first = tabu.optimize(candidates, fitness, RunBudget.unbounded(), 9L);
+        OptimizationResult second = tabu.optimize(candidates, fitness, RunBudget.unbounded(), 9L);
+
+        assertThat(second.bestGenome().getGenes()).containsExactly(first.bestGenome().getGenes());
+        assertThat(second.evaluations()).isEqualTo(first.evaluations());
+    }
+
+    @Test
+    void optimize_whenCancelled_shouldStopWithCancelledReason() {
+        config.setTargetFitness(1.1);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        OptimizationResult result = optimizer("annealing")
+                .optimize(candidates, fitness, RunBudget.of(Duration.ofSeconds(5), token), 1L);
+
+        assertThat(result.terminationReason()).isEqualTo(TerminationReason.CANCELLED);
+    }
+
+    private MealPlanOptimizer optimizer(String engine) {
+        PortionScalingProperties fixedPortions = new PortionScalingProperties();
+        fixedPortions.setEnabled(false);
+        PortionSolver portionSolver = new PortionSolver(fixedPortions);
+        return "tabu".equals(engine)
+                ? new TabuSearchOptimizer(properties, config, portionSolver)
+                : new SimulatedAnnealingOptimizer(properties, config, portionSolver);
+    }
+}
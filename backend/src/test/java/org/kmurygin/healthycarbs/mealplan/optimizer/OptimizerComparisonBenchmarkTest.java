@@ -0,0 +1,142 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmTuningProperties;
+import org.kmurygin.healthycarbs.mealplan.config.LocalSearchProperties;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.BestGenomeSelector;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.GenerationProducer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationEvaluator;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationInitializer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.CancellationToken;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.TwoPointCrossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.RecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.TournamentSelection;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.tuning.GeneticAlgorithmProfiles;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Optimizer latency and quality comparison")
+class OptimizerComparisonBenchmarkTest {
+
+    private static final int RUNS = 5;
+    private static final List<Duration> CURVE_BUDGETS = List.of(
+            Duration.ofMillis(5), Duration.ofMillis(20), Duration.ofMillis(100), Duration.ofMillis(500));
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void compareLatencyAndQuality(int catalogSize) {
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        DayCandidates candidates = RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(catalogSize, 7L, dietType))
+                .candidatesFor(dietType);
+        MacroNutrientFitness fitness = new MacroNutrientFitness(DietaryProfile.builder()
+                .calorieTarget(1900.0)
+                .carbsTarget(210.0)
+                .proteinTarget(95.0)
+                .fatTarget(60.0)
+                .build(), config);
+
+        // All optimizers score fixed portions so their best fitness is directly comparable.
+        PortionScalingProperties fixedPortions = new PortionScalingProperties();
+        fixedPortions.setEnabled(false);
+        MealPlanOptimizer exact = new BranchAndBoundOptimizer(config);
+        MealPlanOptimizer genetic = new GeneticAlgorithmOptimizer(new GeneticAlgorithm(
+                new TwoPointCrossover(),
+                new RecipeMutate(),
+                new TournamentSelection(config),
+                config,
+                new PopulationInitializer(),
+                new PopulationEvaluator(),
+                new BestGenomeSelector(),
+                new GenerationProducer(),
+                ForkJoinPool.commonPool()
+        ), new PortionSolver(fixedPortions),
+                new GeneticAlgorithmProfiles(config, new GeneticAlgorithmTuningProperties(), new ObjectMapper()));
+        LocalSearchProperties localSearch = new LocalSearchProperties();
+        MealPlanOptimizer annealing =
+                new SimulatedAnnealingOptimizer(localSearch, config, new PortionSolver(fixedPortions));
+        MealPlanOptimizer tabu = new TabuSearchOptimizer(localSearch, config, new PortionSolver(fixedPortions));
+
+        OptimizationResult exactResult = measure("exact", catalogSize, exact, candidates, fitness);
+        OptimizationResult geneticResult = measure("genetic", catalogSize, genetic, candidates, fitness);
+        OptimizationResult annealingResult = measure("annealing", catalogSize, annealing, candidates, fitness);
+        OptimizationResult tabuResult = measure("tabu", catalogSize, tabu, candidates, fitness);
+
+        if (exactResult.terminationReason() == TerminationReason.OPTIMAL) {
+            for (OptimizationResult heuristic : List.of(geneticResult, annealingResult, tabuResult)) {
+                assertThat(exactResult.bestGenome().getFitness())
+                        .isGreaterThanOrEqualTo(heuristic.bestGenome().getFitness() - 1e-9);
+            }
+        }
+
+        // Latency-to-quality curves: an unreachable target makes every engine use its whole budget
+        // (or stop on stagnation), so fitness per budget shows how quickly each one converges.
+        config.setTargetFitness(1.1);
+        for (Duration budget : CURVE_BUDGETS) {
+            curvePoint("genetic", catalogSize, genetic, candidates, fitness, budget);
+            curvePoint("annealing", catalogSize, annealing, candidates, fitness, budget);
+            curvePoint("tabu", catalogSize, tabu, candidates, fitness, budget);
+        }
+    }
+
+    private void curvePoint(
+            String name, int catalogSize, MealPlanOptimizer optimizer, DayCandidates candidates,
+            MacroNutrientFitness fitness, Duration budget) {
+        long totalNanos = 0;
+        double totalFitness = 0.0;
+        long totalEvaluations = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            OptimizationResult result = optimizer.optimize(
+                    candidates, fitness, RunBudget.of(budget, new CancellationToken()), run);
+            totalNanos += System.nanoTime() - start;
+            totalFitness += result.bestGenome().getFitness();
+            totalEvaluations += result.evaluations();
+        }
+        log.info("[BENCH-CURVE] optimizer={} recipes={} budgetMs={} avgMs={} avgFitness={} avgEvaluations={}",
+                name, catalogSize, budget.toMillis(), String.format("%.2f", totalNanos / 1e6 / RUNS),
+                String.format("%.6f", totalFitness / RUNS), totalEvaluations / RUNS);
+    }
+
+    private OptimizationResult measure(
+            String name, int catalogSize, MealPlanOptimizer optimizer, DayCandidates candidates, MacroNutrientFitness fitness) {
+        OptimizationResult last = null;
+        long totalNanos = 0;
+        double totalFitness = 0.0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            last = optimizer.optimize(
+                    candidates, fitness, RunBudget.of(Duration.ofSeconds(30), new CancellationToken()), run);
+            totalNanos += System.nanoTime() - start;
+            totalFitness += last.bestGenome().getFitness();
+        }
+        log.info("[BENCH] optimizer={} recipes={} avgMs={} avgFitness={} evaluations={} reason={}",
+                name, catalogSize, String.format("%.2f", totalNanos / 1e6 / RUNS),
+                String.format("%.6f", totalFitness / RUNS), last.evaluations(), last.terminationReason());
+        return last;
+    }
+}
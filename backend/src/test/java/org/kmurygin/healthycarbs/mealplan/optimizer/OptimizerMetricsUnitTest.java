@@ -0,0 +1,45 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.OptimizerType;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OptimizerMetrics Unit Tests")
+class OptimizerMetricsUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OptimizerMetrics optimizerMetrics = new OptimizerMetrics(meterRegistry);
+    private final DietType dietType = DietType.builder().id(1L).name("KETO").compatibilityLevel(1).build();
+
+    @Test
+    void record_shouldTagRunMetersByOptimizerDietTypeAndReason() {
+        optimizerMetrics.record(OptimizerType.GENETIC, dietType, OptimizerMetrics.SCOPE_DAY,
+                TimeUnit.MILLISECONDS.toNanos(40), 120, 6_000, 0.93, TerminationReason.STAGNATION);
+        optimizerMetrics.record(OptimizerType.GENETIC, dietType, OptimizerMetrics.SCOPE_DAY,
+                TimeUnit.MILLISECONDS.toNanos(60), 80, 4_000, 0.97, TerminationReason.STAGNATION);
+
+        assertThat(meterRegistry.get("mealplan.optimizer.duration")
+                .tags("optimizer", "GENETIC", "diet_type", "KETO", "scope", "day", "reason", "STAGNATION")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mealplan.optimizer.generations").tag("diet_type", "KETO")
+                .summary().totalAmount()).isEqualTo(200);
+        assertThat(meterRegistry.get("mealplan.optimizer.evaluations").summary().mean()).isEqualTo(5_000);
+        assertThat(meterRegistry.get("mealplan.optimizer.fitness").summary().max()).isEqualTo(0.97);
+    }
+
+    @Test
+    void record_withoutDietTypeOrReason_shouldFallBackToUnknownTags() {
+        optimizerMetrics.record(OptimizerType.EXACT, null, OptimizerMetrics.SCOPE_WEEK, 1_000, 0, 10, 0.5, null);
+
+        assertThat(meterRegistry.get("mealplan.optimizer.duration")
+                .tags("diet_type", "unknown", "reason", "unknown", "scope", "week")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,37 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public final class SyntheticRecipeCatalog {
+
+    private SyntheticRecipeCatalog() {
+    }
+
+    public static List<Recipe> generate(int size, long seed, DietType dietType) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MealType[] mealTypes = MealType.values();
+        List<Recipe> recipes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double carbs = 5 + random.nextDouble() * 95;
+            double protein = 2 + random.nextDouble() * 48;
+            double fat = 1 + random.nextDouble() * 29;
+            recipes.add(Recipe.builder()
+                    .id((long) i + 1)
+                    .name("Synthetic recipe " + (i + 1))
+                    .mealType(mealTypes[i % mealTypes.length])
+                    .dietType(dietType)
+                    .carbs(carbs)
+                    .protein(protein)
+                    .fat(fat)
+                    .calories(4 * carbs + 4 * protein + 9 * fat)
+                    .build());
+        }
+        return recipes;
+    }
+}
@@ -0,0 +1,191 @@
+package org.kmurygin.healthycarbs.mealplan.optimizer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.NutritionCalculator;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmTuningProperties;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.config.WeekPlanProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.BestGenomeSelector;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.GenerationProducer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationEvaluator;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationInitializer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.RunBudget;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.TwoPointCrossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.WeeklyFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.GuidedRecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStart;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.TournamentSelection;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.tuning.GeneticAlgorithmProfiles;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Percentage.withPercentage;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("WeekPlanOptimizer Unit Tests")
+class WeekPlanOptimizerUnitTest {
+
+    private static final int DAYS = 7;
+
+    private WeekPlanProperties properties;
+    private WeekPlanOptimizer weekPlanOptimizer;
+    private DayCandidates candidates;
+    private MacroNutrientFitness fitness;
+    private PortionSolver portionSolver;
+    private GeneticAlgorithm geneticAlgorithm;
+
+    @BeforeEach
+    void setUp() {
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        config.setPopulationSize(60);
+        config.setMaxGenerations(300);
+        config.setTargetFitness(1.1);
+        config.setStagnationGenerations(60);
+
+        properties = new WeekPlanProperties();
+        properties.setIslandCount(2);
+        portionSolver = new PortionSolver(new PortionScalingProperties());
+        geneticAlgorithm = new GeneticAlgorithm(
+                new TwoPointCrossover(),
+                new GuidedRecipeMutate(config),
+                new TournamentSelection(config),
+                config,
+                new PopulationInitializer(),
+                new PopulationEvaluator(),
+                new BestGenomeSelector(),
+                new GenerationProducer(),
+                ForkJoinPool.commonPool()
+        );
+        weekPlanOptimizer = new WeekPlanOptimizer(geneticAlgorithm, properties, portionSolver,
+                new GeneticAlgorithmProfiles(config, new GeneticAlgorithmTuningProperties(), new ObjectMapper()));
+
+        DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+        candidates = RecipeCandidateSnapshot.of(1L, SyntheticRecipeCatalog.generate(2_000, 11L, dietType))
+                .candidatesFor(dietType);
+        DietaryProfile profile = DietaryProfile.builder().dietType(dietType).build();
+        profile.applyTargets(NutritionCalculator.targetsForCalories(2_000.0));
+        fitness = new MacroNutrientFitness(profile, config);
+    }
+
+    @Test
+    void optimize_shouldReturnSevenDaysWithoutRepeatedRecipes() {
+        WeekOptimizationResult result = weekPlanOptimizer.optimize(
+                candidates, fitness, DAYS, RunBudget.unbounded(), 7L, WarmStart.none());
+
+        assertThat(result.days()).hasSize(DAYS);
+        Set<Integer> recipes = new HashSet<>();
+        double servedCalories = 0.0;
+        for (Genome day : result.days()) {
+            servedCalories += portionSolver.solve(day, fitness).totalCalories();
+            assertThat(day.size()).isEqualTo(candidates.slotCount());
+            assertThat(day.isEvaluated()).isTrue();
+            for (int gene : day.getGenes()) {
+                recipes.add(gene);
+            }
+        }
+        assertThat(recipes).hasSize(DAYS * candidates.slotCount());
+        assertThat(servedCalories).isCloseTo(DAYS * fitness.getCalorieTarget(), withPercentage(10));
+    }
+
+    @Test
+    void optimize_shouldRunWithTunedProfileOfDietType() {
+        GeneticAlgorithmConfig tuned = new GeneticAlgorithmConfig();
+        tuned.setPopulationSize(20);
+        tuned.setMaxGenerations(5);
+        tuned.setTargetFitness(1.1);
+        GeneticAlgorithmProfiles profiles = mock(GeneticAlgorithmProfiles.class);
+        when(profiles.configFor(any())).thenReturn(tuned);
+        WeekPlanOptimizer tunedOptimizer = new WeekPlanOptimizer(geneticAlgorithm, properties, portionSolver, profiles);
+
+        WeekOptimizationResult result = tunedOptimizer.optimize(
+                candidates, fitness, DAYS, RunBudget.unbounded(), 7L, WarmStart.none());
+
+        assertThat(result.generations()).isEqualTo(5);
+        assertThat(result.evaluations()).isLessThanOrEqualTo(2L * 5 * tuned.getPopulationSize());
+    }
+
+    @Test
+    void weeklyFitness_shouldPenaliseRepeatsBeyondAllowedOccurrences() {
+        WeeklyFitness weeklyFitness = new WeeklyFitness(fitness, DAYS, candidates.slotCount(), properties);
+        DayCandidates week = candidates.spanning(DAYS);
+        Genome varied = new Genome(week.slotCount(), week.getMacroTable());
+        Genome repeated = new Genome(week.slotCount(), week.getMacroTable());
+        for (int slot = 0; slot < week.slotCount(); slot++) {
+            varied.getGenes()[slot] = week.candidate(slot, slot / candidates.slotCount());
+            repeated.getGenes()[slot] = week.candidate(slot, 0);
+        }
+
+        assertThat(weeklyFitness.excessOccurrences(varied.getGenes())).isZero();
+        assertThat(weeklyFitness.excessOccurrences(repeated.getGenes())).isEqualTo((DAYS - 1) * candidates.slotCount());
+
+        properties.setMaxRecipeOccurrences(DAYS);
+        WeeklyFitness lenient = new WeeklyFitness(fitness, DAYS, candidates.slotCount(), properties);
+        assertThat(lenient.excessOccurrences(repeated.getGenes())).isZero();
+    }
+
+    @Test
+    void arrange_shouldPickDistinctDaysByWeeklyScore() {
+        properties.setVarietyPenalty(1.0);
+        List<Genome> variants = new ArrayList<>();
+        variants.add(day(0));
+        for (int day = 0; day < DAYS; day++) {
+            variants.add(day(day));
+        }
+
+        List<Genome> arranged = weekPlanOptimizer.arrange(variants, candidates, fitness, DAYS);
+
+        assertThat(arranged).hasSize(DAYS);
+        Set<Integer> recipes = new HashSet<>();
+        for (Genome day : arranged) {
+            for (int gene : day.getGenes()) {
+                recipes.add(gene);
+            }
+        }
+        assertThat(recipes).hasSize(DAYS * candidates.slotCount());
+    }
+
+    @Test
+    void arrange_withFewerVariantsThanDays_shouldReturnNothing() {
+        List<Genome> variants = List.of(day(0), day(1), day(2));
+
+        assertThat(weekPlanOptimizer.arrange(variants, candidates, fitness, DAYS)).isEmpty();
+    }
+
+    @Test
+    void optimize_withNonMacroFitness_shouldThrow() {
+        assertThatThrownBy(() -> weekPlanOptimizer.optimize(
+                candidates, mock(Fitness.class),
+                DAYS, RunBudget.unbounded(), 1L, WarmStart.none()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Genome day(int variant) {
+        Genome genome = new Genome(candidates.slotCount(), candidates.getMacroTable());
+        for (int slot = 0; slot < candidates.slotCount(); slot++) {
+            genome.getGenes()[slot] = candidates.candidate(slot, variant);
+        }
+        genome.recomputeTotals();
+        return genome;
+    }
+}
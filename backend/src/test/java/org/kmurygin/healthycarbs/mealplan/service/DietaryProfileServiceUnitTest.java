@@ -11,8 +11,11 @@ import org.kmurygin.healthycarbs.mealplan.DietGoal;
 import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.Gender;
 import org.kmurygin.healthycarbs.mealplan.dto.DietaryProfilePayload;
+import org.kmurygin.healthycarbs.mealplan.model.Allergen;
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.repository.AllergenRepository;
 import org.kmurygin.healthycarbs.mealplan.repository.DietaryProfileRepository;
+import org.kmurygin.healthycarbs.mealplan.repository.IngredientRepository;
 import org.kmurygin.healthycarbs.user.UserTestUtils;
 import org.kmurygin.healthycarbs.user.model.User;
 import org.kmurygin.healthycarbs.user.repository.UserRepository;
@@ -20,7 +23,9 @@ import org.kmurygin.healthycarbs.user.service.UserService;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,6 +48,12 @@ class DietaryProfileServiceUnitTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private AllergenRepository allergenRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
     private DietaryProfileService dietaryProfileService;
 
     private User testUser;
@@ -55,7 +66,9 @@ class DietaryProfileServiceUnitTest {
                 dietaryProfileRepository,
                 dietTypeRepository,
                 userRepository,
-                userService);
+                userService,
+                allergenRepository,
+                ingredientRepository);
 
         testUser = UserTestUtils.createTestUser(1L, "testuser");
 
@@ -168,6 +181,56 @@ class DietaryProfileServiceUnitTest {
             assertThat(result.getProteinTarget()).isGreaterThan(0);
             assertThat(result.getFatTarget()).isGreaterThan(0);
         }
+
+        @Test
+        @DisplayName("save_withAllergies_shouldStoreExcludedAllergens")
+        void save_withAllergies_shouldStoreExcludedAllergens() {
+            DietaryProfilePayload payload = new DietaryProfilePayload();
+            payload.setWeight(70.0);
+            payload.setHeight(175.0);
+            payload.setAge(30);
+            payload.setGender(Gender.MALE);
+            payload.setDietGoal(DietGoal.MAINTAIN);
+            payload.setDietType("STANDARD");
+            payload.setActivityLevel(ActivityLevel.MODERATE);
+            payload.setAllergies(List.of("Peanuts", "Milk"));
+
+            Allergen peanuts = Allergen.builder().id(1L).name("Peanuts").build();
+            Allergen milk = Allergen.builder().id(2L).name("Milk").build();
+            when(userService.getCurrentUser()).thenReturn(testUser);
+            when(dietaryProfileRepository.findByUser(testUser)).thenReturn(null);
+            when(dietTypeRepository.findByName("STANDARD")).thenReturn(java.util.Optional.of(standardDietType));
+            when(allergenRepository.findByNameIn(Set.of("Peanuts", "Milk"))).thenReturn(List.of(peanuts, milk));
+            when(dietaryProfileRepository.save(any(DietaryProfile.class))).thenAnswer(i -> i.getArgument(0));
+
+            DietaryProfile result = dietaryProfileService.save(payload);
+
+            assertThat(result.getExcludedAllergens()).containsExactlyInAnyOrder(peanuts, milk);
+            verifyNoInteractions(ingredientRepository);
+        }
+
+        @Test
+        @DisplayName("save_withUnknownAllergy_shouldThrowResourceNotFoundException")
+        void save_withUnknownAllergy_shouldThrowResourceNotFoundException() {
+            DietaryProfilePayload payload = new DietaryProfilePayload();
+            payload.setWeight(70.0);
+            payload.setHeight(175.0);
+            payload.setAge(30);
+            payload.setGender(Gender.MALE);
+            payload.setDietGoal(DietGoal.MAINTAIN);
+            payload.setDietType("STANDARD");
+            payload.setActivityLevel(ActivityLevel.MODERATE);
+            payload.setAllergies(List.of("Lupin"));
+
+            when(userService.getCurrentUser()).thenReturn(testUser);
+            when(dietaryProfileRepository.findByUser(testUser)).thenReturn(null);
+            when(dietTypeRepository.findByName("STANDARD")).thenReturn(java.util.Optional.of(standardDietType));
+            when(allergenRepository.findByNameIn(Set.of("Lupin"))).thenReturn(List.of());
+
+            assertThatThrownBy(() -> dietaryProfileService.save(payload))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            verify(dietaryProfileRepository, never()).save(any());
+        }
     }
 
     @Nested
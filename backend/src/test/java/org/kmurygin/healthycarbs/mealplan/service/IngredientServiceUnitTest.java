@@ -9,6 +9,7 @@ import org.kmurygin.healthycarbs.auth.service.AccessControlService;
 import org.kmurygin.healthycarbs.exception.BadRequestException;
 import org.kmurygin.healthycarbs.exception.ForbiddenException;
 import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.mealplan.IngredientCatalogChangedEvent;
 import org.kmurygin.healthycarbs.mealplan.IngredientCategory;
 import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
 import org.kmurygin.healthycarbs.mealplan.repository.IngredientRepository;
@@ -19,6 +20,7 @@ import org.kmurygin.healthycarbs.user.model.User;
 import org.kmurygin.healthycarbs.user.service.UserService;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -49,6 +51,9 @@ class IngredientServiceUnitTest {
     @Mock
     private RecipeIngredientRepository recipeIngredientRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private IngredientService ingredientService;
 
     private User testUser;
@@ -57,7 +62,8 @@ class IngredientServiceUnitTest {
 
     @BeforeEach
     void setUp() {
-        ingredientService = new IngredientService(accessControlService, ingredientRepository, userService, recipeIngredientRepository);
+        ingredientService = new IngredientService(
+                accessControlService, ingredientRepository, userService, recipeIngredientRepository, eventPublisher);
 
         testUser = UserTestUtils.createTestUser(1L, "testuser", Role.DIETITIAN);
         adminUser = UserTestUtils.createTestUser(2L, "admin", Role.ADMIN);
@@ -242,6 +248,7 @@ class IngredientServiceUnitTest {
 
             assertThat(result).isNotNull();
             verify(ingredientRepository).save(testIngredient);
+            verify(eventPublisher).publishEvent(new IngredientCatalogChangedEvent(testIngredient.getId()));
         }
 
         @Test
@@ -1,5 +1,7 @@
 package org.kmurygin.healthycarbs.mealplan.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kmurygin.healthycarbs.auth.service.AccessControlService;
@@ -9,13 +11,29 @@ import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.MealPlanSource;
 import org.kmurygin.healthycarbs.mealplan.dto.CreateMealPlanRequest;
 import org.kmurygin.healthycarbs.mealplan.dto.ManualMealPlanDayDTO;
-import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanCache;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanLibrary;
+import org.kmurygin.healthycarbs.mealplan.compute.OptimizationAdmissionControl;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanCacheProperties;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanLibraryProperties;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanComputeProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.FitnessFactory;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStartFactory;
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
 import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
 import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizer;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizers;
+import org.kmurygin.healthycarbs.mealplan.optimizer.OptimizationResult;
+import org.kmurygin.healthycarbs.mealplan.optimizer.OptimizerMetrics;
+import org.kmurygin.healthycarbs.mealplan.optimizer.WeekPlanOptimizer;
 import org.kmurygin.healthycarbs.mealplan.repository.MealPlanRepository;
 import org.kmurygin.healthycarbs.mealplan.repository.RecipeRepository;
 import org.kmurygin.healthycarbs.user.UserTestUtils;
@@ -38,6 +56,7 @@ import java.util.concurrent.Executor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -66,7 +85,29 @@ class MealPlanServiceIntegrationTest {
     @MockitoBean
     private FitnessFactory fitnessFactory;
     @MockitoBean
-    private GeneticAlgorithm geneticAlgorithm;
+    private MealPlanOptimizers mealPlanOptimizers;
+    @MockitoBean
+    private WeekPlanOptimizer weekPlanOptimizer;
+    @MockitoBean
+    private PortionSolver portionSolver;
+    @MockitoBean
+    private WarmStartFactory warmStartFactory;
+    @MockitoBean
+    private OptimizerMetrics optimizerMetrics;
+    @MockitoBean
+    private GeneticAlgorithmConfig geneticAlgorithmConfig;
+    @MockitoBean
+    private DayPlanCache dayPlanCache;
+    @MockitoBean
+    private DayPlanCacheProperties dayPlanCacheProperties;
+    @MockitoBean
+    private DayPlanLibrary dayPlanLibrary;
+    @MockitoBean
+    private DayPlanLibraryProperties dayPlanLibraryProperties;
+    @MockitoBean
+    private OptimizationAdmissionControl optimizationAdmissionControl;
+    @MockitoBean
+    private MealPlanComputeProperties mealPlanComputeProperties;
     @MockitoBean
     private RecipeService recipeService;
     @MockitoBean
@@ -79,6 +120,8 @@ class MealPlanServiceIntegrationTest {
     private ShoppingListService shoppingListService;
     @MockitoBean
     private CollaborationService collaborationService;
+    @MockitoBean
+    private RecipeCandidatePool recipeCandidatePool;
 
     private User persistedUser;
 
@@ -144,11 +187,16 @@ class MealPlanServiceIntegrationTest {
                 .instructions("Mix all ingredients in a bowl.")
                 .build());
 
-        Genome genome = new Genome();
-        genome.setGenes(List.of(recipe));
+        Genome genome = new Genome(new int[]{0});
         genome.setTotalCalories(500.0);
 
-        when(geneticAlgorithm.run(any(), any(), any())).thenReturn(genome);
+        when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(1L, List.of(recipe)));
+        MealPlanOptimizer optimizer = mock(MealPlanOptimizer.class);
+        when(optimizer.optimize(any(), any(), any(), anyLong(), any()))
+                .thenReturn(new OptimizationResult(genome, 1, 1, TerminationReason.TARGET_REACHED));
+        when(mealPlanOptimizers.get(any())).thenReturn(optimizer);
+        when(optimizationAdmissionControl.admit(any())).thenReturn(() -> {
+        });
     }
 
     @Test
@@ -237,8 +285,13 @@ class MealPlanServiceIntegrationTest {
     @TestConfiguration
     static class ExecutorConfig {
         @Bean
-        public Executor applicationTaskExecutor() {
+        public Executor mealPlanComputeExecutor() {
             return Runnable::run;
         }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
     }
 }
@@ -9,36 +9,78 @@ import org.kmurygin.healthycarbs.email.EmailDetails;
 import org.kmurygin.healthycarbs.email.EmailService;
 import org.kmurygin.healthycarbs.exception.ForbiddenException;
 import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
+import org.kmurygin.healthycarbs.exception.ServiceBusyException;
+import org.kmurygin.healthycarbs.exception.TooManyRequestsException;
 import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.MealPlanGeneratedEvent;
 import org.kmurygin.healthycarbs.mealplan.MealPlanSource;
+import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanCache;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanCacheKey;
+import org.kmurygin.healthycarbs.mealplan.cache.DayPlanLibrary;
+import org.kmurygin.healthycarbs.mealplan.compute.OptimizationAdmissionControl;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanCacheProperties;
+import org.kmurygin.healthycarbs.mealplan.config.DayPlanLibraryProperties;
+import org.kmurygin.healthycarbs.mealplan.config.MealPlanComputeProperties;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.config.WarmStartProperties;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
 import org.kmurygin.healthycarbs.mealplan.dto.CreateMealPlanRequest;
 import org.kmurygin.healthycarbs.mealplan.dto.ManualMealPlanDayDTO;
-import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.dto.MealPlanGenerationOptions;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Genome;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.Seeds;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.TerminationReason;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.Fitness;
 import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.FitnessFactory;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.MacroNutrientFitness;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.seeding.WarmStartFactory;
 import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
 import org.kmurygin.healthycarbs.mealplan.model.MealPlan;
 import org.kmurygin.healthycarbs.mealplan.model.Recipe;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizer;
+import org.kmurygin.healthycarbs.mealplan.optimizer.MealPlanOptimizers;
+import org.kmurygin.healthycarbs.mealplan.optimizer.OptimizationResult;
+import org.kmurygin.healthycarbs.mealplan.optimizer.OptimizerMetrics;
+import org.kmurygin.healthycarbs.mealplan.optimizer.WeekOptimizationResult;
+import org.kmurygin.healthycarbs.mealplan.optimizer.WeekPlanOptimizer;
 import org.kmurygin.healthycarbs.mealplan.repository.MealPlanRepository;
 import org.kmurygin.healthycarbs.user.UserTestUtils;
 import org.kmurygin.healthycarbs.user.model.User;
 import org.kmurygin.healthycarbs.user.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,7 +89,11 @@ class MealPlanServiceUnitTest {
     @Mock
     private AccessControlService accessControlService;
     @Mock
-    private GeneticAlgorithm geneticAlgorithm;
+    private MealPlanOptimizers mealPlanOptimizers;
+    @Mock
+    private MealPlanOptimizer mealPlanOptimizer;
+    @Mock
+    private WeekPlanOptimizer weekPlanOptimizer;
     @Mock
     private RecipeService recipeService;
     @Mock
@@ -67,25 +113,59 @@ class MealPlanServiceUnitTest {
     @Mock
     private CollaborationService collaborationService;
     @Mock
+    private RecipeCandidatePool recipeCandidatePool;
+    @Mock
     private Fitness fitness;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final DayPlanCacheProperties dayPlanCacheProperties = new DayPlanCacheProperties();
+    private final DayPlanCache dayPlanCache = new DayPlanCache(dayPlanCacheProperties);
+    private final DayPlanLibraryProperties dayPlanLibraryProperties = new DayPlanLibraryProperties();
+    private final DayPlanLibrary dayPlanLibrary = new DayPlanLibrary(dayPlanLibraryProperties, mock(RecipeCandidatePool.class));
+    private final MealPlanComputeProperties computeProperties = new MealPlanComputeProperties();
+    private final OptimizationAdmissionControl admissionControl =
+            new OptimizationAdmissionControl(computeProperties, new SimpleMeterRegistry());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private MealPlanService mealPlanService;
 
     @BeforeEach
     void setUp() {
-        mealPlanService = new MealPlanService(
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> i.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        mealPlanService = createService(Runnable::run);
+    }
+
+    private MealPlanService createService(Executor taskExecutor) {
+        return new MealPlanService(
                 accessControlService,
-                geneticAlgorithm,
+                mealPlanOptimizers,
+                weekPlanOptimizer,
+                new PortionSolver(new PortionScalingProperties()),
+                new WarmStartFactory(new WarmStartProperties()),
+                new OptimizerMetrics(meterRegistry),
                 recipeService,
                 dietaryProfileService,
                 mealPlanRepository,
-                Runnable::run,
+                taskExecutor,
                 fitnessFactory,
                 eventPublisher,
                 userService,
                 emailService,
                 shoppingListService,
-                collaborationService
+                collaborationService,
+                recipeCandidatePool,
+                new GeneticAlgorithmConfig(),
+                dayPlanCache,
+                dayPlanCacheProperties,
+                dayPlanLibrary,
+                dayPlanLibraryProperties,
+                admissionControl,
+                computeProperties,
+                transactionTemplate,
+                meterRegistry
         );
     }
 
@@ -122,8 +202,8 @@ class MealPlanServiceUnitTest {
     void generateMealPlan_shouldBuildWeekAndSumTotals_andPublishEvent() {
         User user = UserTestUtils.createTestUser(1L, "user");
 
-        Genome dayGenome = new Genome();
-        dayGenome.setGenes(List.of(Recipe.builder().calories(500.0).carbs(10.0).protein(20.0).fat(5.0).build()));
+        Recipe recipe = Recipe.builder().id(1L).calories(500.0).carbs(10.0).protein(20.0).fat(5.0).build();
+        Genome dayGenome = new Genome(new int[]{0});
         dayGenome.setTotalCalories(500.0);
         dayGenome.setTotalCarbs(10.0);
         dayGenome.setTotalProtein(20.0);
@@ -133,8 +213,11 @@ class MealPlanServiceUnitTest {
         when(dietaryProfileService.getByUserId(1L))
                 .thenReturn(DietaryProfile.builder().dietType(DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build()).build());
         when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(1L, List.of(recipe)));
 
-        when(geneticAlgorithm.run(any(), any(), any())).thenReturn(dayGenome);
+        when(mealPlanOptimizers.get(null)).thenReturn(mealPlanOptimizer);
+        when(mealPlanOptimizer.optimize(any(), any(), any(), anyLong(), any()))
+                .thenReturn(new OptimizationResult(dayGenome, 1, 1, TerminationReason.TARGET_REACHED));
         when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         MealPlan result = mealPlanService.generateMealPlan();
@@ -147,9 +230,271 @@ class MealPlanServiceUnitTest {
         assertThat(result.getTotalCarbs()).isEqualTo(10.0 * 7);
         assertThat(result.getTotalProtein()).isEqualTo(20.0 * 7);
         assertThat(result.getTotalFat()).isEqualTo(5.0 * 7);
+        assertThat(result.getDays().getFirst().getRecipes().getFirst().getRecipe()).isSameAs(recipe);
 
         verify(eventPublisher).publishEvent(any(MealPlanGeneratedEvent.class));
         verify(mealPlanRepository).save(any(MealPlan.class));
+        verify(transactionTemplate, times(2)).execute(any());
+        assertThat(meterRegistry.get("mealplan.generation.db.hold").tag("phase", "read").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mealplan.generation.db.hold").tag("phase", "write").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void generateMealPlan_shouldRunOptimizerOutsideTransactions() {
+        User user = UserTestUtils.createTestUser(1L, "user");
+        Recipe recipe = Recipe.builder().id(1L).calories(500.0).carbs(10.0).protein(20.0).fat(5.0).build();
+        boolean[] optimizedInsideTransaction = {false};
+        boolean[] inTransaction = {false};
+        when(transactionTemplate.execute(any())).thenAnswer(i -> {
+            inTransaction[0] = true;
+            try {
+                return i.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction[0] = false;
+            }
+        });
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L))
+                .thenReturn(DietaryProfile.builder().dietType(DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build()).build());
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(1L, List.of(recipe)));
+        when(mealPlanOptimizers.get(null)).thenReturn(mealPlanOptimizer);
+        when(mealPlanOptimizer.optimize(any(), any(), any(), anyLong(), any())).thenAnswer(i -> {
+            optimizedInsideTransaction[0] |= inTransaction[0];
+            return new OptimizationResult(new Genome(new int[]{0}), 1, 1, TerminationReason.TARGET_REACHED);
+        });
+        when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        mealPlanService.generateMealPlan();
+
+        assertThat(optimizedInsideTransaction[0]).isFalse();
+        verify(dietaryProfileService).getByUserId(1L);
+        verify(mealPlanRepository).save(any(MealPlan.class));
+    }
+
+    @Test
+    void generateMealPlan_whenWeekOptimizerSupported_shouldRunSinglePassForWholeWeek() {
+        User user = UserTestUtils.createTestUser(1L, "user");
+        Recipe first = Recipe.builder().id(1L).calories(500.0).carbs(10.0).protein(20.0).fat(5.0).build();
+        Recipe second = Recipe.builder().id(2L).calories(700.0).carbs(30.0).protein(25.0).fat(10.0).build();
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, List.of(first, second));
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L))
+                .thenReturn(DietaryProfile.builder().dietType(DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build()).build());
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(snapshot);
+        when(mealPlanOptimizers.get(null)).thenReturn(mealPlanOptimizer);
+        when(weekPlanOptimizer.supports(mealPlanOptimizer)).thenReturn(true);
+
+        List<Genome> days = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            Genome genome = new Genome(1, snapshot.getMacroTable());
+            genome.getGenes()[0] = day % 2;
+            genome.recomputeTotals();
+            days.add(genome);
+        }
+        when(weekPlanOptimizer.optimize(any(), any(), eq(7), any(), anyLong(), any()))
+                .thenReturn(new WeekOptimizationResult(null, days, 1, 10, TerminationReason.TARGET_REACHED));
+        when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        MealPlan result = mealPlanService.generateMealPlan();
+
+        assertThat(result.getDays()).hasSize(7);
+        assertThat(result.getDays().get(1).getRecipes().getFirst().getRecipe()).isSameAs(second);
+        assertThat(result.getTotalCalories()).isEqualTo(4 * 500.0 + 3 * 700.0);
+        verify(mealPlanOptimizer, never()).optimize(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void generateMealPlan_withSeed_shouldRecordSeedAndDerivePerDaySeeds() {
+        User user = UserTestUtils.createTestUser(1L, "user");
+        Recipe recipe = Recipe.builder().id(1L).calories(500.0).carbs(10.0).protein(20.0).fat(5.0).build();
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L))
+                .thenReturn(DietaryProfile.builder().dietType(DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build()).build());
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(1L, List.of(recipe)));
+        when(mealPlanOptimizers.get(null)).thenReturn(mealPlanOptimizer);
+        when(mealPlanOptimizer.optimize(any(), any(), any(), anyLong(), any()))
+                .thenReturn(new OptimizationResult(new Genome(new int[]{0}), 1, 1, TerminationReason.TARGET_REACHED));
+        when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        MealPlan result = mealPlanService.generateMealPlan(new MealPlanGenerationOptions(null, null, 99L));
+
+        assertThat(result.getSeed()).isEqualTo(99L);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            verify(mealPlanOptimizer).optimize(any(), any(), any(), eq(Seeds.derive(99L, dayOfWeek.ordinal())), any());
+        }
+    }
+
+    @Test
+    void generateMealPlan_whenDayCacheHasServableDays_shouldSkipOptimizer() {
+        dayPlanCacheProperties.setMinServeFitness(0.0);
+        User user = UserTestUtils.createTestUser(1L, "user");
+        DietType dietType = DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build();
+        DietaryProfile profile = DietaryProfile.builder().dietType(dietType).calorieTarget(500.0).build();
+
+        List<Recipe> recipes = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            recipes.add(Recipe.builder().id(id).mealType(MealType.values()[0]).dietType(dietType)
+                    .calories(500.0).carbs(10.0).protein(20.0).fat(5.0).build());
+        }
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, recipes);
+        for (int index = 0; index < recipes.size(); index++) {
+            dayPlanCache.offer(dayPlanCache.keyFor(profile, dietType, snapshot.getVersion()), new Genome(new int[]{index}));
+        }
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L)).thenReturn(profile);
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(snapshot);
+        when(weekPlanOptimizer.arrange(any(), any(), any(), eq(7))).thenAnswer(i -> i.getArgument(0));
+        when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        MealPlan result = mealPlanService.generateMealPlan();
+
+        assertThat(result.getDays()).hasSize(7);
+        assertThat(result.getDays())
+                .extracting(day -> day.getRecipes().getFirst().getRecipe().getId())
+                .doesNotHaveDuplicates();
+        assertThat(result.getTotalCalories()).isEqualTo(500.0 * 7);
+        verifyNoInteractions(mealPlanOptimizer);
+    }
+
+    @Test
+    void generateMealPlan_whenDayCacheHasFewerVariantsThanDays_shouldOptimize() {
+        dayPlanCacheProperties.setMinServeFitness(0.0);
+        User user = UserTestUtils.createTestUser(1L, "user");
+        DietType dietType = DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build();
+        DietaryProfile profile = DietaryProfile.builder().dietType(dietType).calorieTarget(500.0).build();
+
+        List<Recipe> recipes = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            recipes.add(Recipe.builder().id(id).mealType(MealType.values()[0]).dietType(dietType)
+                    .calories(500.0).carbs(10.0).protein(20.0).fat(5.0).build());
+        }
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, recipes);
+        for (int index = 0; index < recipes.size(); index++) {
+            dayPlanCache.offer(dayPlanCache.keyFor(profile, dietType, snapshot.getVersion()), new Genome(new int[]{index}));
+        }
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L)).thenReturn(profile);
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(snapshot);
+        when(mealPlanOptimizers.get(null)).thenReturn(mealPlanOptimizer);
+        when(mealPlanOptimizer.optimize(any(), any(), any(), anyLong(), any()))
+                .thenReturn(new OptimizationResult(new Genome(new int[]{0}), 1, 1, TerminationReason.TARGET_REACHED));
+        when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        MealPlan result = mealPlanService.generateMealPlan();
+
+        assertThat(result.getDays()).hasSize(7);
+        verify(mealPlanOptimizer, times(7)).optimize(any(), any(), any(), anyLong(), any());
+        verify(weekPlanOptimizer, never()).arrange(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void generateMealPlan_whenCachedDaysOnlyReachTargetsWithPortions_shouldServeThem() {
+        User user = UserTestUtils.createTestUser(1L, "user");
+        DietType dietType = DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build();
+        DietaryProfile profile = DietaryProfile.builder().dietType(dietType)
+                .calorieTarget(500.0).carbsTarget(50.0).proteinTarget(25.0).fatTarget(20.0).build();
+        MacroNutrientFitness macroFitness = new MacroNutrientFitness(profile, new GeneticAlgorithmConfig());
+
+        // Every recipe is 20% over on each macro, so days only reach the targets once portions shrink.
+        List<Recipe> recipes = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            recipes.add(Recipe.builder().id(id).mealType(MealType.values()[0]).dietType(dietType)
+                    .calories(600.0).carbs(60.0).protein(30.0).fat(24.0).build());
+        }
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, recipes);
+        DayPlanCacheKey key = dayPlanCache.keyFor(profile, dietType, snapshot.getVersion());
+        for (int index = 0; index < recipes.size(); index++) {
+            Genome day = new Genome(1, snapshot.getMacroTable());
+            day.getGenes()[0] = index;
+            day.recomputeTotals();
+            assertThat(macroFitness.evaluate(day)).isLessThan(dayPlanCacheProperties.getMinServeFitness());
+            dayPlanCache.offer(key, day);
+        }
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L)).thenReturn(profile);
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(macroFitness);
+        when(recipeCandidatePool.current()).thenReturn(snapshot);
+        when(weekPlanOptimizer.arrange(any(), any(), any(), eq(7))).thenAnswer(i -> i.getArgument(0));
+        when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        MealPlan result = mealPlanService.generateMealPlan();
+
+        assertThat(result.getDays()).hasSize(7);
+        assertThat(result.getTotalCalories()).isCloseTo(500.0 * 7, within(7.0));
+        verifyNoInteractions(mealPlanOptimizer);
+    }
+
+    @Test
+    void generateMealPlan_whenExecutorSaturated_shouldFallBackToDayPlanLibrary() {
+        mealPlanService = createService(command -> {
+            throw new RejectedExecutionException("saturated");
+        });
+        User user = UserTestUtils.createTestUser(1L, "user");
+        DietType dietType = DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build();
+        DietaryProfile profile = DietaryProfile.builder().dietType(dietType).calorieTarget(1_250.0).build();
+
+        Recipe recipe = Recipe.builder().id(7L).mealType(MealType.values()[0]).dietType(dietType)
+                .calories(1_250.0).carbs(150.0).protein(60.0).fat(40.0).build();
+        RecipeCandidateSnapshot snapshot = RecipeCandidateSnapshot.of(1L, List.of(recipe));
+        Genome stored = new Genome(1, snapshot.getMacroTable());
+        dayPlanLibrary.store(3L, dayPlanLibrary.nearestCell(1_250.0), List.of(stored), snapshot);
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L)).thenReturn(profile);
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(snapshot);
+        when(mealPlanOptimizers.get(null)).thenReturn(mealPlanOptimizer);
+        when(mealPlanRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        MealPlan result = mealPlanService.generateMealPlan();
+
+        assertThat(result.getDays()).hasSize(7);
+        assertThat(result.getTotalCalories()).isEqualTo(1_250.0 * 7);
+        verifyNoInteractions(mealPlanOptimizer);
+    }
+
+    @Test
+    void generateMealPlan_whenExecutorSaturatedAndLibraryEmpty_shouldRejectAsBusy() {
+        mealPlanService = createService(command -> {
+            throw new RejectedExecutionException("saturated");
+        });
+        User user = UserTestUtils.createTestUser(1L, "user");
+        DietType dietType = DietType.builder().id(3L).name("VEGAN").compatibilityLevel(3).build();
+        Recipe recipe = Recipe.builder().id(7L).calories(500.0).carbs(50.0).protein(20.0).fat(10.0).build();
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(dietaryProfileService.getByUserId(1L))
+                .thenReturn(DietaryProfile.builder().dietType(dietType).calorieTarget(500.0).build());
+        when(fitnessFactory.createCalorieFitness(any())).thenReturn(fitness);
+        when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(1L, List.of(recipe)));
+        when(mealPlanOptimizers.get(null)).thenReturn(mealPlanOptimizer);
+
+        assertThatThrownBy(() -> mealPlanService.generateMealPlan())
+                .isInstanceOf(ServiceBusyException.class)
+                .extracting("retryAfter")
+                .isEqualTo(computeProperties.getRetryAfter());
+        assertThat(admissionControl.inFlight(1L)).isZero();
+    }
+
+    @Test
+    void generateMealPlan_whenUserAlreadyGenerating_shouldRejectWithTooManyRequests() {
+        User user = UserTestUtils.createTestUser(1L, "user");
+        when(userService.getCurrentUser()).thenReturn(user);
+
+        try (OptimizationAdmissionControl.Permit ignored = admissionControl.admit(1L)) {
+            assertThatThrownBy(() -> mealPlanService.generateMealPlan())
+                    .isInstanceOf(TooManyRequestsException.class);
+        }
+        verifyNoInteractions(dietaryProfileService, mealPlanOptimizers);
     }
 
     @Test
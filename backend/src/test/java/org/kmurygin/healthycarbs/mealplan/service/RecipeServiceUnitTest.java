@@ -11,8 +11,13 @@ import org.kmurygin.healthycarbs.exception.ForbiddenException;
 import org.kmurygin.healthycarbs.exception.ResourceNotFoundException;
 import org.kmurygin.healthycarbs.mealplan.DietType;
 import org.kmurygin.healthycarbs.mealplan.MealType;
+import org.kmurygin.healthycarbs.mealplan.RecipeCatalogChangedEvent;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidatePool;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeExclusion;
 import org.kmurygin.healthycarbs.mealplan.mapper.RecipeIngredientMapper;
 import org.kmurygin.healthycarbs.mealplan.mapper.RecipeMapper;
+import org.kmurygin.healthycarbs.mealplan.model.Allergen;
 import org.kmurygin.healthycarbs.mealplan.model.Ingredient;
 import org.kmurygin.healthycarbs.mealplan.model.Recipe;
 import org.kmurygin.healthycarbs.mealplan.model.RecipeIngredient;
@@ -26,10 +31,12 @@ import org.kmurygin.healthycarbs.user.repository.UserRepository;
 import org.kmurygin.healthycarbs.user.service.UserService;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.*;
@@ -69,10 +76,13 @@ class RecipeServiceUnitTest {
     private UserService userService;
 
     @Mock
-    private org.kmurygin.healthycarbs.mealplan.DietTypeUtil dietTypeUtil;
+    private org.kmurygin.healthycarbs.mealplan.repository.DietTypeRepository dietTypeRepository;
 
     @Mock
-    private org.kmurygin.healthycarbs.mealplan.repository.DietTypeRepository dietTypeRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RecipeCandidatePool recipeCandidatePool;
 
     private RecipeService recipeService;
 
@@ -93,8 +103,9 @@ class RecipeServiceUnitTest {
                 recipeMapper,
                 userRepository,
                 userService,
-                dietTypeUtil,
-                dietTypeRepository);
+                dietTypeRepository,
+                eventPublisher,
+                recipeCandidatePool);
 
         testUser = UserTestUtils.createTestUser(1L, "testuser", Role.DIETITIAN);
 
@@ -136,7 +147,7 @@ class RecipeServiceUnitTest {
 
             when(recipeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(expectedPage);
 
-            Page<Recipe> result = recipeService.findAll(null, null, null, null, null, pageable);
+            Page<Recipe> result = recipeService.findAll(null, null, null, null, null, RecipeExclusion.none(), pageable);
 
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0)).isEqualTo(testRecipe);
@@ -150,7 +161,7 @@ class RecipeServiceUnitTest {
 
             when(recipeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(expectedPage);
 
-            Page<Recipe> result = recipeService.findAll("Test", null, null, null, null, pageable);
+            Page<Recipe> result = recipeService.findAll("Test", null, null, null, null, RecipeExclusion.none(), pageable);
 
             assertThat(result.getContent()).hasSize(1);
             verify(recipeRepository).findAll(any(Specification.class), eq(pageable));
@@ -171,9 +182,120 @@ class RecipeServiceUnitTest {
                     "STANDARD",
                     MealType.BREAKFAST,
                     1L,
+                    RecipeExclusion.none(),
                     pageable);
 
             assertThat(result.getContent()).hasSize(1);
+            verifyNoInteractions(recipeCandidatePool);
+        }
+
+        @Test
+        @DisplayName("findAll_withExcludedAllergen_shouldResolveExcludedRecipesFromPool")
+        void findAll_withExcludedAllergen_shouldResolveExcludedRecipesFromPool() {
+            Pageable pageable = PageRequest.of(0, 10);
+            Allergen peanuts = Allergen.builder().id(7L).name("Peanuts").build();
+            Ingredient peanutButter = Ingredient.builder().id(3L).name("Peanut butter")
+                    .allergens(Set.of(peanuts)).build();
+            Recipe withPeanuts = Recipe.builder().id(2L).name("Peanut oats").mealType(MealType.BREAKFAST).build();
+            withPeanuts.addIngredient(RecipeIngredient.builder().recipe(withPeanuts).ingredient(peanutButter)
+                    .quantity(30.0).build());
+
+            when(recipeCandidatePool.current())
+                    .thenReturn(RecipeCandidateSnapshot.of(1L, List.of(testRecipe, withPeanuts)));
+            when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(testRecipe));
+
+            Page<Recipe> result = recipeService.findAll(null, null, null, null, null,
+                    new RecipeExclusion(Set.of(7L), null), pageable);
+
+            assertThat(result.getContent()).containsExactly(testRecipe);
+            assertThat(result.getTotalElements()).isEqualTo(1);
+            verify(recipeCandidatePool).current();
+            verify(recipeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("findAll_whenExclusionCoversMoreRecipesThanBindParameterLimit_shouldOnlyBindThePage")
+        void findAll_whenExclusionCoversMoreRecipesThanBindParameterLimit_shouldOnlyBindThePage() {
+            // PostgreSQL caps a statement at 65,535 bind parameters.
+            int catalogSize = 70_000;
+            Pageable pageable = PageRequest.of(1, 10);
+            Ingredient peanutButter = Ingredient.builder().id(3L).name("Peanut butter")
+                    .allergens(Set.of(Allergen.builder().id(7L).name("Peanuts").build())).build();
+            List<Recipe> recipes = new ArrayList<>(catalogSize);
+            for (long id = 1; id <= catalogSize; id++) {
+                Recipe recipe = Recipe.builder().id(id).name("Recipe " + id).mealType(MealType.LUNCH).build();
+                if (id % 1_000 != 0) {
+                    recipe.addIngredient(RecipeIngredient.builder().recipe(recipe).ingredient(peanutButter)
+                            .quantity(30.0).build());
+                }
+                recipes.add(recipe);
+            }
+            List<Long> expectedPage = List.of(11_000L, 12_000L, 13_000L, 14_000L, 15_000L,
+                    16_000L, 17_000L, 18_000L, 19_000L, 20_000L);
+            List<Recipe> pageRecipes = recipes.stream().filter(recipe -> expectedPage.contains(recipe.getId())).toList();
+
+            when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(1L, recipes));
+            when(recipeRepository.findAllById(expectedPage)).thenReturn(pageRecipes.reversed());
+
+            Page<Recipe> result = recipeService.findAll(null, null, null, null, null,
+                    new RecipeExclusion(Set.of(7L), null), pageable);
+
+            assertThat(result.getContent()).extracting(Recipe::getId).containsExactlyElementsOf(expectedPage);
+            assertThat(result.getTotalElements()).isEqualTo(70);
+            verify(recipeRepository).findAllById(expectedPage);
+        }
+        @Test
+        @DisplayName("findAll_withExclusionAndFilters_shouldFilterSortAndCountFromSnapshot")
+        void findAll_withExclusionAndFilters_shouldFilterSortAndCountFromSnapshot() {
+            Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "name"));
+            Recipe porridge = Recipe.builder().id(2L).name("Test Porridge").mealType(MealType.BREAKFAST)
+                    .dietType(standardDietType).build();
+            Recipe lunch = Recipe.builder().id(3L).name("Test Lunch").mealType(MealType.LUNCH)
+                    .dietType(standardDietType).build();
+
+            when(dietTypeRepository.findByName("STANDARD")).thenReturn(Optional.of(standardDietType));
+            when(recipeCandidatePool.current())
+                    .thenReturn(RecipeCandidateSnapshot.of(1L, List.of(testRecipe, porridge, lunch)));
+            when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(testRecipe));
+
+            Page<Recipe> result = recipeService.findAll("test", null, "STANDARD", MealType.BREAKFAST, null,
+                    new RecipeExclusion(Set.of(7L), null), pageable);
+
+            assertThat(result.getContent()).containsExactly(testRecipe);
+            assertThat(result.getTotalElements()).isEqualTo(2);
+            assertThat(result.getPageable()).isEqualTo(pageable);
+            verify(recipeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("findAll_withExclusion_shouldHideRecipesMissingFromSnapshot")
+        void findAll_withExclusion_shouldHideRecipesMissingFromSnapshot() {
+            when(recipeCandidatePool.current()).thenReturn(RecipeCandidateSnapshot.of(1L, List.of()));
+
+            Page<Recipe> result = recipeService.findAll(null, null, null, null, null,
+                    new RecipeExclusion(Set.of(7L), null), Pageable.unpaged());
+
+            assertThat(result.getContent()).isEmpty();
+            assertThat(result.getTotalElements()).isZero();
+            verify(recipeRepository, never()).findAllById(any());
+        }
+
+        @Test
+        @DisplayName("findAll_withExclusionUnpaged_shouldKeepPageableAndSort")
+        void findAll_withExclusionUnpaged_shouldKeepPageableAndSort() {
+            Pageable pageable = Pageable.unpaged(Sort.by("name"));
+            Recipe apple = Recipe.builder().id(2L).name("Apple pie").mealType(MealType.BREAKFAST).build();
+
+            when(recipeCandidatePool.current())
+                    .thenReturn(RecipeCandidateSnapshot.of(1L, List.of(testRecipe, apple)));
+            when(recipeRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testRecipe, apple));
+
+            Page<Recipe> result = recipeService.findAll(null, null, null, null, null,
+                    new RecipeExclusion(Set.of(7L), null), pageable);
+
+            assertThat(result.getContent()).containsExactly(apple, testRecipe);
+            assertThat(result.getPageable()).isEqualTo(pageable);
+            assertThat(result.getSort()).isEqualTo(Sort.by("name"));
         }
     }
 
@@ -226,6 +348,7 @@ class RecipeServiceUnitTest {
 
             assertThat(result.getAuthor()).isEqualTo(testUser);
             verify(recipeRepository).save(newRecipe);
+            verify(eventPublisher).publishEvent(new RecipeCatalogChangedEvent(2L, false));
         }
     }
 
@@ -302,6 +425,7 @@ class RecipeServiceUnitTest {
             recipeService.deleteById(1L);
 
             verify(recipeRepository).delete(testRecipe);
+            verify(eventPublisher).publishEvent(new RecipeCatalogChangedEvent(1L, true));
         }
 
         @Test
@@ -324,6 +448,7 @@ class RecipeServiceUnitTest {
             assertThatThrownBy(() -> recipeService.deleteById(1L))
                     .isInstanceOf(BadRequestException.class)
                     .hasMessageContaining("used in");
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -404,35 +529,6 @@ class RecipeServiceUnitTest {
         }
     }
 
-    @Nested
-    @DisplayName("findRandomForMealPlan")
-    class FindRandomForMealPlanTests {
-
-        @Test
-        @DisplayName("findRandomForMealPlan_whenRecipesExist_shouldReturnRandomRecipe")
-        void findRandomForMealPlan_whenRecipesExist_shouldReturnRandomRecipe() {
-            when(dietTypeUtil.getCompatibleDietTypes(standardDietType)).thenReturn(java.util.Set.of(standardDietType));
-            when(recipeRepository.findIdsByMealTypeAndDietTypes(eq(MealType.BREAKFAST), any()))
-                    .thenReturn(List.of(1L, 2L, 3L));
-            when(recipeRepository.findByIdWithIngredients(any())).thenReturn(Optional.of(testRecipe));
-
-            Recipe result = recipeService.findRandomForMealPlan(MealType.BREAKFAST, standardDietType);
-
-            assertThat(result).isNotNull();
-        }
-
-        @Test
-        @DisplayName("findRandomForMealPlan_whenNoRecipes_shouldThrowResourceNotFound")
-        void findRandomForMealPlan_whenNoRecipes_shouldThrowResourceNotFound() {
-            when(dietTypeUtil.getCompatibleDietTypes(veganDietType)).thenReturn(java.util.Set.of(veganDietType));
-            when(recipeRepository.findIdsByMealTypeAndDietTypes(eq(MealType.BREAKFAST), any()))
-                    .thenReturn(List.of());
-
-            assertThatThrownBy(() -> recipeService.findRandomForMealPlan(MealType.BREAKFAST, veganDietType))
-                    .isInstanceOf(ResourceNotFoundException.class);
-        }
-    }
-
     @Nested
     @DisplayName("addFavourite")
     class AddFavouriteTests {
@@ -264,6 +264,41 @@ class ShoppingListServiceUnitTest {
             }));
         }
 
+        @Test
+        @DisplayName("createAndSaveShoppingList_shouldScaleQuantitiesByPortion")
+        void createAndSaveShoppingList_shouldScaleQuantitiesByPortion() {
+            RecipeIngredient ingredient = RecipeIngredient.builder()
+                    .ingredient(testIngredient)
+                    .quantity(200.0)
+                    .build();
+            Recipe recipe = Recipe.builder()
+                    .id(1L)
+                    .ingredients(List.of(ingredient))
+                    .build();
+
+            MealPlanDay day = MealPlanDay.builder()
+                    .recipes(List.of(
+                            MealPlanRecipe.builder().recipe(recipe).portion(1.25).build(),
+                            MealPlanRecipe.builder().recipe(recipe).portion(0.75).build(),
+                            MealPlanRecipe.builder().recipe(recipe).build()))
+                    .build();
+            MealPlan mealPlan = MealPlan.builder()
+                    .id(4L)
+                    .user(testUser)
+                    .days(List.of(day))
+                    .build();
+
+            when(shoppingListRepository.save(any(ShoppingList.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            shoppingListService.createAndSaveShoppingList(mealPlan);
+
+            verify(shoppingListRepository).save(argThat(shoppingList -> {
+                assertThat(shoppingList.getItems()).singleElement()
+                        .satisfies(item -> assertThat(item.getTotalQuantity()).isEqualTo(600.0));
+                return true;
+            }));
+        }
+
         @Test
         @DisplayName("createAndSaveShoppingList_withEmptyMealPlan_shouldSaveEmptyList")
         void createAndSaveShoppingList_withEmptyMealPlan_shouldSaveEmptyList() {
@@ -0,0 +1,52 @@
+package org.kmurygin.healthycarbs.mealplan.tuning;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmTuningProperties;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("GeneticAlgorithmProfiles Unit Tests")
+class GeneticAlgorithmProfilesUnitTest {
+
+    private final GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+    private final GeneticAlgorithmTuningProperties properties = new GeneticAlgorithmTuningProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DietType keto = DietType.builder().id(1L).name("KETO").compatibilityLevel(1).build();
+    private final DietType vegan = DietType.builder().id(2L).name("VEGAN").compatibilityLevel(1).build();
+
+    @Test
+    void configFor_shouldApplyTunedProfileAndKeepDefaultsForOtherDietTypes(@TempDir Path directory) {
+        Path file = directory.resolve("ga-profiles.json");
+        objectMapper.writeValue(file.toFile(), new GeneticAlgorithmProfileFile(Instant.now(), 3L,
+                Map.of("KETO", new GeneticAlgorithmProfile(64, 0.9, 4, 35, 0.97, 12.5))));
+        properties.setProfilesFile(file.toString());
+
+        GeneticAlgorithmProfiles profiles = new GeneticAlgorithmProfiles(config, properties, objectMapper);
+
+        GeneticAlgorithmConfig tuned = profiles.configFor(keto);
+        assertThat(tuned.getPopulationSize()).isEqualTo(64);
+        assertThat(tuned.getEliteCount()).isEqualTo(4);
+        assertThat(tuned.getStagnationGenerations()).isEqualTo(35);
+        assertThat(tuned.getMaxMutationRate()).isEqualTo(0.9);
+        assertThat(tuned.getTargetFitness()).isEqualTo(config.getTargetFitness());
+        assertThat(profiles.configFor(vegan)).isSameAs(config);
+        assertThat(config.getPopulationSize()).isEqualTo(40);
+    }
+
+    @Test
+    void configFor_withoutProfilesFile_shouldReturnDefaultConfig() {
+        GeneticAlgorithmProfiles profiles = new GeneticAlgorithmProfiles(config, properties, objectMapper);
+
+        assertThat(profiles.configFor(keto)).isSameAs(config);
+        assertThat(profiles.configFor(null)).isSameAs(config);
+    }
+}
@@ -0,0 +1,89 @@
+package org.kmurygin.healthycarbs.mealplan.tuning;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kmurygin.healthycarbs.mealplan.DietType;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmConfig;
+import org.kmurygin.healthycarbs.mealplan.config.GeneticAlgorithmTuningProperties;
+import org.kmurygin.healthycarbs.mealplan.config.PortionScalingProperties;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.BestGenomeSelector;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.GenerationProducer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationEvaluator;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.PopulationInitializer;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.core.GeneticAlgorithm;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.crossover.TwoPointCrossover;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.fitness.FitnessFactory;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.mutation.RecipeMutate;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.DayCandidates;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.pool.RecipeCandidateSnapshot;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.portion.PortionSolver;
+import org.kmurygin.healthycarbs.mealplan.genetic_algorithm.selection.TournamentSelection;
+import org.kmurygin.healthycarbs.mealplan.model.DietaryProfile;
+import org.kmurygin.healthycarbs.mealplan.optimizer.SyntheticRecipeCatalog;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GeneticAlgorithmTuner Unit Tests")
+class GeneticAlgorithmTunerUnitTest {
+
+    private final GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+    private final GeneticAlgorithmTuningProperties properties = new GeneticAlgorithmTuningProperties();
+    private final DietType dietType = DietType.builder().id(1L).name("STANDARD").compatibilityLevel(1).build();
+    private final DayCandidates candidates = RecipeCandidateSnapshot
+            .of(1L, SyntheticRecipeCatalog.generate(1_000, 5L, dietType))
+            .candidatesFor(dietType);
+
+    @Test
+    void tune_shouldReturnMeasuredProfileWithinSearchSpace() {
+        properties.setConfigurations(4);
+        properties.setRungs(2);
+        properties.setReductionFactor(2);
+        properties.setInitialBudget(Duration.ofMillis(10));
+        properties.setMinFitness(0.5);
+
+        GeneticAlgorithmProfile profile = tuner().tune(candidates, List.of(
+                profile(1900.0, 210.0, 95.0, 60.0),
+                profile(2400.0, 250.0, 140.0, 80.0)));
+
+        assertThat(profile.populationSize()).isBetween(20, 200);
+        assertThat(profile.eliteCount()).isBetween(1, profile.populationSize());
+        assertThat(profile.meanFitness()).isGreaterThan(0.0);
+        assertThat(profile.meanMillis()).isGreaterThan(0.0);
+    }
+
+    @Test
+    void tune_withoutProfiles_shouldThrow() {
+        assertThatThrownBy(() -> tuner().tune(candidates, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private GeneticAlgorithmTuner tuner() {
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(
+                new TwoPointCrossover(),
+                new RecipeMutate(),
+                new TournamentSelection(config),
+                config,
+                new PopulationInitializer(),
+                new PopulationEvaluator(),
+                new BestGenomeSelector(),
+                new GenerationProducer(),
+                ForkJoinPool.commonPool()
+        );
+        return new GeneticAlgorithmTuner(geneticAlgorithm, config, new FitnessFactory(config),
+                new PortionSolver(new PortionScalingProperties()), properties);
+    }
+
+    private static DietaryProfile profile(double calories, double carbs, double protein, double fat) {
+        return DietaryProfile.builder()
+                .calorieTarget(calories)
+                .carbsTarget(carbs)
+                .proteinTarget(protein)
+                .fatTarget(fat)
+                .build();
+    }
+}
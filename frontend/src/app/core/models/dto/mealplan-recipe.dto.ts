@@ -5,4 +5,5 @@ export interface MealPlanRecipeDto {
   readonly id: number;
   readonly recipe: RecipeDto;
   readonly mealType: MealType;
+  readonly portion?: number;
 }